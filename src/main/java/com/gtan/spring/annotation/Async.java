@@ -0,0 +1,54 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Async 注解：将 Bean 方法声明为异步执行，标注在类上时对该类所有公共方法生效。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>AsyncBeanPostProcessor 在 Bean 初始化完成后为其创建 JDK 动态代理，调用方拿到的是代理对象，
+ *       代理把标注的方法提交到执行器，其余方法直接转发给原始对象</li>
+ *   <li>JDK 代理只能实现接口，因此异步方法必须声明在 Bean 实现的接口中，依赖方也必须按接口类型注入</li>
+ *   <li>返回 void 的方法提交后立即返回；返回 Future、CompletionStage 或 CompletableFuture 的方法立即得到一个
+ *       CompletableFuture，在执行器线程上完成（方法体通常返回 CompletableFuture.completedFuture(value)）</li>
+ *   <li>执行器队列已满时按其拒绝策略处理：ABORT 抛出 RejectedExecutionException，CALLER_RUNS 在调用线程执行，
+ *       DISCARD/DISCARD_OLDEST 丢弃任务，被丢弃任务的 Future 以 RejectedExecutionException 完成</li>
+ *   <li>同一 Bean 内部的 this 调用不经过代理，不会异步执行</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Component
+ * public class MailServiceImpl implements MailService {
+ *
+ *     &#64;Async("mailExecutor")
+ *     public void send(Mail mail) {
+ *         ...
+ *     }
+ *
+ *     &#64;Async
+ *     public CompletableFuture&lt;Report&gt; build(long id) {
+ *         return CompletableFuture.completedFuture(...);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-04
+ * @see com.gtan.spring.scheduling.AsyncBeanPostProcessor
+ * @see com.gtan.spring.scheduling.ManagedExecutor
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Async {
+
+    /**
+     * @return 执行器 Bean 名称，为空时使用默认执行器
+     */
+    String value() default "";
+}
@@ -0,0 +1,42 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * AsyncTimeout 注解：为返回异步结果的控制器方法指定超时时间。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>控制器方法返回 CompletableFuture、Callable 或 DeferredResult 时，DispatcherServlet 通过
+ *       request.startAsync() 释放 Tomcat 工作线程，该注解的值会设置为 AsyncContext 的超时时间</li>
+ *   <li>超时后请求以 503 响应结束，之后到达的结果被忽略</li>
+ *   <li>未标注时使用容器默认超时（Tomcat 为 30 秒）；DeferredResult 自身指定的超时优先</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;RequestMapping("/report")
+ * &#64;ResponseBody
+ * &#64;AsyncTimeout(5000)
+ * public CompletableFuture&lt;Report&gt; report() {
+ *     return reportService.buildAsync();
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-22
+ * @see com.gtan.spring.web.DeferredResult
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncTimeout {
+
+    /**
+     * @return 超时时间（毫秒）
+     */
+    long value();
+}
@@ -13,6 +13,11 @@ import java.lang.annotation.Target;
  * </p>
  * <p>
  * 注解可以标注在字段上，不支持在构造器或方法参数上使用。
+ * </p>
+ * <p>
+ * 字段类型为 List&lt;T&gt; 时注入全部 T 类型的 Bean（按 @Order、Bean 名称排序），
+ * 为 Map&lt;String, T&gt; 时注入 Bean 名称到实例的映射；同一类型有多个 Bean 时通过 @Qualifier、@Primary 或字段名确定。
+ * </p>
  *
  * @author gangtann@126.com
  * @version 1.0
@@ -0,0 +1,31 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ConditionalOnClass 注解：类路径上存在指定的类时才注册该组件。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>使用全限定类名而不是 Class 字面量，类不存在时注解本身仍可被读取</li>
+ *   <li>通过 Class.forName(name, false, loader) 检查，不触发类初始化</li>
+ *   <li>用于可选依赖的集成组件，依赖缺失时组件连同其引用的类都不会被加载</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-06
+ * @see com.gtan.spring.service.ConditionEvaluator
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalOnClass {
+
+    /**
+     * @return 必须全部存在的类的全限定名
+     */
+    String[] value();
+}
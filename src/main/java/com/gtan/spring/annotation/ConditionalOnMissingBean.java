@@ -0,0 +1,40 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ConditionalOnMissingBean 注解：容器中没有指定类型的其他 Bean 时才注册该组件，用于提供可被替换的默认实现。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>value 为空时检查与被标注类本身类型兼容的 Bean，通常应指定接口类型</li>
+ *   <li>在其他条件都判断完、所有无此注解的 BeanDefinition 注册之后统一判断，与扫描顺序无关</li>
+ *   <li>多个默认实现竞争同一类型时按类名顺序，第一个注册，其余跳过，结果确定</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Component
+ * &#64;ConditionalOnMissingBean(UserRepository.class)
+ * public class InMemoryUserRepository implements UserRepository {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-06
+ * @see com.gtan.spring.service.ConditionEvaluator
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalOnMissingBean {
+
+    /**
+     * @return 要检查的 Bean 类型，为空时使用被标注的类
+     */
+    Class<?>[] value() default {};
+}
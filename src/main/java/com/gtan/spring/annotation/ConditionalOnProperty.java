@@ -0,0 +1,50 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ConditionalOnProperty 注解：按配置项的值决定是否注册该组件。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>havingValue 为空时，配置项存在且不为 false 即匹配；否则要求配置值与 havingValue 相等（忽略大小写）</li>
+ *   <li>配置项不存在时按 matchIfMissing 决定</li>
+ *   <li>在组件扫描阶段判断，读取的是启动时的配置，运行时刷新配置不会增删 Bean</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Component
+ * &#64;ConditionalOnProperty(name = "audit.enabled", havingValue = "true")
+ * public class AuditInterceptor implements Interceptor {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-06
+ * @see com.gtan.spring.service.ConditionEvaluator
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalOnProperty {
+
+    /**
+     * @return 配置项名称
+     */
+    String name();
+
+    /**
+     * @return 期望的配置值，为空表示只要不为 false
+     */
+    String havingValue() default "";
+
+    /**
+     * @return 配置项不存在时是否匹配
+     */
+    boolean matchIfMissing() default false;
+}
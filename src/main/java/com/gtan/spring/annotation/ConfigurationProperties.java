@@ -0,0 +1,43 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ConfigurationProperties 注解：将指定前缀下的配置项批量绑定到 Bean 的字段上。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>配置项 前缀.短横线名称 绑定到同名驼峰字段（如 server.max-threads → maxThreads），
+ *       没有对应配置项的字段保留字段初始值作为默认值</li>
+ *   <li>容器在依赖注入阶段（autowiredBean）完成绑定，@PostConstruct 方法中已经可以读取绑定结果</li>
+ *   <li>每个类的字段、配置 key 与类型转换器只解析一次并缓存，Environment.refresh() 时按缓存重新绑定</li>
+ *   <li>static、final、@Autowired 与 @Value 字段不参与绑定</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Component
+ * &#64;ConfigurationProperties(prefix = "report")
+ * public class ReportProperties {
+ *     private int poolSize = 4;
+ *     private List&lt;String&gt; recipients = List.of();
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-05
+ * @see com.gtan.spring.service.Environment#bind(String, Object)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConfigurationProperties {
+
+    /**
+     * @return 配置项前缀，如 "server"
+     */
+    String prefix();
+}
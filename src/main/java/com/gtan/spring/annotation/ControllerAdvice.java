@@ -0,0 +1,40 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ControllerAdvice 注解：声明全局异常处理 Bean。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>需要与 @Component 一起使用，由 DispatcherServlet 在 Bean 初始化后收集其中的 @ExceptionHandler 方法</li>
+ *   <li>对所有控制器生效；控制器自身声明的处理方法优先</li>
+ *   <li>存在多个 Advice 时按 @Order 排序，顺序相同时按注册顺序</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;ControllerAdvice
+ * &#64;Component
+ * public class GlobalExceptionHandler {
+ *
+ *     &#64;ExceptionHandler
+ *     &#64;ResponseBody
+ *     public Map&lt;String, Object&gt; handle(IllegalStateException e) {
+ *         return Map.of("error", e.getMessage());
+ *     }
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-29
+ * @see ExceptionHandler
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ControllerAdvice {
+}
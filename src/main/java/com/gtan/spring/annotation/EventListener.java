@@ -0,0 +1,45 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * EventListener 注解：将 Bean 方法声明为应用事件监听器。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>方法必须只有一个参数，参数类型即监听的事件类型，事件类型的子类同样会被投递</li>
+ *   <li>BeanDefinition 构建时收集标注的方法，Bean 初始化完成后由容器注册到 ApplicationEventMulticaster</li>
+ *   <li>同步监听器在发布线程上按 @Order 顺序执行，异常会传播给发布方</li>
+ *   <li>异步监听器（async = true）经预分配环形缓冲交给事件分发线程批量执行，发布方不等待、不分配对象；
+ *       同一监听器收到的事件保持发布顺序，缓冲已满时事件被丢弃并计入 gtan_events_dropped_total</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Component
+ * public class AuditListener {
+ *
+ *     &#64;EventListener(async = true)
+ *     public void onOrderCreated(OrderCreatedEvent event) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-02
+ * @see com.gtan.spring.event.ApplicationEventMulticaster
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EventListener {
+
+    /**
+     * @return 是否在事件分发线程上异步执行
+     */
+    boolean async() default false;
+}
@@ -0,0 +1,45 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ExceptionHandler 注解：将控制器或 @ControllerAdvice Bean 中的方法声明为异常处理方法。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>控制器注册时扫描该注解，建立"异常类型 → 处理方法"的映射；控制器自身的处理方法优先于全局 Advice</li>
+ *   <li>按异常的继承层次选择最接近的处理方法，结果按具体异常类缓存，之后同类异常直接命中</li>
+ *   <li>方法参数按类型注入：异常对象、HttpServletRequest、HttpServletResponse</li>
+ *   <li>返回值与普通控制器方法一样处理：标注 @ResponseBody 时经 HttpMessageConverter 序列化，
+ *       返回 ModelAndView 时渲染模板，返回 String 时直接输出</li>
+ *   <li>响应状态码取方法上的 @ResponseStatus，否则取异常的状态码（默认 500）</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;ExceptionHandler(IllegalArgumentException.class)
+ * &#64;ResponseStatus(400)
+ * &#64;ResponseBody
+ * public Map&lt;String, Object&gt; badRequest(IllegalArgumentException e) {
+ *     return Map.of("error", e.getMessage());
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-29
+ * @see ControllerAdvice
+ * @see ResponseStatus
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExceptionHandler {
+
+    /**
+     * @return 处理的异常类型，为空时取方法参数中的异常类型
+     */
+    Class<? extends Throwable>[] value() default {};
+}
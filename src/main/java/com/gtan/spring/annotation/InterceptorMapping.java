@@ -0,0 +1,47 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * InterceptorMapping 注解：声明拦截器生效的请求路径。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>路径模式采用 Ant 风格：? 匹配单个字符，* 匹配路径段内任意字符，** 匹配任意多级路径</li>
+ *   <li>请求路径匹配任一 includePatterns 且不匹配任何 excludePatterns 时拦截器生效</li>
+ *   <li>匹配在启动时针对每个处理器的 URL 预先计算，请求处理时不再进行路径匹配</li>
+ *   <li>未标注该注解的拦截器对所有路径生效</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Component
+ * &#64;InterceptorMapping(includePatterns = "/api/**", excludePatterns = "/api/public/**")
+ * public class AuthInterceptor implements Interceptor {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-24
+ * @see com.gtan.spring.web.PathMatcher
+ * @see Order
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InterceptorMapping {
+
+    /**
+     * @return 生效的路径模式
+     */
+    String[] includePatterns() default "/**";
+
+    /**
+     * @return 排除的路径模式
+     */
+    String[] excludePatterns() default {};
+}
@@ -0,0 +1,41 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Order 注解：声明组件在有序集合中的执行顺序。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>值越小优先级越高，越先执行；未标注的组件排在最后（等价于 Integer.MAX_VALUE）</li>
+ *   <li>顺序相同的组件保持注册顺序</li>
+ *   <li>拦截器链中 preHandle 按顺序执行，postHandle 与 afterCompletion 按逆序执行</li>
+ *   <li>标注在 @EventListener 方法上时决定同一事件多个监听器的调用顺序</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Component
+ * &#64;Order(1)
+ * public class AuthInterceptor implements Interceptor {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-24
+ * @see InterceptorMapping
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Order {
+
+    /**
+     * @return 顺序值，越小越先执行
+     */
+    int value();
+}
@@ -0,0 +1,26 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Primary 注解：同一类型存在多个 Bean 时，按类型注入或 getBean(Class) 优先选择该 Bean。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>候选 Bean 中恰好有一个 @Primary 时选择它；有多个 @Primary 时启动失败</li>
+ *   <li>没有 @Primary 时按字段名匹配 Bean 名称，仍无法确定则启动失败，不再依赖 HashMap 的遍历顺序</li>
+ *   <li>字段上的 @Qualifier 优先于 @Primary</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-07
+ * @see Qualifier
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Primary {
+}
@@ -0,0 +1,42 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Profile 注解：只在指定 profile 激活时注册该组件。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>激活的 profile 由配置项 gtan.profiles.active 指定（逗号分隔，可来自配置文件、环境变量或系统属性），
+ *       未指定时激活 default</li>
+ *   <li>value 中任意一个 profile 激活即匹配；以 ! 开头表示该 profile 未激活时匹配，如 "!prod"</li>
+ *   <li>在组件扫描阶段（生成 BeanDefinition 之前）判断，不匹配的类不会生成 BeanDefinition，
+ *       既不会实例化、也不会经过后置处理器，拦截器等组件不会进入请求处理链</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Component
+ * &#64;Profile("dev")
+ * public class RequestDumpInterceptor implements Interceptor {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-06
+ * @see com.gtan.spring.service.ConditionEvaluator
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Profile {
+
+    /**
+     * @return profile 名称列表
+     */
+    String[] value();
+}
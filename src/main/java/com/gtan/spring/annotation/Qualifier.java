@@ -0,0 +1,39 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Qualifier 注解：按 Bean 名称指定 @Autowired 字段要注入的 Bean。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>同一类型有多个 Bean 时，优先于 @Primary 与字段名匹配生效</li>
+ *   <li>指定名称的 Bean 不存在或类型与字段不兼容时启动失败</li>
+ *   <li>只作用于单个 Bean 的注入，List/Map 注入总是包含全部匹配的 Bean</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Autowired
+ * &#64;Qualifier("simdChecksum")
+ * private ChecksumStrategy checksum;
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-07
+ * @see Primary
+ * @see Autowired
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Qualifier {
+
+    /**
+     * @return 要注入的 Bean 名称
+     */
+    String value();
+}
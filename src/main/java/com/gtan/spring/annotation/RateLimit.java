@@ -0,0 +1,79 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RateLimit 注解：为控制器方法（或整个控制器）配置限流与过载保护。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>由内置的 RateLimitInterceptor 在 preHandle 阶段执行，被拒绝的请求不会解析参数、也不会调用控制器方法</li>
+ *   <li><strong>路由令牌桶</strong>：permitsPerSecond 为平均速率，burst 为允许的突发量，超出时返回 429 和 Retry-After</li>
+ *   <li><strong>客户端令牌桶</strong>：clientPermitsPerSecond 按客户端地址分别限流，超出时返回 429</li>
+ *   <li><strong>并发上限</strong>：maxConcurrency 限制同时处理的请求数，超出时立即返回 503（负载削减）；
+ *       adaptive 为 true 时按 AIMD 动态调整上限：请求慢于 latencyThresholdMillis 或失败时乘性减小，
+ *       否则加性增大，范围为 [minConcurrency, maxConcurrency]</li>
+ *   <li>取值为 0 的项不生效；方法上的注解优先于类上的注解</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;RequestMapping("/search")
+ * &#64;ResponseBody
+ * &#64;RateLimit(permitsPerSecond = 200, burst = 50, clientPermitsPerSecond = 5, maxConcurrency = 32)
+ * public List&lt;Item&gt; search(&#64;RequestParam("q") String q) {
+ *     return searchService.search(q);
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-27
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    /**
+     * @return 路由每秒允许的请求数，0 表示不限
+     */
+    double permitsPerSecond() default 0;
+
+    /**
+     * @return 路由允许的突发请求数，0 表示取 permitsPerSecond（至少为 1）
+     */
+    int burst() default 0;
+
+    /**
+     * @return 每个客户端每秒允许的请求数，0 表示不限
+     */
+    double clientPermitsPerSecond() default 0;
+
+    /**
+     * @return 每个客户端允许的突发请求数，0 表示取 clientPermitsPerSecond（至少为 1）
+     */
+    int clientBurst() default 0;
+
+    /**
+     * @return 最大并发请求数，0 表示不限
+     */
+    int maxConcurrency() default 0;
+
+    /**
+     * @return 自适应调整时的最小并发数
+     */
+    int minConcurrency() default 1;
+
+    /**
+     * @return 是否按 AIMD 自适应调整并发上限
+     */
+    boolean adaptive() default true;
+
+    /**
+     * @return 自适应调整的延迟阈值（毫秒），慢于该值的请求视为过载信号
+     */
+    long latencyThresholdMillis() default 1000;
+}
@@ -0,0 +1,45 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ResponseStatus 注解：为异常类或异常处理方法指定 HTTP 状态码。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>标注在异常类上时，该异常（及其子类，注解可继承）未被处理方法处理时以该状态码响应</li>
+ *   <li>标注在 @ExceptionHandler 方法上时，覆盖异常自身的状态码</li>
+ *   <li>状态码解析结果按具体异常类缓存</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;ResponseStatus(value = 404, reason = "用户不存在")
+ * public class UserNotFoundException extends RuntimeException {
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-29
+ * @see ExceptionHandler
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface ResponseStatus {
+
+    /**
+     * @return HTTP 状态码
+     */
+    int value();
+
+    /**
+     * @return 错误说明，为空时使用异常信息
+     */
+    String reason() default "";
+}
@@ -0,0 +1,69 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Scheduled 注解：将 Bean 的无参方法声明为定时任务。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>fixedRate、fixedDelay、cron 三者必须且只能设置一个</li>
+ *   <li>BeanDefinition 构建时收集标注的方法，Bean 初始化完成后由容器注册到 TaskScheduler</li>
+ *   <li>所有任务共享一个时间轮线程计时，到期后交给有界工作线程池（或虚拟线程）执行</li>
+ *   <li>同一任务不会并发执行：fixedRate/cron 到期时上一次执行仍未结束记为一次超时（overrun），本次跳过</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Component
+ * public class CacheRefresher {
+ *
+ *     &#64;Scheduled(fixedRate = 30_000, initialDelay = 5_000)
+ *     public void refresh() {
+ *         ...
+ *     }
+ *
+ *     &#64;Scheduled(cron = "0 0 3 * * MON-FRI")
+ *     public void cleanup() {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-03
+ * @see com.gtan.spring.scheduling.TaskScheduler
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Scheduled {
+
+    /**
+     * 固定频率（毫秒）：按计划时间点触发，与执行耗时无关
+     */
+    long fixedRate() default -1;
+
+    /**
+     * 固定间隔（毫秒）：上一次执行结束后等待该时间再触发
+     */
+    long fixedDelay() default -1;
+
+    /**
+     * 首次触发前的延迟（毫秒），仅对 fixedRate 与 fixedDelay 生效
+     */
+    long initialDelay() default 0;
+
+    /**
+     * cron 表达式：秒 分 时 日 月 周（也接受省略秒的 5 段格式与 @daily 等宏）
+     */
+    String cron() default "";
+
+    /**
+     * cron 表达式使用的时区 ID，默认系统时区
+     */
+    String zone() default "";
+}
@@ -0,0 +1,41 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Value 注解：将配置值注入到 Bean 字段。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>表达式中的 ${key} 与 ${key:默认值} 占位符由 Environment 解析，占位符之外的文本原样保留，
+ *       不含占位符的表达式按字面值注入</li>
+ *   <li>BeanDefinition 构建时收集标注的字段，容器在依赖注入阶段（autowiredBean）完成注入；
+ *       字符串到字段类型的转换器按类型缓存，配置值按 key 缓存</li>
+ *   <li>Environment.refresh() 后重新解析，值发生变化的字段被重新赋值并发布 EnvironmentChangeEvent；
+ *       在热路径上读取的可刷新字段应声明为 volatile</li>
+ *   <li>占位符没有配置值也没有默认值时启动失败</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Value("${report.batch-size:500}")
+ * private volatile int batchSize;
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-05
+ * @see com.gtan.spring.service.Environment
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Value {
+
+    /**
+     * @return 值表达式，如 "${server.port:8080}"
+     */
+    String value();
+}
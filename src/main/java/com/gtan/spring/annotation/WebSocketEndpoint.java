@@ -0,0 +1,55 @@
+package com.gtan.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * WebSocketEndpoint 注解：声明 WebSocket 端点 Bean。
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>需要与 @Component 一起使用，且类实现 WebSocketHandler；端点由 IoC 容器创建，可正常使用 @Autowired 注入依赖</li>
+ *   <li>DispatcherServlet 在 Bean 初始化后将其注册到 WebSocketEndpointRegistry，由 Tomcat 的 JSR-356 容器完成握手与帧编解码</li>
+ *   <li>端点为单例，所有连接共享同一个实例，连接级状态应保存在 WebSocketSession 的属性中</li>
+ *   <li>每个连接拥有有界发送队列，队列满说明客户端消费过慢，连接将以 1013（TRY_AGAIN_LATER）关闭，避免慢客户端拖垮内存</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;WebSocketEndpoint("/ws/chat")
+ * &#64;Component
+ * public class ChatEndpoint implements WebSocketHandler {
+ *
+ *     &#64;Override
+ *     public void onMessage(WebSocketSession session, String message) {
+ *         session.getGroup().broadcast(message);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-31
+ * @see com.gtan.spring.websocket.WebSocketHandler
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WebSocketEndpoint {
+
+    /**
+     * 端点路径（相对上下文路径），如 /ws/chat
+     */
+    String value();
+
+    /**
+     * 每个连接发送队列的最大消息数
+     */
+    int sendQueueCapacity() default 1024;
+
+    /**
+     * 连接空闲超时（毫秒），0 表示使用容器默认值
+     */
+    long maxIdleTimeout() default 0;
+}
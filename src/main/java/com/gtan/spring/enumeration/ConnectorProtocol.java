@@ -0,0 +1,32 @@
+package com.gtan.spring.enumeration;
+
+/**
+ * ConnectorProtocol - Tomcat 连接器 I/O 模型枚举
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>NIO</strong>：基于 Selector 的非阻塞 I/O（Http11NioProtocol），Tomcat 默认实现</li>
+ *   <li><strong>NIO2</strong>：基于 AsynchronousChannel 的异步 I/O（Http11Nio2Protocol），由操作系统完成 I/O 后回调</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-23
+ * @see com.gtan.spring.web.ServerProperties
+ */
+public enum ConnectorProtocol {
+
+    NIO("org.apache.coyote.http11.Http11NioProtocol"),
+
+    NIO2("org.apache.coyote.http11.Http11Nio2Protocol");
+
+    private final String className;
+
+    ConnectorProtocol(String className) {
+        this.className = className;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+}
@@ -0,0 +1,30 @@
+package com.gtan.spring.enumeration;
+
+/**
+ * RejectionPolicy - 执行器队列已满时的拒绝策略枚举
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>ABORT</strong>：抛出 RejectedExecutionException，由提交方决定重试或降级</li>
+ *   <li><strong>CALLER_RUNS</strong>：在提交线程上直接执行，提交方被自然减速，形成背压</li>
+ *   <li><strong>DISCARD</strong>：丢弃新提交的任务</li>
+ *   <li><strong>DISCARD_OLDEST</strong>：丢弃队列中等待最久的任务，再尝试提交新任务</li>
+ * </ul>
+ *
+ * <p>所有拒绝都会计入执行器的 gtan_executor_rejected_total 指标。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-04
+ * @see com.gtan.spring.scheduling.ManagedExecutor
+ */
+public enum RejectionPolicy {
+
+    ABORT,
+
+    CALLER_RUNS,
+
+    DISCARD,
+
+    DISCARD_OLDEST
+}
@@ -7,7 +7,7 @@ package com.gtan.spring.enumeration;
  * <p>该枚举定义了 DispatcherServlet 处理控制器方法返回值的不同策略：</p>
  * 
  * <ul>
- *   <li><strong>JSON</strong>：将返回值序列化为 JSON 格式，用于 RESTful API</li>
+ *   <li><strong>JSON</strong>：将返回值交给 HttpMessageConverter 链，按 Accept 头协商序列化格式，用于 RESTful API</li>
  *   <li><strong>HTML</strong>：将返回值作为纯 HTML 字符串直接响应</li>
  *   <li><strong>LOCAL</strong>：使用模板引擎渲染本地 HTML 模板文件</li>
  * </ul>
@@ -29,7 +29,7 @@ package com.gtan.spring.enumeration;
  * <p>类型映射：</p>
  * <table border="1">
  *   <tr><th>枚举值</th><th>处理策略</th><th>Content-Type</th><th>使用场景</th></tr>
- *   <tr><td>JSON</td><td>FastJSON 序列化</td><td>application/json</td><td>RESTful API</td></tr>
+ *   <tr><td>JSON</td><td>HttpMessageConverter 协商</td><td>application/json、application/x-jsonb 等</td><td>RESTful API</td></tr>
  *   <tr><td>HTML</td><td>直接字符串响应</td><td>text/html</td><td>简单页面响应</td></tr>
  *   <tr><td>LOCAL</td><td>模板引擎渲染</td><td>text/html</td><td>复杂页面模板</td></tr>
  * </table>
@@ -0,0 +1,52 @@
+package com.gtan.spring.enumeration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ThreadMode - 线程执行模式枚举
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>PLATFORM</strong>：平台线程（一对一映射操作系统线程），线程数受内存与调度开销限制，
+ *       阻塞调用会占住整个线程</li>
+ *   <li><strong>VIRTUAL</strong>：Java 21 虚拟线程，由 JVM 调度到少量载体线程上，阻塞 I/O 时自动卸载，
+ *       适合大量并发的阻塞型处理器</li>
+ * </ul>
+ *
+ * <p>使用场景：</p>
+ * <ul>
+ *   <li>TomcatServer 中选择连接器的请求处理线程</li>
+ *   <li>DispatcherServlet 中选择执行 Callable 等框架自有异步任务的线程</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-22
+ * @see com.gtan.spring.web.TomcatServer
+ */
+public enum ThreadMode {
+
+    PLATFORM,
+
+    VIRTUAL;
+
+    /**
+     * 创建对应模式的线程池：平台线程为按需扩展的守护线程池，虚拟线程为每任务一个虚拟线程
+     *
+     * @param threadNamePrefix 线程名前缀
+     * @return 线程池
+     */
+    public ExecutorService newExecutor(String threadNamePrefix) {
+        if (this == VIRTUAL) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 1).factory());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,207 @@
+package com.gtan.spring.event;
+
+import com.gtan.spring.annotation.Autowired;
+import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.PostConstruct;
+import com.gtan.spring.annotation.Value;
+import com.gtan.spring.metrics.MetricsRegistry;
+import com.gtan.spring.metrics.MetricsSource;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ApplicationEventMulticaster - 应用事件总线
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>监听器发现</strong>：BeanDefinition 构建时收集 @EventListener 方法，ApplicationContext 在 Bean
+ *       初始化完成后调用 {@link #addListeners(Object, List)} 注册，发布方与监听方之间没有编译期依赖</li>
+ *   <li><strong>路由缓存</strong>：按事件的运行时类型缓存匹配结果（同步监听器数组 + 每个分发线程的异步监听器数组），
+ *       稳定运行后发布只有一次 ConcurrentHashMap 查找和数组遍历；注册新监听器时整体替换缓存，
+ *       并发发布不会读到新旧混合的结果</li>
+ *   <li><strong>同步投递</strong>：在发布线程上按 @Order 顺序调用，监听器异常传播给发布方</li>
+ *   <li><strong>异步投递</strong>：每个异步监听器在注册时固定分配到一个分发线程（按注册顺序轮转），
+ *       发布时向相关分发线程的 {@link EventRingBuffer} 各写入一次；同一监听器的事件始终由同一线程按发布顺序处理，
+ *       慢监听器只会拖慢自己所在的分发线程</li>
+ *   <li><strong>可观测性</strong>：发布数、丢弃数、监听器异常数与队列深度通过 /metrics 导出</li>
+ * </ul>
+ *
+ * <p>配置（通过 Environment 读取，可写在 application.properties 中）：</p>
+ * <ul>
+ *   <li>gtan.event.buffer-size：每个分发线程的环形缓冲容量，默认 8192</li>
+ *   <li>gtan.event.dispatcher-threads：异步分发线程数，默认 1</li>
+ * </ul>
+ * <p>环形缓冲在创建时分配、异步监听器注册时固定分配到分发线程，因此这两项只在启动时读取，运行时刷新不生效。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-02
+ * @see com.gtan.spring.annotation.EventListener
+ * @see ApplicationEventPublisher
+ */
+@Component
+public class ApplicationEventMulticaster implements ApplicationEventPublisher, MetricsSource {
+
+    public static final String BUFFER_SIZE_PROPERTY = "gtan.event.buffer-size";
+
+    public static final String DISPATCHER_THREADS_PROPERTY = "gtan.event.dispatcher-threads";
+
+    private static final EventListenerMethod[] NO_LISTENERS = new EventListenerMethod[0];
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Value("${" + BUFFER_SIZE_PROPERTY + ":8192}")
+    private int bufferSize;
+
+    @Value("${" + DISPATCHER_THREADS_PROPERTY + ":1}")
+    private int dispatcherThreads;
+
+    private EventRingBuffer[] dispatchers;
+
+    /**
+     * 已注册的监听器，按 @Order 排序（顺序相同时保持注册顺序）
+     */
+    private volatile List<EventListenerMethod> listeners = List.of();
+
+    /**
+     * 事件类型到投递路由的缓存，监听器变化时整体替换
+     */
+    private volatile Map<Class<?>, ListenerRoute> routeCache = new ConcurrentHashMap<>();
+
+    private int asyncListenerCount;
+
+    private final LongAdder published = new LongAdder();
+
+    private final LongAdder listenerErrors = new LongAdder();
+
+    /**
+     * 某一事件类型的投递路由
+     *
+     * @param sync  同步监听器
+     * @param async 下标为分发线程编号，元素为该线程负责的异步监听器，没有时为 null
+     */
+    private record ListenerRoute(EventListenerMethod[] sync, EventListenerMethod[][] async) {
+    }
+
+    /**
+     * 按配置创建分发线程的环形缓冲，并注册指标
+     */
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, dispatcherThreads);
+        this.dispatchers = new EventRingBuffer[threads];
+        for (int i = 0; i < threads; i++) {
+            dispatchers[i] = new EventRingBuffer(bufferSize, "event-dispatcher-" + (i + 1), this::onAsyncError);
+        }
+        metricsRegistry.addSource(this);
+    }
+
+    /**
+     * 注册 Bean 上的监听器方法
+     *
+     * @param bean    监听器所属 Bean
+     * @param methods 标注 @EventListener 的方法
+     */
+    public synchronized void addListeners(Object bean, List<Method> methods) {
+        List<EventListenerMethod> updated = new ArrayList<>(listeners);
+        for (Method method : methods) {
+            EventListenerMethod listener = new EventListenerMethod(bean, method);
+            if (listener.isAsync()) {
+                int dispatcher = asyncListenerCount++ % dispatchers.length;
+                listener.setDispatcher(dispatcher);
+                dispatchers[dispatcher].start();
+            }
+            updated.add(listener);
+        }
+        updated.sort(Comparator.comparingInt(EventListenerMethod::getOrder));
+        listeners = List.copyOf(updated);
+        routeCache = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void publishEvent(Object event) {
+        Class<?> eventType = event.getClass();
+        Map<Class<?>, ListenerRoute> cache = routeCache;
+        ListenerRoute route = cache.get(eventType);
+        if (route == null) {
+            route = cache.computeIfAbsent(eventType, this::resolveRoute);
+        }
+        published.increment();
+        EventListenerMethod[][] async = route.async();
+        for (int i = 0; i < async.length; i++) {
+            if (async[i] != null) {
+                dispatchers[i].offer(event, async[i]);
+            }
+        }
+        for (EventListenerMethod listener : route.sync()) {
+            try {
+                listener.invoke(event);
+            } catch (RuntimeException e) {
+                listenerErrors.increment();
+                throw e;
+            } catch (Exception e) {
+                listenerErrors.increment();
+                throw new RuntimeException("事件监听器 " + listener + " 执行失败", e);
+            }
+        }
+    }
+
+    private ListenerRoute resolveRoute(Class<?> eventType) {
+        List<EventListenerMethod> sync = new ArrayList<>();
+        List<List<EventListenerMethod>> async = new ArrayList<>();
+        for (int i = 0; i < dispatchers.length; i++) {
+            async.add(new ArrayList<>());
+        }
+        for (EventListenerMethod listener : listeners) {
+            if (!listener.supports(eventType)) {
+                continue;
+            }
+            if (listener.isAsync()) {
+                async.get(listener.getDispatcher()).add(listener);
+            } else {
+                sync.add(listener);
+            }
+        }
+        EventListenerMethod[][] asyncByDispatcher = new EventListenerMethod[dispatchers.length][];
+        for (int i = 0; i < dispatchers.length; i++) {
+            if (!async.get(i).isEmpty()) {
+                asyncByDispatcher[i] = async.get(i).toArray(NO_LISTENERS);
+            }
+        }
+        return new ListenerRoute(sync.toArray(NO_LISTENERS), asyncByDispatcher);
+    }
+
+    private void onAsyncError(EventListenerMethod listener, Throwable error) {
+        listenerErrors.increment();
+        System.err.println("异步事件监听器 " + listener + " 执行失败: " + error);
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        MetricsRegistry.writeHeader(out, "gtan_events_published_total", "counter",
+                "Application events published.");
+        out.append("gtan_events_published_total ").append(published.sum()).append('\n');
+        MetricsRegistry.writeHeader(out, "gtan_events_dropped_total", "counter",
+                "Async application events dropped because the dispatcher ring buffer was full.");
+        for (int i = 0; i < dispatchers.length; i++) {
+            out.append("gtan_events_dropped_total{dispatcher=\"").append(i + 1).append("\"} ")
+                    .append(dispatchers[i].getDropped()).append('\n');
+        }
+        MetricsRegistry.writeHeader(out, "gtan_event_queue_depth", "gauge",
+                "Async application events waiting in the dispatcher ring buffer.");
+        for (int i = 0; i < dispatchers.length; i++) {
+            out.append("gtan_event_queue_depth{dispatcher=\"").append(i + 1).append("\"} ")
+                    .append(dispatchers[i].size()).append('\n');
+        }
+        MetricsRegistry.writeHeader(out, "gtan_event_listener_errors_total", "counter",
+                "Exceptions thrown by application event listeners.");
+        out.append("gtan_event_listener_errors_total ").append(listenerErrors.sum()).append('\n');
+    }
+}
@@ -0,0 +1,22 @@
+package com.gtan.spring.event;
+
+/**
+ * ApplicationEventPublisher - 应用事件发布接口
+ *
+ * <p>任意 Bean 通过 @Autowired 注入该接口即可发布事件，事件可以是任意对象，
+ * 由事件对象的运行时类型匹配 @EventListener 方法。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-02
+ * @see ApplicationEventMulticaster
+ */
+public interface ApplicationEventPublisher {
+
+    /**
+     * 发布事件：同步监听器在当前线程执行完毕后返回，异步监听器只入队
+     *
+     * @param event 事件对象
+     */
+    void publishEvent(Object event);
+}
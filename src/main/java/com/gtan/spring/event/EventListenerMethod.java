@@ -0,0 +1,93 @@
+package com.gtan.spring.event;
+
+import com.gtan.spring.annotation.EventListener;
+import com.gtan.spring.annotation.Order;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * EventListenerMethod - 已解析的 @EventListener 方法
+ *
+ * <p>注册时一次性解析事件类型、同步/异步与顺序，投递事件时不再读取注解。方法句柄在注册时统一适配为
+ * (Object, Object)void 类型并用 invokeExact 调用，不需要参数数组，也不装箱返回值，投递过程不分配对象。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-02
+ */
+final class EventListenerMethod {
+
+    private final Object bean;
+
+    private final Method method;
+
+    private final MethodHandle handle;
+
+    private final Class<?> eventType;
+
+    private final boolean async;
+
+    private final int order;
+
+    /**
+     * 异步监听器所属的分发线程编号，注册时分配
+     */
+    private int dispatcher = -1;
+
+    EventListenerMethod(Object bean, Method method) {
+        if (method.getParameterCount() != 1 || Modifier.isStatic(method.getModifiers())) {
+            throw new RuntimeException("@EventListener 方法必须是只有一个事件参数的实例方法: " + method);
+        }
+        this.bean = bean;
+        this.method = method;
+        try {
+            this.handle = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflect(method)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("无法访问事件监听方法: " + method, e);
+        }
+        this.eventType = method.getParameterTypes()[0];
+        this.async = method.getAnnotation(EventListener.class).async();
+        Order order = method.getAnnotation(Order.class);
+        this.order = order != null ? order.value() : Integer.MAX_VALUE;
+    }
+
+    boolean supports(Class<?> type) {
+        return eventType.isAssignableFrom(type);
+    }
+
+    void invoke(Object event) throws Exception {
+        try {
+            handle.invokeExact(bean, event);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    boolean isAsync() {
+        return async;
+    }
+
+    int getOrder() {
+        return order;
+    }
+
+    int getDispatcher() {
+        return dispatcher;
+    }
+
+    void setDispatcher(int dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public String toString() {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
@@ -0,0 +1,194 @@
+package com.gtan.spring.event;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * EventRingBuffer - 预分配的多生产者单消费者事件环形缓冲及其分发线程
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>预分配槽位</strong>：事件引用、监听器数组与槽位序号都保存在启动时分配好的数组中，
+ *       发布只写入两个引用和一个 long，不创建任何对象</li>
+ *   <li><strong>序号协议</strong>（Vyukov 有界队列）：槽位序号等于写位置时可写，等于写位置 + 1 时可读，
+ *       消费后置为 写位置 + 容量 供下一圈使用；生产者只在抢占写位置时做一次 CAS，序号小于写位置说明缓冲已满，
+ *       直接丢弃并计数，发布方永远不会因慢监听器阻塞</li>
+ *   <li><strong>批量消费</strong>：分发线程每次唤醒后连续处理最多 BATCH_SIZE 个已就绪事件，
+ *       读取位置只由该线程维护，不需要 CAS；每个槽位取出后立即归还，生产者不必等整批处理完</li>
+ *   <li><strong>唤醒策略</strong>：空闲时先自旋少量次数，之后设置 sleeping 标志并 park；
+ *       生产者只在观察到 sleeping 时才 unpark，繁忙时发布不产生系统调用。
+ *       发布序号使用 volatile 写，与 sleeping 的读取构成 Dekker 式可见性保证，park 同时带超时兜底</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-02
+ * @see ApplicationEventMulticaster
+ */
+final class EventRingBuffer {
+
+    /**
+     * 单次唤醒最多连续处理的事件数
+     */
+    private static final int BATCH_SIZE = 256;
+
+    private static final int SPIN_TRIES = 64;
+
+    private static final long PARK_NANOS = 100_000_000L;
+
+    private final int mask;
+
+    private final AtomicLongArray sequences;
+
+    private final Object[] events;
+
+    private final EventListenerMethod[][] targets;
+
+    private final AtomicLong enqueuePosition = new AtomicLong();
+
+    /**
+     * 读取位置，只由分发线程读写
+     */
+    private long dequeuePosition;
+
+    private final Thread dispatcher;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile boolean sleeping;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final BiConsumer<EventListenerMethod, Throwable> errorHandler;
+
+    /**
+     * @param capacity     容量，向上取整为 2 的幂
+     * @param threadName   分发线程名
+     * @param errorHandler 监听器异常处理函数
+     */
+    EventRingBuffer(int capacity, String threadName, BiConsumer<EventListenerMethod, Throwable> errorHandler) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.events = new Object[size];
+        this.targets = new EventListenerMethod[size][];
+        this.errorHandler = errorHandler;
+        this.dispatcher = new Thread(this::dispatchLoop, threadName);
+        this.dispatcher.setDaemon(true);
+    }
+
+    /**
+     * 启动分发线程（首个异步监听器注册时调用，重复调用无副作用）
+     */
+    void start() {
+        if (started.compareAndSet(false, true)) {
+            dispatcher.start();
+        }
+    }
+
+    /**
+     * 写入事件
+     *
+     * @param event     事件
+     * @param listeners 需要接收该事件的监听器
+     * @return 是否写入成功，缓冲已满时返回 false
+     */
+    boolean offer(Object event, EventListenerMethod[] listeners) {
+        long position = enqueuePosition.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    events[index] = event;
+                    targets[index] = listeners;
+                    sequences.set(index, position + 1);
+                    if (sleeping) {
+                        LockSupport.unpark(dispatcher);
+                    }
+                    return true;
+                }
+                position = enqueuePosition.get();
+            } else if (difference < 0) {
+                dropped.increment();
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+    private void dispatchLoop() {
+        int idle = 0;
+        while (true) {
+            if (drainBatch() > 0) {
+                idle = 0;
+                continue;
+            }
+            if (++idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+                continue;
+            }
+            sleeping = true;
+            if (isEmpty()) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            sleeping = false;
+            idle = 0;
+        }
+    }
+
+    private int drainBatch() {
+        long position = dequeuePosition;
+        int count = 0;
+        while (count < BATCH_SIZE) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            Object event = events[index];
+            EventListenerMethod[] listeners = targets[index];
+            events[index] = null;
+            targets[index] = null;
+            // 先归还槽位再执行监听器，慢监听器不占用缓冲容量
+            sequences.lazySet(index, position + mask + 1);
+            position++;
+            dequeuePosition = position;
+            for (EventListenerMethod listener : listeners) {
+                try {
+                    listener.invoke(event);
+                } catch (Throwable e) {
+                    errorHandler.accept(listener, e);
+                }
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private boolean isEmpty() {
+        long position = dequeuePosition;
+        return sequences.get((int) (position & mask)) != position + 1;
+    }
+
+    /**
+     * @return 当前排队中的事件数（近似值）
+     */
+    long size() {
+        return Math.max(0, enqueuePosition.get() - dequeuePosition);
+    }
+
+    /**
+     * @return 因缓冲已满被丢弃的事件数
+     */
+    long getDropped() {
+        return dropped.sum();
+    }
+}
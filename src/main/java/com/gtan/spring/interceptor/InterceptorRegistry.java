@@ -1,7 +1,15 @@
 package com.gtan.spring.interceptor;
 
+import com.gtan.spring.annotation.InterceptorMapping;
+import com.gtan.spring.annotation.Order;
+import com.gtan.spring.web.PathMatcher;
+
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * InterceptorRegistry - 拦截器注册和管理中心
@@ -19,43 +27,145 @@ import java.util.List;
  * 
  * <p>执行顺序：</p>
  * <ol>
- *   <li>按注册顺序执行preHandle()方法</li>
- *   <li>按注册逆序执行postHandle()方法</li>
- *   <li>按注册逆序执行afterCompletion()方法</li>
+ *   <li>按 @Order 从小到大（相同顺序按注册顺序）执行preHandle()方法</li>
+ *   <li>按逆序执行postHandle()方法</li>
+ *   <li>按逆序执行afterCompletion()方法</li>
  * </ol>
+ *
+ * <p>路径匹配与预计算：</p>
+ * <ul>
+ *   <li>每个拦截器携带包含/排除路径模式（@InterceptorMapping）和顺序（@Order）</li>
+ *   <li>{@link #resolve(String)} 为指定处理器 URL 计算出已过滤、已排序的拦截器数组，
+ *       DispatcherServlet 在启动时为每个 WebHandler 预先计算并保存</li>
+ *   <li>请求处理时直接遍历处理器上的数组，不再复制列表，也不再进行路径匹配</li>
+ * </ul>
+ *
+ * <p>并发修改（写时复制）：</p>
+ * <ul>
+ *   <li>注册信息保存在不可变列表中，由 {@link AtomicReference} 持有；每次修改复制出新列表并通过 CAS 原子替换</li>
+ *   <li>读操作只读取一次引用，得到的始终是某一时刻完整一致的快照，无需加锁</li>
+ *   <li>修改成功后同步通知变更监听器（如 DispatcherServlet 重新计算处理器拦截器链），
+ *       正在处理的请求继续使用其开始时读取的旧链，不会被阻塞或看到半修改状态</li>
+ * </ul>
  * 
  * @author gangtann@126.com
  * @version 1.0
  * @since 2025-07-19
  */
 public class InterceptorRegistry {
+
+    private static final String[] MATCH_ALL = {"/**"};
+
+    private static final Interceptor[] EMPTY = new Interceptor[0];
     
     /**
-     * 注册的拦截器列表
-     * 使用ArrayList保证顺序性
+     * 注册的拦截器列表快照（不可变，按注册顺序排列）
      */
-    private final List<Interceptor> interceptors = new ArrayList<>();
+    private final AtomicReference<List<InterceptorRegistration>> registrations = new AtomicReference<>(List.of());
+
+    /**
+     * 注册信息变更监听器
+     */
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
     
     /**
-     * 注册拦截器
+     * 注册拦截器，路径模式与顺序取自拦截器类上的 @InterceptorMapping 与 @Order 注解
      * 
      * @param interceptor 要注册的拦截器实例
      * @return this 支持链式调用
      */
     public InterceptorRegistry addInterceptor(Interceptor interceptor) {
         if (interceptor != null) {
-            interceptors.add(interceptor);
+            Class<?> type = interceptor.getClass();
+            InterceptorMapping mapping = type.getAnnotation(InterceptorMapping.class);
+            Order order = type.getAnnotation(Order.class);
+            addInterceptor(interceptor,
+                    order != null ? order.value() : Integer.MAX_VALUE,
+                    mapping != null ? mapping.includePatterns() : MATCH_ALL,
+                    mapping != null ? mapping.excludePatterns() : new String[0]);
+        }
+        return this;
+    }
+
+    /**
+     * 以显式的顺序和路径模式注册拦截器
+     *
+     * @param interceptor     要注册的拦截器实例
+     * @param order           顺序，越小越先执行
+     * @param includePatterns 生效的路径模式
+     * @param excludePatterns 排除的路径模式
+     * @return this 支持链式调用
+     */
+    public InterceptorRegistry addInterceptor(Interceptor interceptor, int order, String[] includePatterns,
+                                              String[] excludePatterns) {
+        if (interceptor != null) {
+            InterceptorRegistration registration = new InterceptorRegistration(interceptor, order,
+                    includePatterns.clone(), excludePatterns.clone());
+            update(current -> {
+                List<InterceptorRegistration> next = new ArrayList<>(current);
+                next.add(registration);
+                return List.copyOf(next);
+            });
         }
         return this;
     }
+
+    /**
+     * 移除拦截器（按实例判断）
+     *
+     * @param interceptor 要移除的拦截器实例
+     * @return 是否移除成功
+     */
+    public boolean removeInterceptor(Interceptor interceptor) {
+        while (true) {
+            List<InterceptorRegistration> current = registrations.get();
+            List<InterceptorRegistration> next = current.stream()
+                    .filter(registration -> registration.interceptor() != interceptor)
+                    .toList();
+            if (next.size() == current.size()) {
+                return false;
+            }
+            if (registrations.compareAndSet(current, next)) {
+                fireChanged();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 注册变更监听器，每次注册信息修改成功后在修改线程上调用
+     *
+     * @param listener 监听器
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * 计算指定路径生效的拦截器链
+     *
+     * @param path 处理器 URL
+     * @return 按顺序排列的拦截器数组（调用方不得修改）
+     */
+    public Interceptor[] resolve(String path) {
+        Interceptor[] chain = registrations.get().stream()
+                .filter(registration -> registration.matches(path))
+                .sorted(Comparator.comparingInt(InterceptorRegistration::order))
+                .map(InterceptorRegistration::interceptor)
+                .toArray(Interceptor[]::new);
+        return chain.length == 0 ? EMPTY : chain;
+    }
     
     /**
      * 获取所有注册的拦截器
      * 
-     * @return 拦截器列表（不可修改）
+     * @return 按顺序排列的拦截器列表（副本）
      */
     public List<Interceptor> getInterceptors() {
-        return new ArrayList<>(interceptors);
+        return registrations.get().stream()
+                .sorted(Comparator.comparingInt(InterceptorRegistration::order))
+                .map(InterceptorRegistration::interceptor)
+                .toList();
     }
     
     /**
@@ -64,7 +174,7 @@ public class InterceptorRegistry {
      * @return 拦截器数量
      */
     public int size() {
-        return interceptors.size();
+        return registrations.get().size();
     }
     
     /**
@@ -73,7 +183,7 @@ public class InterceptorRegistry {
      * @return this 支持链式调用
      */
     public InterceptorRegistry clear() {
-        interceptors.clear();
+        update(current -> List.of());
         return this;
     }
     
@@ -83,6 +193,33 @@ public class InterceptorRegistry {
      * @return 是否没有注册任何拦截器
      */
     public boolean isEmpty() {
-        return interceptors.isEmpty();
+        return registrations.get().isEmpty();
+    }
+
+    /**
+     * 以写时复制方式原子替换快照，并通知监听器
+     *
+     * @param updater 由旧快照生成新快照的函数（CAS 冲突时可能被重复调用，必须无副作用）
+     */
+    private void update(UnaryOperator<List<InterceptorRegistration>> updater) {
+        registrations.updateAndGet(updater);
+        fireChanged();
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * 拦截器注册信息
+     */
+    private record InterceptorRegistration(Interceptor interceptor, int order, String[] includePatterns,
+                                           String[] excludePatterns) {
+
+        private boolean matches(String path) {
+            return PathMatcher.matchAny(includePatterns, path) && !PathMatcher.matchAny(excludePatterns, path);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.gtan.spring.interceptor;
 
 import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.Profile;
 import com.gtan.spring.web.ModelAndView;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -11,6 +12,7 @@ import jakarta.servlet.http.HttpServletResponse;
  * @since 2025-07-19
  */
 @Component
+@Profile("dev")
 public class MyInterceptor implements Interceptor{
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
@@ -0,0 +1,112 @@
+package com.gtan.spring.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram - 无锁延迟直方图
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>采用 HdrHistogram 风格的固定对数桶：第 k 个桶的上界为 2^(k+6) 微秒（64μs ~ 16.8s），
+ *       另加一个溢出桶；桶下标由 {@link Long#numberOfLeadingZeros(long)} 直接计算，无需查找</li>
+ *   <li>每个桶、总数与总耗时都使用 {@link LongAdder}：多核并发记录时写入各自的 Cell，互不竞争，
+ *       只有读取（抓取指标）时才汇总</li>
+ *   <li>桶边界固定不变，Prometheus 可以跨实例、跨时间聚合</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-25
+ */
+public class LatencyHistogram {
+
+    /**
+     * 第一个桶的上界为 2^6 = 64 微秒
+     */
+    private static final int MIN_SHIFT = 6;
+
+    /**
+     * 有限上界的桶数量，最后一个上界为 2^24 微秒（约 16.8 秒）
+     */
+    private static final int BUCKET_COUNT = 19;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT + 1];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets[bucketIndex(nanos / 1000)].increment();
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * 计算微秒值所在的桶：满足 micros <= 2^(k+6) 的最小 k，超出范围落入溢出桶
+     */
+    static int bucketIndex(long micros) {
+        if (micros <= 1L << MIN_SHIFT) {
+            return 0;
+        }
+        int index = 64 - Long.numberOfLeadingZeros(micros - 1) - MIN_SHIFT;
+        return Math.min(index, BUCKET_COUNT);
+    }
+
+    /**
+     * @return 有限上界的桶数量（不含溢出桶）
+     */
+    public int getBucketCount() {
+        return BUCKET_COUNT;
+    }
+
+    /**
+     * 获取桶上界
+     *
+     * @param index 桶下标
+     * @return 上界（秒）
+     */
+    public double getUpperBoundSeconds(int index) {
+        return (1L << (index + MIN_SHIFT)) / 1_000_000.0;
+    }
+
+    /**
+     * 获取累计计数（小于等于各上界的样本数），最后一个元素为总数（+Inf）
+     *
+     * @return 长度为 {@link #getBucketCount()} + 1 的累计计数数组
+     */
+    public long[] getCumulativeCounts() {
+        long[] cumulative = new long[buckets.length];
+        long running = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            running += buckets[i].sum();
+            cumulative[i] = running;
+        }
+        return cumulative;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return 总耗时（秒）
+     */
+    public double getSumSeconds() {
+        return sumNanos.sum() / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.gtan.spring.metrics;
+
+import com.gtan.spring.annotation.Autowired;
+import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.Controller;
+import com.gtan.spring.annotation.RequestMapping;
+import com.gtan.spring.annotation.ResponseBody;
+
+/**
+ * MetricsEndpoint - 内置 /metrics 端点
+ *
+ * <p>以 Prometheus 文本格式返回 {@link MetricsRegistry} 中的全部指标，
+ * 由 StringHttpMessageConverter 以 text/plain 输出。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-25
+ */
+@Controller
+@Component
+public class MetricsEndpoint {
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @RequestMapping("/metrics")
+    @ResponseBody
+    public String metrics() {
+        return metricsRegistry.scrape();
+    }
+}
@@ -0,0 +1,63 @@
+package com.gtan.spring.metrics;
+
+import com.gtan.spring.annotation.Autowired;
+import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.Order;
+import com.gtan.spring.interceptor.Interceptor;
+import com.gtan.spring.web.DispatcherServlet;
+import com.gtan.spring.web.ModelAndView;
+import com.gtan.spring.web.WebHandler;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * MetricsInterceptor - 请求指标拦截器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>以最高优先级（Integer.MIN_VALUE）排在拦截器链最前，preHandle 最先执行、afterCompletion 最后执行，
+ *       因此测得的耗时覆盖其他拦截器与视图渲染</li>
+ *   <li>开始时间保存在请求属性中；异步请求的 afterCompletion 在结果就绪后才执行，耗时包含异步等待</li>
+ *   <li>按 {@link DispatcherServlet#isFailed} 判断错误：状态码 &gt;= 500，或异常没有被解析为 4xx 响应
+ *       （包括响应已提交后抛出的异常和流式输出中途失败）</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-25
+ */
+@Component
+@Order(Integer.MIN_VALUE)
+public class MetricsInterceptor implements Interceptor {
+
+    private static final String START_ATTRIBUTE = MetricsInterceptor.class.getName() + ".start";
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof WebHandler webHandler) {
+            metricsRegistry.route(webHandler.getUrl()).start();
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof WebHandler webHandler)
+                || !(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        boolean error = DispatcherServlet.isFailed(request, response, ex);
+        metricsRegistry.route(webHandler.getUrl()).stop(System.nanoTime() - start, error);
+    }
+}
@@ -0,0 +1,157 @@
+package com.gtan.spring.metrics;
+
+import com.gtan.spring.annotation.Component;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * MetricsRegistry - 指标注册中心
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>按路由保存 {@link RouteMetrics}，路由取自处理器映射的 URL，基数有限，不会因请求参数无限增长</li>
+ *   <li>记录路径只有一次 ConcurrentHashMap 读取和若干 LongAdder 自增，没有锁</li>
+ *   <li>抓取时汇总所有计数器，按 Prometheus 文本格式（0.0.4）输出，并追加其他 {@link MetricsSource}</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-25
+ */
+@Component
+public class MetricsRegistry {
+
+    private final Map<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+    private final List<MetricsSource> sources = new CopyOnWriteArrayList<>();
+
+    /**
+     * 获取路由指标，不存在时创建
+     *
+     * @param route 路由
+     * @return 路由指标
+     */
+    public RouteMetrics route(String route) {
+        RouteMetrics metrics = routes.get(route);
+        if (metrics != null) {
+            return metrics;
+        }
+        return routes.computeIfAbsent(route, RouteMetrics::new);
+    }
+
+    /**
+     * 注册额外的指标来源
+     *
+     * @param source 指标来源
+     */
+    public void addSource(MetricsSource source) {
+        if (source != null) {
+            sources.add(source);
+        }
+    }
+
+    /**
+     * 以 Prometheus 文本格式输出全部指标
+     *
+     * @return 指标文本
+     */
+    public String scrape() {
+        List<RouteMetrics> snapshot = routes.values().stream()
+                .sorted(Comparator.comparing(RouteMetrics::getRoute))
+                .toList();
+        StringBuilder out = new StringBuilder(1024);
+
+        writeHeader(out, "http_server_requests_total", "counter", "Total HTTP requests handled per route.");
+        for (RouteMetrics metrics : snapshot) {
+            writeSample(out, "http_server_requests_total", metrics.getRoute(), null, metrics.getRequests());
+        }
+        writeHeader(out, "http_server_request_errors_total", "counter", "Total HTTP requests that failed per route.");
+        for (RouteMetrics metrics : snapshot) {
+            writeSample(out, "http_server_request_errors_total", metrics.getRoute(), null, metrics.getErrors());
+        }
+        writeHeader(out, "http_server_requests_in_flight", "gauge", "HTTP requests currently being handled per route.");
+        for (RouteMetrics metrics : snapshot) {
+            writeSample(out, "http_server_requests_in_flight", metrics.getRoute(), null, metrics.getInFlight());
+        }
+        writeHeader(out, "http_server_request_duration_seconds", "histogram", "HTTP request latency per route.");
+        for (RouteMetrics metrics : snapshot) {
+            writeHistogram(out, "http_server_request_duration_seconds", metrics.getRoute(), metrics.getLatency());
+        }
+
+        for (MetricsSource source : sources) {
+            source.writeMetrics(out);
+        }
+        return out.toString();
+    }
+
+    private static void writeHistogram(StringBuilder out, String name, String route, LatencyHistogram histogram) {
+        writeHistogram(out, name, "route", route, histogram);
+    }
+
+    /**
+     * 写出带单个标签的直方图样本（_bucket、_sum、_count）
+     *
+     * @param out       输出缓冲
+     * @param name      指标名
+     * @param label     标签名
+     * @param value     标签值
+     * @param histogram 直方图
+     */
+    public static void writeHistogram(StringBuilder out, String name, String label, String value,
+                                      LatencyHistogram histogram) {
+        long[] cumulative = histogram.getCumulativeCounts();
+        for (int i = 0; i < histogram.getBucketCount(); i++) {
+            writeSample(out, name + "_bucket", label, value,
+                    BigDecimal.valueOf(histogram.getUpperBoundSeconds(i)).toPlainString(),
+                    cumulative[i]);
+        }
+        writeSample(out, name + "_bucket", label, value, "+Inf", cumulative[cumulative.length - 1]);
+        out.append(name).append("_sum{").append(label).append("=\"").append(escape(value)).append("\"} ")
+                .append(histogram.getSumSeconds()).append('\n');
+        writeSample(out, name + "_count", label, value, null, cumulative[cumulative.length - 1]);
+    }
+
+    /**
+     * 写出 HELP 与 TYPE 行
+     *
+     * @param out  输出缓冲
+     * @param name 指标名
+     * @param type 指标类型（counter、gauge、histogram）
+     * @param help 说明
+     */
+    public static void writeHeader(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void writeSample(StringBuilder out, String name, String route, String le, long value) {
+        writeSample(out, name, "route", route, le, value);
+    }
+
+    private static void writeSample(StringBuilder out, String name, String label, String labelValue, String le,
+                                    long value) {
+        out.append(name).append('{').append(label).append("=\"").append(escape(labelValue)).append('"');
+        if (le != null) {
+            out.append(",le=\"").append(le).append('"');
+        }
+        out.append("} ").append(value).append('\n');
+    }
+
+    /**
+     * 转义标签值中的反斜杠、双引号与换行
+     *
+     * @param value 标签值
+     * @return 转义后的值
+     */
+    public static String escape(String value) {
+        if (value.indexOf('\\') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,21 @@
+package com.gtan.spring.metrics;
+
+/**
+ * MetricsSource - 可导出到 /metrics 端点的指标来源
+ *
+ * <p>框架其他模块（如调度器、线程池）实现此接口并注册到 {@link MetricsRegistry}，
+ * 抓取时按 Prometheus 文本格式追加各自的指标。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-25
+ */
+public interface MetricsSource {
+
+    /**
+     * 以 Prometheus 文本格式写出指标
+     *
+     * @param out 输出缓冲
+     */
+    void writeMetrics(StringBuilder out);
+}
@@ -0,0 +1,71 @@
+package com.gtan.spring.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RouteMetrics - 单个路由的请求指标
+ *
+ * <p>包含请求数、错误数、处理中请求数与延迟直方图，全部基于 {@link LongAdder}，记录时无锁无竞争。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-25
+ */
+public class RouteMetrics {
+
+    private final String route;
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder inFlight = new LongAdder();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public RouteMetrics(String route) {
+        this.route = route;
+    }
+
+    /**
+     * 请求开始
+     */
+    public void start() {
+        inFlight.increment();
+    }
+
+    /**
+     * 请求结束
+     *
+     * @param nanos 耗时（纳秒）
+     * @param error 是否失败
+     */
+    public void stop(long nanos, boolean error) {
+        inFlight.decrement();
+        requests.increment();
+        if (error) {
+            errors.increment();
+        }
+        latency.record(nanos);
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+}
@@ -0,0 +1,111 @@
+package com.gtan.spring.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AimdConcurrencyLimiter - 加性增、乘性减的自适应并发限制器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>处理中请求数用 {@link AtomicInteger} 计数，获取许可时 CAS 自增，达到上限立即失败（负载削减），不排队</li>
+ *   <li>上限以 double 的位模式保存在 {@link AtomicLong} 中，每个请求结束时 CAS 更新：
+ *       失败或耗时超过阈值时乘以 0.9（乘性减），否则在并发已接近上限时加 1/limit（加性增，约每一轮加 1）</li>
+ *   <li>并发远低于上限时不增大，避免空闲时上限无意义地膨胀</li>
+ *   <li>adaptive 为 false 时上限固定不变</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-27
+ */
+public class AimdConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final boolean adaptive;
+
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong limitBits;
+
+    /**
+     * @param minLimit              最小上限
+     * @param maxLimit              最大上限（也是初始上限）
+     * @param adaptive              是否自适应调整
+     * @param latencyThresholdNanos 延迟阈值（纳秒）
+     */
+    public AimdConcurrencyLimiter(int minLimit, int maxLimit, boolean adaptive, long latencyThresholdNanos) {
+        this.minLimit = Math.max(1, Math.min(minLimit, maxLimit));
+        this.maxLimit = maxLimit;
+        this.adaptive = adaptive;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(maxLimit));
+    }
+
+    /**
+     * 尝试获取许可
+     *
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放许可并根据本次请求的结果调整上限
+     *
+     * @param latencyNanos 请求耗时（纳秒）
+     * @param failed       请求是否失败
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        if (!adaptive) {
+            return;
+        }
+        boolean overloaded = failed || latencyNanos > latencyThresholdNanos;
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double next;
+            if (overloaded) {
+                next = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (current * 2 >= limit) {
+                next = Math.min(maxLimit, limit + 1 / limit);
+            } else {
+                return;
+            }
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 当前并发上限
+     */
+    public double getLimit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * @return 处理中的请求数
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
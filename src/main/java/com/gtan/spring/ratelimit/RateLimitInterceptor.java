@@ -0,0 +1,293 @@
+package com.gtan.spring.ratelimit;
+
+import com.gtan.spring.annotation.Autowired;
+import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.Order;
+import com.gtan.spring.annotation.PostConstruct;
+import com.gtan.spring.annotation.RateLimit;
+import com.gtan.spring.interceptor.Interceptor;
+import com.gtan.spring.metrics.MetricsRegistry;
+import com.gtan.spring.metrics.MetricsSource;
+import com.gtan.spring.scheduling.TaskScheduler;
+import com.gtan.spring.web.DispatcherServlet;
+import com.gtan.spring.web.ModelAndView;
+import com.gtan.spring.web.WebHandler;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RateLimitInterceptor - 限流与负载削减拦截器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>按处理器读取 @RateLimit（方法优先于类），首次请求时解析为路由策略并缓存；未标注的处理器只有一次 Map 读取</li>
+ *   <li>依次检查路由令牌桶、客户端令牌桶（按 remoteAddr）和并发限制器，任何一项不通过时直接写出 429/503 响应，
+ *       preHandle 返回 false，后续拦截器与控制器方法都不会执行</li>
+ *   <li>令牌桶与并发限制器均基于 CAS 实现，客户端令牌桶保存在 ConcurrentHashMap 中</li>
+ *   <li>客户端令牌桶由 TaskScheduler 上的后台任务每秒清理：先回收已空闲（令牌已回满）的令牌桶，
+ *       仍超过上限时按近似 LRU 淘汰 TAT 最早（最久未被消耗）的令牌桶；请求线程上不做任何扫描</li>
+ *   <li>令牌桶数量达到硬上限时，新客户端共享同一个溢出令牌桶，Map 不会继续增长</li>
+ *   <li>拦截器顺序紧随 MetricsInterceptor，被拒绝的请求仍会计入请求指标；拒绝次数与当前并发上限通过 /metrics 导出</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-27
+ * @see RateLimit
+ */
+@Component
+@Order(Integer.MIN_VALUE + 1)
+public class RateLimitInterceptor implements Interceptor, MetricsSource {
+
+    private static final String PERMIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".permit";
+
+    /**
+     * 每个路由最多保留的客户端令牌桶数量
+     */
+    private static final int MAX_CLIENT_BUCKETS = 10_000;
+
+    /**
+     * 后台清理后保留的客户端令牌桶数量，为清理间隔内出现的新客户端留出余量
+     */
+    private static final int SWEEP_TARGET = MAX_CLIENT_BUCKETS * 9 / 10;
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private static final RoutePolicy NONE = new RoutePolicy(null, null);
+
+    private final Map<WebHandler, RoutePolicy> policies = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    /**
+     * 注册指标并启动客户端令牌桶的后台清理任务
+     */
+    @PostConstruct
+    public void init() {
+        metricsRegistry.addSource(this);
+        taskScheduler.scheduleWithFixedDelay("rateLimitClientSweep", this::sweepClientBuckets,
+                SWEEP_INTERVAL_MILLIS, SWEEP_INTERVAL_MILLIS);
+    }
+
+    /**
+     * 清理所有路由的客户端令牌桶，由后台任务周期执行
+     */
+    void sweepClientBuckets() {
+        long now = System.nanoTime();
+        for (RoutePolicy policy : policies.values()) {
+            if (policy.clientPermitsPerSecond > 0) {
+                policy.sweep(now);
+            }
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof WebHandler webHandler)) {
+            return true;
+        }
+        RoutePolicy policy = policies.get(webHandler);
+        if (policy == null) {
+            policy = policies.computeIfAbsent(webHandler, RateLimitInterceptor::createPolicy);
+        }
+        if (policy == NONE) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        if (policy.routeBucket != null) {
+            long waitNanos = policy.routeBucket.tryAcquire(now);
+            if (waitNanos > 0) {
+                policy.rateLimited.increment();
+                reject(response, 429, waitNanos, "请求过于频繁，请稍后重试");
+                return false;
+            }
+        }
+        if (policy.clientPermitsPerSecond > 0) {
+            long waitNanos = policy.clientBucket(request.getRemoteAddr()).tryAcquire(now);
+            if (waitNanos > 0) {
+                policy.clientRateLimited.increment();
+                reject(response, 429, waitNanos, "请求过于频繁，请稍后重试");
+                return false;
+            }
+        }
+        if (policy.limiter != null) {
+            if (!policy.limiter.tryAcquire()) {
+                policy.shed.increment();
+                reject(response, 503, 0, "服务繁忙，请稍后重试");
+                return false;
+            }
+            request.setAttribute(PERMIT_ATTRIBUTE, now);
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(PERMIT_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        RoutePolicy policy = policies.get((WebHandler) handler);
+        boolean failed = DispatcherServlet.isFailed(request, response, ex);
+        policy.limiter.release(System.nanoTime() - start, failed);
+    }
+
+    private static void reject(HttpServletResponse response, int status, long waitNanos, String message)
+            throws IOException {
+        response.setStatus(status);
+        if (waitNanos > 0) {
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+                    waitNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+        }
+        response.setContentType("text/html;charset=UTF-8");
+        response.getWriter().write("<h1>" + message + "</h1>");
+    }
+
+    private static RoutePolicy createPolicy(WebHandler handler) {
+        RateLimit rateLimit = handler.getMethod().getAnnotation(RateLimit.class);
+        if (rateLimit == null) {
+            rateLimit = handler.getControllerBean().getClass().getAnnotation(RateLimit.class);
+        }
+        if (rateLimit == null) {
+            return NONE;
+        }
+        return new RoutePolicy(handler.getUrl(), rateLimit);
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        List<RoutePolicy> snapshot = policies.values().stream()
+                .filter(policy -> policy != NONE)
+                .sorted(Comparator.comparing(policy -> policy.route))
+                .toList();
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        MetricsRegistry.writeHeader(out, "http_server_requests_rejected_total", "counter",
+                "HTTP requests rejected by rate limiting or load shedding.");
+        for (RoutePolicy policy : snapshot) {
+            writeRejected(out, policy.route, "rate_limit", policy.rateLimited.sum());
+            writeRejected(out, policy.route, "client_rate_limit", policy.clientRateLimited.sum());
+            writeRejected(out, policy.route, "load_shed", policy.shed.sum());
+        }
+        MetricsRegistry.writeHeader(out, "http_server_concurrency_limit", "gauge",
+                "Current adaptive concurrency limit per route.");
+        for (RoutePolicy policy : snapshot) {
+            if (policy.limiter != null) {
+                out.append("http_server_concurrency_limit{route=\"").append(MetricsRegistry.escape(policy.route))
+                        .append("\"} ").append(policy.limiter.getLimit()).append('\n');
+            }
+        }
+    }
+
+    private static void writeRejected(StringBuilder out, String route, String reason, long value) {
+        out.append("http_server_requests_rejected_total{route=\"").append(MetricsRegistry.escape(route))
+                .append("\",reason=\"").append(reason).append("\"} ").append(value).append('\n');
+    }
+
+    /**
+     * 单个路由的限流策略与状态
+     */
+    private static final class RoutePolicy {
+
+        private final String route;
+
+        private final TokenBucket routeBucket;
+
+        private final double clientPermitsPerSecond;
+
+        private final int clientBurst;
+
+        private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+
+        /**
+         * 令牌桶数量达到上限后新客户端共享的令牌桶
+         */
+        private final TokenBucket overflowBucket;
+
+        private final AimdConcurrencyLimiter limiter;
+
+        private final LongAdder rateLimited = new LongAdder();
+
+        private final LongAdder clientRateLimited = new LongAdder();
+
+        private final LongAdder shed = new LongAdder();
+
+        private RoutePolicy(String route, RateLimit rateLimit) {
+            this.route = route;
+            if (rateLimit == null) {
+                this.routeBucket = null;
+                this.clientPermitsPerSecond = 0;
+                this.clientBurst = 0;
+                this.overflowBucket = null;
+                this.limiter = null;
+                return;
+            }
+            this.routeBucket = rateLimit.permitsPerSecond() > 0
+                    ? new TokenBucket(rateLimit.permitsPerSecond(),
+                    burstOf(rateLimit.burst(), rateLimit.permitsPerSecond()))
+                    : null;
+            this.clientPermitsPerSecond = rateLimit.clientPermitsPerSecond();
+            this.clientBurst = burstOf(rateLimit.clientBurst(), rateLimit.clientPermitsPerSecond());
+            this.overflowBucket = clientPermitsPerSecond > 0 ? new TokenBucket(clientPermitsPerSecond, clientBurst) : null;
+            this.limiter = rateLimit.maxConcurrency() > 0
+                    ? new AimdConcurrencyLimiter(rateLimit.minConcurrency(), rateLimit.maxConcurrency(),
+                    rateLimit.adaptive(), TimeUnit.MILLISECONDS.toNanos(rateLimit.latencyThresholdMillis()))
+                    : null;
+        }
+
+        private static int burstOf(int burst, double permitsPerSecond) {
+            return burst > 0 ? burst : Math.max(1, (int) Math.ceil(permitsPerSecond));
+        }
+
+        private TokenBucket clientBucket(String client) {
+            TokenBucket bucket = clientBuckets.get(client);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (clientBuckets.size() >= MAX_CLIENT_BUCKETS) {
+                // 等待后台清理腾出空间，期间新客户端共同受溢出令牌桶限制
+                return overflowBucket;
+            }
+            return clientBuckets.computeIfAbsent(client,
+                    key -> new TokenBucket(clientPermitsPerSecond, clientBurst));
+        }
+
+        /**
+         * 回收空闲令牌桶，仍超过 SWEEP_TARGET 时淘汰 TAT 最早的令牌桶
+         */
+        private void sweep(long now) {
+            clientBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+            int excess = clientBuckets.size() - SWEEP_TARGET;
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, TokenBucket>> entries = new ArrayList<>(clientBuckets.entrySet());
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().getTheoreticalArrival() - now));
+            for (int i = 0; i < excess && i < entries.size(); i++) {
+                clientBuckets.remove(entries.get(i).getKey(), entries.get(i).getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.gtan.spring.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TokenBucket - 无锁令牌桶
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>采用 GCRA（通用信元速率算法）实现，与令牌桶等价：只保存一个"理论到达时间"（TAT），
+ *       每放行一个请求 TAT 前进一个发放间隔</li>
+ *   <li>TAT 超前当前时间不超过 (burst - 1) 个间隔时放行，否则拒绝并返回需要等待的时间</li>
+ *   <li>状态只有一个 {@link AtomicLong}，通过 CAS 更新，无需定时补充令牌，也没有锁</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-27
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+
+    private final long toleranceNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond 每秒发放的令牌数
+     * @param burst            桶容量（允许的突发量）
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond 必须大于 0: " + permitsPerSecond);
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        // 初始为满桶：TAT 落后于当前时间，调用方先于构造取得的 now 也能正常放行
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - intervalNanos - toleranceNanos);
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param now 当前单调时钟（System.nanoTime()）
+     * @return 0 表示获取成功，否则为需要等待的纳秒数
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = tat - now > 0 ? tat : now;
+            long waitNanos = base - now - toleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 判断令牌桶是否已回满（长时间无请求），可用于回收客户端令牌桶
+     *
+     * @param now 当前单调时钟
+     * @return 是否空闲
+     */
+    public boolean isIdle(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+
+    /**
+     * @return 理论到达时间（单调时钟），越早表示越久没有被消耗令牌
+     */
+    long getTheoreticalArrival() {
+        return theoreticalArrival.get();
+    }
+}
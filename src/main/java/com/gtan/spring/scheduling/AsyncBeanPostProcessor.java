@@ -0,0 +1,258 @@
+package com.gtan.spring.scheduling;
+
+import com.gtan.spring.annotation.Async;
+import com.gtan.spring.annotation.Autowired;
+import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.EventListener;
+import com.gtan.spring.annotation.PostConstruct;
+import com.gtan.spring.annotation.Value;
+import com.gtan.spring.enumeration.RejectionPolicy;
+import com.gtan.spring.enumeration.ThreadMode;
+import com.gtan.spring.metrics.MetricsRegistry;
+import com.gtan.spring.metrics.MetricsSource;
+import com.gtan.spring.service.BeanPostProcessor;
+import com.gtan.spring.service.EnvironmentChangeEvent;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * AsyncBeanPostProcessor - @Async 代理创建与执行器管理
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>代理创建</strong>：afterInitializeBean 中检查 Bean 的公共方法，存在 @Async（方法或类级别）时
+ *       以 Bean 实现的全部接口创建 JDK 动态代理并替换原 Bean；没有 @Async 的 Bean 原样返回，不产生任何开销</li>
+ *   <li><strong>启动期校验</strong>：异步方法未声明在接口中、返回值既不是 void 也不是 Future 系列类型时直接抛出异常，
+ *       不把错误留到运行时</li>
+ *   <li><strong>具名执行器</strong>：经过本处理器的 {@link ManagedExecutor} Bean 以 Bean 名称登记；
+ *       @Async 未指定名称时使用默认执行器（Bean 名称为 {@value #DEFAULT_EXECUTOR} 的执行器，没有则按配置创建）</li>
+ *   <li><strong>可观测性</strong>：每个执行器的队列深度、执行中任务数、完成/失败/拒绝数、排队时间与执行时间直方图
+ *       通过 /metrics 导出</li>
+ * </ul>
+ *
+ * <p>默认执行器配置（通过 Environment 读取，可写在 application.properties 中）：</p>
+ * <ul>
+ *   <li>gtan.async.thread-mode：platform 或 virtual，默认 platform</li>
+ *   <li>gtan.async.pool-size：线程数，默认 CPU 核数；运行时刷新后立即调整线程池大小</li>
+ *   <li>gtan.async.queue-capacity：队列容量，默认 1024</li>
+ *   <li>gtan.async.rejection-policy：abort、caller_runs、discard、discard_oldest，默认 caller_runs</li>
+ * </ul>
+ * <p>除线程数外的配置在默认执行器首次使用时读取，之后不再变化。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-04
+ * @see Async
+ * @see ManagedExecutor
+ */
+@Component
+public class AsyncBeanPostProcessor implements BeanPostProcessor, MetricsSource {
+
+    public static final String DEFAULT_EXECUTOR = "asyncExecutor";
+
+    public static final String THREAD_MODE_PROPERTY = "gtan.async.thread-mode";
+
+    public static final String POOL_SIZE_PROPERTY = "gtan.async.pool-size";
+
+    public static final String QUEUE_CAPACITY_PROPERTY = "gtan.async.queue-capacity";
+
+    public static final String REJECTION_POLICY_PROPERTY = "gtan.async.rejection-policy";
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Value("${" + THREAD_MODE_PROPERTY + ":platform}")
+    private ThreadMode threadMode;
+
+    /**
+     * 默认执行器线程数，0 表示 CPU 核数
+     */
+    @Value("${" + POOL_SIZE_PROPERTY + ":0}")
+    private volatile int poolSize;
+
+    @Value("${" + QUEUE_CAPACITY_PROPERTY + ":1024}")
+    private int queueCapacity;
+
+    @Value("${" + REJECTION_POLICY_PROPERTY + ":caller_runs}")
+    private RejectionPolicy rejectionPolicy;
+
+    private final Map<String, ManagedExecutor> executors = new ConcurrentHashMap<>();
+
+    /**
+     * 由本处理器按配置创建的默认执行器，使用 Bean 声明的默认执行器时为 null
+     */
+    private volatile ManagedExecutor defaultExecutor;
+
+    @PostConstruct
+    public void registerMetrics() {
+        metricsRegistry.addSource(this);
+    }
+
+    @Override
+    public Object afterInitializeBean(Object bean, String beanName) {
+        if (bean instanceof ManagedExecutor executor) {
+            executor.setName(beanName);
+            if (executors.putIfAbsent(beanName, executor) != null) {
+                throw new RuntimeException("执行器名称重复: " + beanName);
+            }
+            return bean;
+        }
+        Class<?> beanClass = bean.getClass();
+        boolean typeLevel = beanClass.isAnnotationPresent(Async.class);
+        List<Method> asyncMethods = new ArrayList<>();
+        for (Method method : beanClass.getMethods()) {
+            if (method.getDeclaringClass() != Object.class
+                    && (typeLevel || method.isAnnotationPresent(Async.class))) {
+                asyncMethods.add(method);
+            }
+        }
+        if (asyncMethods.isEmpty()) {
+            return bean;
+        }
+        Class<?>[] interfaces = collectInterfaces(beanClass);
+        Map<Method, AsyncInvocationHandler.ProxyMethod> methods = new HashMap<>();
+        Set<Method> proxied = new LinkedHashSet<>();
+        for (Class<?> type : interfaces) {
+            for (Method method : type.getMethods()) {
+                Method implementation = findImplementation(beanClass, method);
+                boolean async = asyncMethods.contains(implementation);
+                String executorName = null;
+                if (async) {
+                    validateReturnType(implementation);
+                    Async annotation = implementation.isAnnotationPresent(Async.class)
+                            ? implementation.getAnnotation(Async.class) : beanClass.getAnnotation(Async.class);
+                    executorName = annotation.value().isEmpty() ? DEFAULT_EXECUTOR : annotation.value();
+                    proxied.add(implementation);
+                }
+                methods.put(method, new AsyncInvocationHandler.ProxyMethod(implementation, async, executorName));
+            }
+        }
+        for (Method method : asyncMethods) {
+            // 类级别 @Async 只作用于接口方法，方法级别的必须能被代理到
+            if (!proxied.contains(method) && method.isAnnotationPresent(Async.class)) {
+                throw new RuntimeException("@Async 方法 " + beanClass.getSimpleName() + "." + method.getName()
+                        + " 必须声明在 Bean 实现的接口中（JDK 动态代理只能代理接口方法）");
+            }
+        }
+        return Proxy.newProxyInstance(beanClass.getClassLoader(), interfaces,
+                new AsyncInvocationHandler(bean, Map.copyOf(methods), this::getExecutor));
+    }
+
+    /**
+     * 配置刷新后调整默认执行器的线程数
+     *
+     * @param event 配置变化事件
+     */
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        ManagedExecutor executor = defaultExecutor;
+        if (executor != null && event.keys().contains(POOL_SIZE_PROPERTY)) {
+            executor.setPoolSize(resolvePoolSize());
+        }
+    }
+
+    /**
+     * 按名称获取执行器，默认执行器不存在时按配置创建
+     *
+     * @param name 执行器名称
+     * @return 执行器
+     * @throws RuntimeException 指定名称的执行器不存在
+     */
+    public ManagedExecutor getExecutor(String name) {
+        ManagedExecutor executor = executors.get(name);
+        if (executor != null) {
+            return executor;
+        }
+        if (DEFAULT_EXECUTOR.equals(name)) {
+            return executors.computeIfAbsent(name, key -> {
+                ManagedExecutor created = new ManagedExecutor(threadMode, resolvePoolSize(), queueCapacity,
+                        rejectionPolicy);
+                created.setName(key);
+                defaultExecutor = created;
+                return created;
+            });
+        }
+        throw new RuntimeException("未找到名为 " + name + " 的执行器 Bean");
+    }
+
+    private int resolvePoolSize() {
+        int size = poolSize;
+        return size > 0 ? size : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static Class<?>[] collectInterfaces(Class<?> type) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            interfaces.addAll(List.of(current.getInterfaces()));
+        }
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    private static Method findImplementation(Class<?> beanClass, Method interfaceMethod) {
+        try {
+            return beanClass.getMethod(interfaceMethod.getName(), interfaceMethod.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("找不到接口方法的实现: " + interfaceMethod, e);
+        }
+    }
+
+    private static void validateReturnType(Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType != void.class && !returnType.isAssignableFrom(CompletableFuture.class)) {
+            throw new RuntimeException("@Async 方法 " + method.getDeclaringClass().getSimpleName() + "."
+                    + method.getName() + " 的返回值必须是 void、Future、CompletionStage 或 CompletableFuture");
+        }
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        Collection<ManagedExecutor> snapshot = executors.values().stream()
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .toList();
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        writeSamples(out, snapshot, "gtan_executor_queue_depth", "gauge",
+                "Tasks submitted to the executor and not yet started.", ManagedExecutor::getQueueDepth);
+        writeSamples(out, snapshot, "gtan_executor_active_tasks", "gauge",
+                "Tasks currently running on the executor.", ManagedExecutor::getActiveCount);
+        writeSamples(out, snapshot, "gtan_executor_tasks_completed_total", "counter",
+                "Tasks that finished running on the executor.", ManagedExecutor::getCompleted);
+        writeSamples(out, snapshot, "gtan_executor_tasks_failed_total", "counter",
+                "Tasks that threw an exception.", ManagedExecutor::getFailed);
+        writeSamples(out, snapshot, "gtan_executor_rejected_total", "counter",
+                "Tasks rejected because the executor queue was full.", ManagedExecutor::getRejected);
+        MetricsRegistry.writeHeader(out, "gtan_executor_queue_seconds", "histogram",
+                "Time tasks waited in the executor queue before starting.");
+        for (ManagedExecutor executor : snapshot) {
+            MetricsRegistry.writeHistogram(out, "gtan_executor_queue_seconds", "executor",
+                    executor.getName(), executor.getQueueTime());
+        }
+        MetricsRegistry.writeHeader(out, "gtan_executor_task_duration_seconds", "histogram",
+                "Task execution time on the executor.");
+        for (ManagedExecutor executor : snapshot) {
+            MetricsRegistry.writeHistogram(out, "gtan_executor_task_duration_seconds", "executor",
+                    executor.getName(), executor.getDuration());
+        }
+    }
+
+    private static void writeSamples(StringBuilder out, Collection<ManagedExecutor> executors, String name,
+                                   String type, String help, ToLongFunction<ManagedExecutor> value) {
+        MetricsRegistry.writeHeader(out, name, type, help);
+        for (ManagedExecutor executor : executors) {
+            out.append(name).append("{executor=\"").append(MetricsRegistry.escape(executor.getName()))
+                    .append("\"} ").append(value.applyAsLong(executor)).append('\n');
+        }
+    }
+}
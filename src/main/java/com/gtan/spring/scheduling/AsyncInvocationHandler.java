@@ -0,0 +1,135 @@
+package com.gtan.spring.scheduling;
+
+import com.gtan.spring.web.HandlerInvoker;
+import com.gtan.spring.web.HandlerInvokerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * AsyncInvocationHandler - @Async Bean 的 JDK 动态代理调用处理器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>预先解析</strong>：代理创建时为每个接口方法生成 {@link ProxyMethod}（调用器 + 是否异步 + 执行器名），
+ *       调用时只有一次 HashMap 查找，不再读取注解</li>
+ *   <li><strong>直接调用</strong>：方法通过 {@link HandlerInvokerFactory} 生成的调用器执行，
+ *       目标方法抛出的异常原样传播，不会被包装为 InvocationTargetException</li>
+ *   <li><strong>执行器延迟解析</strong>：Bean 的创建顺序不确定，执行器在首次调用时按名称查找并缓存</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-04
+ * @see AsyncBeanPostProcessor
+ */
+final class AsyncInvocationHandler implements InvocationHandler {
+
+    private final Object target;
+
+    private final Map<Method, ProxyMethod> methods;
+
+    private final Function<String, ManagedExecutor> executorLookup;
+
+    AsyncInvocationHandler(Object target, Map<Method, ProxyMethod> methods,
+                           Function<String, ManagedExecutor> executorLookup) {
+        this.target = target;
+        this.methods = methods;
+        this.executorLookup = executorLookup;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        ProxyMethod proxyMethod = methods.get(method);
+        if (proxyMethod == null) {
+            // equals/hashCode/toString 等 Object 方法
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        Object[] arguments = args != null ? args : new Object[0];
+        if (!proxyMethod.async) {
+            return proxyMethod.invoker.invoke(target, arguments);
+        }
+        ManagedExecutor executor = proxyMethod.executor;
+        if (executor == null) {
+            executor = executorLookup.apply(proxyMethod.executorName);
+            proxyMethod.executor = executor;
+        }
+        Invocation invocation = new Invocation(proxyMethod, target, arguments);
+        if (proxyMethod.returnsVoid) {
+            executor.execute(invocation);
+            return null;
+        }
+        return executor.submit(invocation);
+    }
+
+    /**
+     * 代理方法的预解析结果
+     */
+    static final class ProxyMethod {
+
+        private final String name;
+
+        private final HandlerInvoker invoker;
+
+        private final boolean async;
+
+        private final boolean returnsVoid;
+
+        private final String executorName;
+
+        private volatile ManagedExecutor executor;
+
+        ProxyMethod(Method implementation, boolean async, String executorName) {
+            this.name = implementation.getDeclaringClass().getSimpleName() + "." + implementation.getName();
+            this.invoker = HandlerInvokerFactory.create(implementation);
+            this.async = async;
+            this.returnsVoid = implementation.getReturnType() == void.class;
+            this.executorName = executorName;
+        }
+    }
+
+    /**
+     * 一次异步调用：void 方法作为 Runnable 执行，返回 Future 的方法作为 Callable 执行并取出结果
+     */
+    private record Invocation(ProxyMethod method, Object target, Object[] args) implements Runnable, Callable<Object> {
+
+        @Override
+        public void run() {
+            try {
+                method.invoker.invoke(target, args);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public Object call() throws Exception {
+            Object result = method.invoker.invoke(target, args);
+            if (result instanceof Future<?> future) {
+                try {
+                    return future.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return method.name;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.gtan.spring.scheduling;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CronExpression - cron 表达式解析与下一次触发时间计算
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>格式</strong>：秒 分 时 日 月 周 六段；五段格式视为秒为 0；支持 @yearly、@monthly、@weekly、@daily、@hourly 宏</li>
+ *   <li><strong>语法</strong>：* 与 ?（任意）、a-b（范围）、a/n 与 a-b/n（步长）、逗号列表，月份与星期可使用英文缩写；
+ *       星期中 0 与 7 都表示周日</li>
+ *   <li><strong>位图</strong>：每个字段解析为 BitSet，匹配判断是一次位测试，计算下一次触发时间不涉及字符串</li>
+ *   <li><strong>逐级推进</strong>：从下一秒开始，依次检查月、日、时、分、秒，不匹配时把该字段加一并清零更低字段，
+ *       然后从月份重新检查；日与星期同时限定时两者都要满足</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-03
+ * @see com.gtan.spring.annotation.Scheduled#cron()
+ */
+public final class CronExpression {
+
+    /**
+     * 推进次数上限，防止无法满足的表达式（如 2 月 30 日）陷入死循环
+     */
+    private static final int MAX_ATTEMPTS = 366 * 24 * 60;
+
+    private static final Map<String, String> MACROS = Map.of(
+            "@yearly", "0 0 0 1 1 *",
+            "@annually", "0 0 0 1 1 *",
+            "@monthly", "0 0 0 1 * *",
+            "@weekly", "0 0 0 * * 0",
+            "@daily", "0 0 0 * * *",
+            "@midnight", "0 0 0 * * *",
+            "@hourly", "0 0 * * * *");
+
+    private static final String[] MONTH_NAMES =
+            {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+
+    private static final String[] DAY_NAMES = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    private final String expression;
+
+    private final BitSet seconds;
+
+    private final BitSet minutes;
+
+    private final BitSet hours;
+
+    private final BitSet daysOfMonth;
+
+    private final BitSet months;
+
+    /**
+     * 下标为 DayOfWeek 数值：1 = 周一 ... 7 = 周日
+     */
+    private final BitSet daysOfWeek;
+
+    private CronExpression(String expression, String[] fields) {
+        this.expression = expression;
+        this.seconds = parseField(fields[0], 0, 59, null);
+        this.minutes = parseField(fields[1], 0, 59, null);
+        this.hours = parseField(fields[2], 0, 23, null);
+        this.daysOfMonth = parseField(fields[3], 1, 31, null);
+        this.months = parseField(fields[4], 1, 12, MONTH_NAMES);
+        BitSet days = parseField(fields[5], 0, 7, DAY_NAMES);
+        if (days.get(0)) {
+            days.set(7);
+            days.clear(0);
+        }
+        this.daysOfWeek = days;
+    }
+
+    /**
+     * 解析 cron 表达式
+     *
+     * @param expression 表达式
+     * @return 解析结果
+     * @throws IllegalArgumentException 格式错误
+     */
+    public static CronExpression parse(String expression) {
+        String trimmed = expression.trim();
+        String macro = MACROS.get(trimmed.toLowerCase(Locale.ROOT));
+        String[] fields = (macro != null ? macro : trimmed).split("\\s+");
+        if (fields.length == 5) {
+            String[] withSeconds = new String[6];
+            withSeconds[0] = "0";
+            System.arraycopy(fields, 0, withSeconds, 1, 5);
+            fields = withSeconds;
+        }
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("cron 表达式必须包含 5 或 6 个字段: " + expression);
+        }
+        try {
+            return new CronExpression(trimmed, fields);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的 cron 表达式 '" + expression + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 计算严格晚于给定时间的下一次触发时间
+     *
+     * @param from 起始时间
+     * @return 下一次触发时间，表达式无法满足时返回 null
+     */
+    public ZonedDateTime next(ZonedDateTime from) {
+        ZonedDateTime time = from.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (!months.get(time.getMonthValue())) {
+                time = time.plusMonths(1).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+                continue;
+            }
+            if (!daysOfMonth.get(time.getDayOfMonth()) || !daysOfWeek.get(time.getDayOfWeek().getValue())) {
+                time = time.plusDays(1).truncatedTo(ChronoUnit.DAYS);
+                continue;
+            }
+            if (!hours.get(time.getHour())) {
+                time = time.plusHours(1).truncatedTo(ChronoUnit.HOURS);
+                continue;
+            }
+            if (!minutes.get(time.getMinute())) {
+                time = time.plusMinutes(1).truncatedTo(ChronoUnit.MINUTES);
+                continue;
+            }
+            int second = seconds.nextSetBit(time.getSecond());
+            if (second < 0) {
+                time = time.plusMinutes(1).truncatedTo(ChronoUnit.MINUTES);
+                continue;
+            }
+            return time.withSecond(second);
+        }
+        return null;
+    }
+
+    private static BitSet parseField(String field, int min, int max, String[] names) {
+        BitSet bits = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            int step = 1;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = Integer.parseInt(part.substring(slash + 1));
+                if (step <= 0) {
+                    throw new IllegalArgumentException("步长必须大于 0: " + part);
+                }
+                part = part.substring(0, slash);
+            }
+            int start;
+            int end;
+            if (part.equals("*") || part.equals("?")) {
+                start = min;
+                end = max;
+            } else {
+                int dash = part.indexOf('-');
+                if (dash > 0) {
+                    start = parseValue(part.substring(0, dash), names);
+                    end = parseValue(part.substring(dash + 1), names);
+                } else {
+                    start = parseValue(part, names);
+                    // "5/15" 表示从 5 开始每 15 个单位
+                    end = slash >= 0 ? max : start;
+                }
+            }
+            if (start < min || end > max || start > end) {
+                throw new IllegalArgumentException("取值超出范围 [" + min + ", " + max + "]: " + part);
+            }
+            for (int i = start; i <= end; i += step) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    private static int parseValue(String value, String[] names) {
+        if (names != null) {
+            String upper = value.toUpperCase(Locale.ROOT);
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(upper)) {
+                    // 月份从 1 开始，星期从 0（周日）开始
+                    return names.length == 12 ? i + 1 : i;
+                }
+            }
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无法识别的取值: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
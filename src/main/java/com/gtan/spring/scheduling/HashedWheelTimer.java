@@ -0,0 +1,241 @@
+package com.gtan.spring.scheduling;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HashedWheelTimer - 哈希时间轮定时器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>时间轮</strong>：wheelSize 个槽位组成环形数组，指针每 tickNanos 前进一格；定时项按到期刻度放入
+ *       刻度 &amp; mask 号槽位，超过一圈的记录剩余圈数，指针经过时减一，为 0 时到期</li>
+ *   <li><strong>O(1) 操作</strong>：新增与取消都是常数时间，每个刻度只处理一个槽位，
+ *       成千上万个定时任务也只增加链表节点，不像 DelayQueue/ScheduledThreadPoolExecutor 那样每次增删 O(log n) 调整堆</li>
+ *   <li><strong>单线程</strong>：只有时钟线程访问槽位链表，无需加锁；其他线程新增的定时项先进入无锁队列，
+ *       时钟线程在每个刻度开始时转移到对应槽位</li>
+ *   <li><strong>惰性取消</strong>：取消只修改状态位，节点在指针下次经过所在槽位时移除</li>
+ *   <li><strong>精度</strong>：到期误差不超过一个刻度，适合秒级周期任务；到期回调在时钟线程上执行，必须只做转交工作</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-03
+ * @see TaskScheduler
+ */
+final class HashedWheelTimer {
+
+    /**
+     * 每个刻度最多转移的新增定时项，避免突发大量新增时拖慢时钟
+     */
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    private final long tickNanos;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final long startTime = System.nanoTime();
+
+    private final Thread worker;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * 当前刻度，只由时钟线程读写
+     */
+    private long tick;
+
+    /**
+     * @param tickNanos 刻度时长（纳秒）
+     * @param wheelSize 槽位数，向上取整为 2 的幂
+     * @param threadName 时钟线程名
+     */
+    HashedWheelTimer(long tickNanos, int wheelSize, String threadName) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.tickNanos = tickNanos;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * 新增一次性定时项
+     *
+     * @param task       到期回调（在时钟线程执行）
+     * @param delayNanos 延迟（纳秒）
+     * @return 可取消的定时项
+     */
+    Timeout newTimeout(Runnable task, long delayNanos) {
+        if (started.compareAndSet(false, true)) {
+            worker.start();
+        }
+        Timeout timeout = new Timeout(task, System.nanoTime() - startTime + Math.max(0, delayNanos));
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        while (true) {
+            waitForNextTick();
+            transferPendingTimeouts();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    /**
+     * 等待到当前刻度的结束时间
+     */
+    private void waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state != Timeout.ST_INIT) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // 已经过期的定时项放入当前槽位，本刻度内立即到期
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * 定时项：只由时钟线程修改链表指针与剩余圈数，状态位允许任意线程 CAS 取消
+     */
+    static final class Timeout {
+
+        private static final int ST_INIT = 0;
+
+        private static final int ST_CANCELLED = 1;
+
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final Runnable task;
+
+        private final long deadline;
+
+        private long remainingRounds;
+
+        private Timeout next;
+
+        private Timeout prev;
+
+        private volatile int state = ST_INIT;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 取消定时项
+         *
+         * @return 是否取消成功（已到期的返回 false）
+         */
+        boolean cancel() {
+            return STATE.compareAndSet(this, ST_INIT, ST_CANCELLED);
+        }
+
+        boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                System.err.println("定时器回调执行失败: " + e);
+            }
+        }
+    }
+
+    /**
+     * 槽位：定时项的双向链表
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * 处理到期的定时项。刻度 n 在 tickNanos * (n + 1) 之后才处理，
+         * 放入该刻度的定时项 deadline 必然已经到达，无需再比较时间
+         */
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+        }
+    }
+}
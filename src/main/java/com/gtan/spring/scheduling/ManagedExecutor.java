@@ -0,0 +1,350 @@
+package com.gtan.spring.scheduling;
+
+import com.gtan.spring.enumeration.RejectionPolicy;
+import com.gtan.spring.enumeration.ThreadMode;
+import com.gtan.spring.metrics.LatencyHistogram;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ManagedExecutor - 带指标的具名执行器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>声明为 Bean</strong>：继承本类并标注 @Component，Bean 名称即 @Async 引用的执行器名，
+ *       也是线程名前缀；线程池在首次提交时才创建，未使用的执行器不占用线程</li>
+ *   <li><strong>平台线程</strong>：固定大小的 ThreadPoolExecutor + 有界队列，队列满时按 {@link RejectionPolicy} 处理，
+ *       空闲线程超时回收</li>
+ *   <li><strong>虚拟线程</strong>：每任务一个虚拟线程，没有队列也不会拒绝，适合阻塞 I/O 型任务</li>
+ *   <li><strong>指标</strong>：提交时记录时间戳，开始执行时得到排队时间，结束时得到执行时间，分别写入
+ *       {@link LatencyHistogram}；待执行数与执行中数用原子计数器维护，两种线程模式口径一致</li>
+ *   <li><strong>丢弃不丢结果</strong>：被拒绝或丢弃的任务若带有 Future，以 RejectedExecutionException 完成，
+ *       调用方不会永远等待</li>
+ * </ul>
+ *
+ * <p>声明示例：</p>
+ * <pre>
+ * &#64;Component(name = "mailExecutor")
+ * public class MailExecutor extends ManagedExecutor {
+ *     public MailExecutor() {
+ *         super(4, 256, RejectionPolicy.CALLER_RUNS);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-04
+ * @see AsyncBeanPostProcessor
+ * @see com.gtan.spring.annotation.Async
+ */
+public class ManagedExecutor implements Executor {
+
+    private final ThreadMode threadMode;
+
+    private volatile int poolSize;
+
+    private final int queueCapacity;
+
+    private final RejectionPolicy rejectionPolicy;
+
+    private volatile String name = "async";
+
+    private volatile ExecutorService delegate;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LatencyHistogram queueTime = new LatencyHistogram();
+
+    private final LatencyHistogram duration = new LatencyHistogram();
+
+    /**
+     * 平台线程池
+     *
+     * @param poolSize        线程数
+     * @param queueCapacity   队列容量
+     * @param rejectionPolicy 队列已满时的拒绝策略
+     */
+    public ManagedExecutor(int poolSize, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        this(ThreadMode.PLATFORM, poolSize, queueCapacity, rejectionPolicy);
+    }
+
+    /**
+     * 按线程模式创建：VIRTUAL 为每任务一个虚拟线程；PLATFORM 为 CPU 核数个线程、容量 1024 的队列、CALLER_RUNS 策略
+     *
+     * @param threadMode 线程模式
+     */
+    public ManagedExecutor(ThreadMode threadMode) {
+        this(threadMode, Runtime.getRuntime().availableProcessors(), 1024, RejectionPolicy.CALLER_RUNS);
+    }
+
+    ManagedExecutor(ThreadMode threadMode, int poolSize, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        if (poolSize <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("线程数与队列容量必须大于 0");
+        }
+        this.threadMode = threadMode;
+        this.poolSize = poolSize;
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    /**
+     * 调整平台线程模式下的线程数，已创建的线程池立即生效；虚拟线程模式下只记录数值
+     *
+     * @param poolSize 线程数
+     */
+    public synchronized void setPoolSize(int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("线程数必须大于 0: " + poolSize);
+        }
+        this.poolSize = poolSize;
+        if (delegate instanceof ThreadPoolExecutor pool) {
+            resize(pool, poolSize);
+        }
+    }
+
+    /**
+     * 调整固定大小线程池的线程数：扩大时先调最大值，缩小时先调核心数，避免出现核心数大于最大值
+     */
+    static void resize(ThreadPoolExecutor pool, int poolSize) {
+        if (poolSize > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(poolSize);
+            pool.setCorePoolSize(poolSize);
+        } else {
+            pool.setCorePoolSize(poolSize);
+            pool.setMaximumPoolSize(poolSize);
+        }
+    }
+
+    /**
+     * 设置执行器名称（线程名前缀与指标标签），由 AsyncBeanPostProcessor 使用 Bean 名称设置
+     */
+    void setName(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        dispatch(new TrackedTask(command, null, null));
+    }
+
+    /**
+     * 提交有返回值的任务
+     *
+     * @param callable 任务
+     * @param <T>      返回值类型
+     * @return 任务完成时完成的 Future
+     * @throws RejectedExecutionException 拒绝策略为 ABORT 且队列已满
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> submit(Callable<T> callable) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        dispatch(new TrackedTask(null, callable, future));
+        return (CompletableFuture<T>) future;
+    }
+
+    private void dispatch(TrackedTask task) {
+        pending.incrementAndGet();
+        try {
+            delegate().execute(task);
+        } catch (RejectedExecutionException e) {
+            // 线程池已关闭等未经 reject 处理的拒绝
+            if (!task.discarded) {
+                rejected.increment();
+                task.discard(e);
+            }
+            throw e;
+        }
+    }
+
+    private ExecutorService delegate() {
+        ExecutorService executor = delegate;
+        if (executor == null) {
+            synchronized (this) {
+                executor = delegate;
+                if (executor == null) {
+                    executor = createDelegate();
+                    delegate = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private ExecutorService createDelegate() {
+        String prefix = name + "-";
+        if (threadMode == ThreadMode.VIRTUAL) {
+            return threadMode.newExecutor(prefix);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, this::reject);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private void reject(Runnable runnable, ThreadPoolExecutor pool) {
+        rejected.increment();
+        TrackedTask task = (TrackedTask) runnable;
+        RejectedExecutionException exception = new RejectedExecutionException(
+                "执行器 " + name + " 队列已满（容量 " + queueCapacity + "）");
+        if (pool.isShutdown()) {
+            task.discard(exception);
+            throw exception;
+        }
+        switch (rejectionPolicy) {
+            case CALLER_RUNS -> task.run();
+            case DISCARD -> task.discard(exception);
+            case DISCARD_OLDEST -> {
+                Runnable oldest = pool.getQueue().poll();
+                if (oldest != null) {
+                    ((TrackedTask) oldest).discard(exception);
+                }
+                pool.execute(task);
+            }
+            default -> {
+                task.discard(exception);
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * @return 已提交但尚未开始执行的任务数
+     */
+    public long getQueueDepth() {
+        return pending.get();
+    }
+
+    /**
+     * @return 正在执行的任务数
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return 提交到开始执行的等待时间分布
+     */
+    public LatencyHistogram getQueueTime() {
+        return queueTime;
+    }
+
+    /**
+     * @return 任务执行时间分布
+     */
+    public LatencyHistogram getDuration() {
+        return duration;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public ThreadMode getThreadMode() {
+        return threadMode;
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * 记录提交时间并维护计数器的任务包装
+     */
+    private final class TrackedTask implements Runnable {
+
+        private final Runnable runnable;
+
+        private final Callable<?> callable;
+
+        private final CompletableFuture<Object> future;
+
+        private final long submitNanos = System.nanoTime();
+
+        private boolean discarded;
+
+        TrackedTask(Runnable runnable, Callable<?> callable, CompletableFuture<Object> future) {
+            this.runnable = runnable;
+            this.callable = callable;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            pending.decrementAndGet();
+            queueTime.record(start - submitNanos);
+            active.incrementAndGet();
+            try {
+                if (callable != null) {
+                    future.complete(callable.call());
+                } else {
+                    runnable.run();
+                }
+            } catch (Throwable e) {
+                failed.increment();
+                if (future != null) {
+                    future.completeExceptionally(e);
+                } else {
+                    System.err.println("执行器 " + name + " 中的任务 " + runnable + " 执行失败: " + e);
+                }
+            } finally {
+                active.decrementAndGet();
+                duration.record(System.nanoTime() - start);
+                completed.increment();
+            }
+        }
+
+        void discard(RejectedExecutionException exception) {
+            discarded = true;
+            pending.decrementAndGet();
+            if (future != null) {
+                future.completeExceptionally(exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.gtan.spring.scheduling;
+
+import com.gtan.spring.metrics.LatencyHistogram;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ScheduledTask - 已注册的定时任务
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>到期转交</strong>：时间轮到期回调 {@link #fire()} 在时钟线程上执行，只负责计算下一次触发、
+ *       检查重叠并把任务交给工作线程池，时钟线程永远不执行业务代码</li>
+ *   <li><strong>不重叠执行</strong>：running 标志通过 CAS 抢占，fixedRate/cron 到期时上一次执行尚未结束，
+ *       本次跳过并计入 overrun；工作线程池队列已满时本次跳过并计入 rejected</li>
+ *   <li><strong>fixedRate</strong>：按计划时间点推进，不累积误差；落后超过一个周期时丢弃错过的周期，不做补偿性连发</li>
+ *   <li><strong>fixedDelay</strong>：在执行结束后由工作线程安排下一次触发</li>
+ *   <li><strong>cron</strong>：以「当前时间」与「上次计划时间」中较晚者为起点计算下一次触发，墙上时钟回拨时不会重复触发</li>
+ *   <li><strong>指标</strong>：执行次数、失败次数、overrun、rejected 使用 LongAdder，耗时写入 {@link LatencyHistogram}</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-03
+ * @see TaskScheduler
+ */
+public final class ScheduledTask {
+
+    private final String name;
+
+    private final Runnable action;
+
+    private final HashedWheelTimer timer;
+
+    private final Executor executor;
+
+    /**
+     * fixedRate/fixedDelay 的周期（纳秒），cron 任务为 0
+     */
+    private final long periodNanos;
+
+    private final boolean fixedDelay;
+
+    private final CronExpression cron;
+
+    private final ZoneId zone;
+
+    private final Runnable fireAction = this::fire;
+
+    private final Runnable executeAction = this::execute;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile boolean cancelled;
+
+    private volatile HashedWheelTimer.Timeout timeout;
+
+    /**
+     * fixedRate 的下一次计划触发时间（System.nanoTime 基准），只由时钟线程读写
+     */
+    private long nextFireNanos;
+
+    /**
+     * cron 的上一次计划触发时间，只由时钟线程读写
+     */
+    private ZonedDateTime lastCronTime;
+
+    private final LongAdder runs = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder overruns = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LatencyHistogram duration = new LatencyHistogram();
+
+    ScheduledTask(String name, Runnable action, HashedWheelTimer timer, Executor executor,
+                  long periodNanos, boolean fixedDelay, CronExpression cron, ZoneId zone) {
+        this.name = name;
+        this.action = action;
+        this.timer = timer;
+        this.executor = executor;
+        this.periodNanos = periodNanos;
+        this.fixedDelay = fixedDelay;
+        this.cron = cron;
+        this.zone = zone;
+    }
+
+    /**
+     * 安排首次触发
+     *
+     * @param initialDelayNanos 首次延迟（cron 任务忽略）
+     */
+    void start(long initialDelayNanos) {
+        if (cron != null) {
+            scheduleNextCron();
+        } else {
+            nextFireNanos = System.nanoTime() + initialDelayNanos;
+            timeout = timer.newTimeout(fireAction, initialDelayNanos);
+        }
+    }
+
+    /**
+     * 时间轮到期回调，在时钟线程上执行
+     */
+    private void fire() {
+        if (cancelled) {
+            return;
+        }
+        if (cron != null) {
+            scheduleNextCron();
+        } else if (!fixedDelay) {
+            scheduleNextRate();
+        }
+        if (!running.compareAndSet(false, true)) {
+            overruns.increment();
+            return;
+        }
+        try {
+            executor.execute(executeAction);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            running.set(false);
+            if (fixedDelay) {
+                reschedule(periodNanos);
+            }
+        }
+    }
+
+    private void execute() {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } catch (Throwable e) {
+            failures.increment();
+            System.err.println("定时任务 " + name + " 执行失败: " + e);
+        } finally {
+            long end = System.nanoTime();
+            duration.record(end - start);
+            runs.increment();
+            running.set(false);
+        }
+        if (fixedDelay) {
+            reschedule(periodNanos);
+        }
+    }
+
+    private void scheduleNextRate() {
+        long now = System.nanoTime();
+        long next = nextFireNanos + periodNanos;
+        if (next - now <= 0) {
+            // 落后超过一个周期：跳过错过的周期，对齐到下一个未来的计划点
+            long missed = (now - next) / periodNanos + 1;
+            next += missed * periodNanos;
+        }
+        nextFireNanos = next;
+        reschedule(next - now);
+    }
+
+    private void scheduleNextCron() {
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        ZonedDateTime from = lastCronTime != null && lastCronTime.isAfter(now) ? lastCronTime : now;
+        ZonedDateTime next = cron.next(from);
+        if (next == null) {
+            System.err.println("定时任务 " + name + " 的 cron 表达式 " + cron + " 没有后续触发时间");
+            return;
+        }
+        lastCronTime = next;
+        long delayMillis = next.toInstant().toEpochMilli() - Instant.now().toEpochMilli();
+        reschedule(delayMillis * 1_000_000L);
+    }
+
+    private void reschedule(long delayNanos) {
+        if (!cancelled) {
+            timeout = timer.newTimeout(fireAction, delayNanos);
+        }
+    }
+
+    /**
+     * 取消任务：不再触发，正在执行的一次不受影响
+     */
+    public void cancel() {
+        cancelled = true;
+        HashedWheelTimer.Timeout current = timeout;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRuns() {
+        return runs.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getOverruns() {
+        return overruns.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public LatencyHistogram getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,274 @@
+package com.gtan.spring.scheduling;
+
+import com.gtan.spring.annotation.Autowired;
+import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.EventListener;
+import com.gtan.spring.annotation.PostConstruct;
+import com.gtan.spring.annotation.Scheduled;
+import com.gtan.spring.annotation.Value;
+import com.gtan.spring.enumeration.ThreadMode;
+import com.gtan.spring.metrics.MetricsRegistry;
+import com.gtan.spring.metrics.MetricsSource;
+import com.gtan.spring.service.EnvironmentChangeEvent;
+import com.gtan.spring.web.HandlerInvoker;
+import com.gtan.spring.web.HandlerInvokerFactory;
+
+import java.lang.reflect.Method;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TaskScheduler - 定时任务调度器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>共享时钟</strong>：所有任务共用一个 {@link HashedWheelTimer} 线程计时，新增、取消、到期都是 O(1)，
+ *       注册上千个任务也只多出链表节点，不会为每个任务创建线程或 ScheduledFuture</li>
+ *   <li><strong>有界执行</strong>：到期任务交给固定大小的工作线程池（有界队列）或虚拟线程执行，
+ *       慢任务不会拖慢时钟，也不会无限堆积</li>
+ *   <li><strong>方法发现</strong>：BeanDefinition 构建时收集 @Scheduled 方法，ApplicationContext 在 Bean 初始化完成后调用
+ *       {@link #addScheduledMethods(Object, List)} 注册；方法通过 {@link HandlerInvokerFactory} 生成的调用器执行</li>
+ *   <li><strong>编程式注册</strong>：{@link #scheduleAtFixedRate}、{@link #scheduleWithFixedDelay}、{@link #schedule}
+ *       代替手工创建线程循环 sleep 的写法</li>
+ *   <li><strong>可观测性</strong>：每个任务的执行次数、失败次数、overrun、rejected 与耗时直方图通过 /metrics 导出</li>
+ * </ul>
+ *
+ * <p>配置（通过 Environment 读取，可写在 application.properties 中）：</p>
+ * <ul>
+ *   <li>gtan.scheduling.pool-size：平台线程模式下的工作线程数，默认 4；运行时刷新后立即调整线程池大小</li>
+ *   <li>gtan.scheduling.thread-mode：platform 或 virtual，默认 platform，启动后不再变化</li>
+ *   <li>gtan.scheduling.tick-millis：时间轮刻度（毫秒），默认 10，启动后不再变化</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-03
+ * @see Scheduled
+ * @see ScheduledTask
+ */
+@Component
+public class TaskScheduler implements MetricsSource {
+
+    public static final String POOL_SIZE_PROPERTY = "gtan.scheduling.pool-size";
+
+    public static final String THREAD_MODE_PROPERTY = "gtan.scheduling.thread-mode";
+
+    public static final String TICK_MILLIS_PROPERTY = "gtan.scheduling.tick-millis";
+
+    private static final int WHEEL_SIZE = 512;
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Value("${" + POOL_SIZE_PROPERTY + ":4}")
+    private int poolSize;
+
+    @Value("${" + THREAD_MODE_PROPERTY + ":platform}")
+    private ThreadMode threadMode;
+
+    @Value("${" + TICK_MILLIS_PROPERTY + ":10}")
+    private long tickMillis;
+
+    private HashedWheelTimer timer;
+
+    private ExecutorService executor;
+
+    private volatile List<ScheduledTask> tasks = List.of();
+
+    /**
+     * 按配置创建时间轮与工作线程池，并注册指标
+     */
+    @PostConstruct
+    public void init() {
+        this.timer = new HashedWheelTimer(TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis)), WHEEL_SIZE,
+                "scheduling-timer");
+        if (threadMode == ThreadMode.VIRTUAL) {
+            this.executor = threadMode.newExecutor("scheduling-");
+        } else {
+            int size = Math.max(1, poolSize);
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "scheduling-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+        }
+        metricsRegistry.addSource(this);
+    }
+
+    /**
+     * 配置刷新后调整平台线程模式下的工作线程数
+     *
+     * @param event 配置变化事件
+     */
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.keys().contains(POOL_SIZE_PROPERTY) && executor instanceof ThreadPoolExecutor pool) {
+            ManagedExecutor.resize(pool, Math.max(1, poolSize));
+        }
+    }
+
+    /**
+     * 注册 Bean 上的 @Scheduled 方法
+     *
+     * @param bean    方法所属 Bean
+     * @param methods 标注 @Scheduled 的方法
+     * @throws RuntimeException 方法带参数，或 fixedRate/fixedDelay/cron 没有恰好设置一个
+     */
+    public void addScheduledMethods(Object bean, List<Method> methods) {
+        for (Method method : methods) {
+            Scheduled scheduled = method.getAnnotation(Scheduled.class);
+            String name = bean.getClass().getSimpleName() + "." + method.getName();
+            if (method.getParameterCount() != 0) {
+                throw new RuntimeException("@Scheduled 方法不能有参数: " + name);
+            }
+            int modes = (scheduled.fixedRate() >= 0 ? 1 : 0) + (scheduled.fixedDelay() >= 0 ? 1 : 0)
+                    + (scheduled.cron().isEmpty() ? 0 : 1);
+            if (modes != 1) {
+                throw new RuntimeException("@Scheduled 必须且只能设置 fixedRate、fixedDelay、cron 之一: " + name);
+            }
+            HandlerInvoker invoker = HandlerInvokerFactory.create(method);
+            Object[] noArgs = new Object[0];
+            Runnable action = () -> {
+                try {
+                    invoker.invoke(bean, noArgs);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            };
+            if (!scheduled.cron().isEmpty()) {
+                ZoneId zone = scheduled.zone().isEmpty() ? ZoneId.systemDefault() : ZoneId.of(scheduled.zone());
+                schedule(name, action, scheduled.cron(), zone);
+            } else if (scheduled.fixedRate() >= 0) {
+                scheduleAtFixedRate(name, action, scheduled.initialDelay(), scheduled.fixedRate());
+            } else {
+                scheduleWithFixedDelay(name, action, scheduled.initialDelay(), scheduled.fixedDelay());
+            }
+        }
+    }
+
+    /**
+     * 按固定频率执行
+     *
+     * @param name           任务名（指标标签）
+     * @param action         任务
+     * @param initialDelayMs 首次延迟（毫秒）
+     * @param periodMs       周期（毫秒）
+     * @return 已注册的任务
+     */
+    public ScheduledTask scheduleAtFixedRate(String name, Runnable action, long initialDelayMs, long periodMs) {
+        return register(new ScheduledTask(name, action, timer, executor,
+                toPeriodNanos(name, periodMs), false, null, null), initialDelayMs);
+    }
+
+    /**
+     * 在上一次执行结束后间隔固定时间再执行
+     *
+     * @param name           任务名（指标标签）
+     * @param action         任务
+     * @param initialDelayMs 首次延迟（毫秒）
+     * @param delayMs        间隔（毫秒）
+     * @return 已注册的任务
+     */
+    public ScheduledTask scheduleWithFixedDelay(String name, Runnable action, long initialDelayMs, long delayMs) {
+        return register(new ScheduledTask(name, action, timer, executor,
+                toPeriodNanos(name, delayMs), true, null, null), initialDelayMs);
+    }
+
+    /**
+     * 按 cron 表达式执行（系统默认时区）
+     */
+    public ScheduledTask schedule(String name, Runnable action, String cron) {
+        return schedule(name, action, cron, ZoneId.systemDefault());
+    }
+
+    /**
+     * 按 cron 表达式执行
+     *
+     * @param name   任务名（指标标签）
+     * @param action 任务
+     * @param cron   cron 表达式
+     * @param zone   时区
+     * @return 已注册的任务
+     */
+    public ScheduledTask schedule(String name, Runnable action, String cron, ZoneId zone) {
+        return register(new ScheduledTask(name, action, timer, executor,
+                0, false, CronExpression.parse(cron), zone), 0);
+    }
+
+    private static long toPeriodNanos(String name, long periodMs) {
+        if (periodMs <= 0) {
+            throw new RuntimeException("定时任务 " + name + " 的周期必须大于 0");
+        }
+        return TimeUnit.MILLISECONDS.toNanos(periodMs);
+    }
+
+    private synchronized ScheduledTask register(ScheduledTask task, long initialDelayMs) {
+        List<ScheduledTask> updated = new ArrayList<>(tasks);
+        updated.add(task);
+        updated.sort(Comparator.comparing(ScheduledTask::getName));
+        tasks = List.copyOf(updated);
+        task.start(TimeUnit.MILLISECONDS.toNanos(Math.max(0, initialDelayMs)));
+        return task;
+    }
+
+    /**
+     * @return 已注册的任务（按名称排序，包括已取消的）
+     */
+    public List<ScheduledTask> getTasks() {
+        return tasks;
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        List<ScheduledTask> snapshot = tasks;
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        MetricsRegistry.writeHeader(out, "gtan_scheduled_task_runs_total", "counter",
+                "Completed executions of scheduled tasks.");
+        for (ScheduledTask task : snapshot) {
+            writeSample(out, "gtan_scheduled_task_runs_total", task, task.getRuns());
+        }
+        MetricsRegistry.writeHeader(out, "gtan_scheduled_task_failures_total", "counter",
+                "Scheduled task executions that threw an exception.");
+        for (ScheduledTask task : snapshot) {
+            writeSample(out, "gtan_scheduled_task_failures_total", task, task.getFailures());
+        }
+        MetricsRegistry.writeHeader(out, "gtan_scheduled_task_overruns_total", "counter",
+                "Scheduled task triggers skipped because the previous execution was still running.");
+        for (ScheduledTask task : snapshot) {
+            writeSample(out, "gtan_scheduled_task_overruns_total", task, task.getOverruns());
+        }
+        MetricsRegistry.writeHeader(out, "gtan_scheduled_task_rejected_total", "counter",
+                "Scheduled task triggers skipped because the worker pool queue was full.");
+        for (ScheduledTask task : snapshot) {
+            writeSample(out, "gtan_scheduled_task_rejected_total", task, task.getRejected());
+        }
+        MetricsRegistry.writeHeader(out, "gtan_scheduled_task_duration_seconds", "histogram",
+                "Scheduled task execution time.");
+        for (ScheduledTask task : snapshot) {
+            MetricsRegistry.writeHistogram(out, "gtan_scheduled_task_duration_seconds", "task",
+                    task.getName(), task.getDuration());
+        }
+    }
+
+    private static void writeSample(StringBuilder out, String name, ScheduledTask task, long value) {
+        out.append(name).append("{task=\"").append(MetricsRegistry.escape(task.getName())).append("\"} ")
+                .append(value).append('\n');
+    }
+}
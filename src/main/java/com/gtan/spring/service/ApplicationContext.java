@@ -2,7 +2,11 @@ package com.gtan.spring.service;
 
 import com.gtan.spring.annotation.Component;
 import com.gtan.spring.annotation.Autowired;
+import com.gtan.spring.annotation.ConditionalOnMissingBean;
+import com.gtan.spring.event.ApplicationEventMulticaster;
+import com.gtan.spring.scheduling.TaskScheduler;
 
+import java.beans.Introspector;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
@@ -17,9 +21,11 @@ import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ApplicationContext - 手写简化版 Spring IoC 容器核心实现
@@ -30,16 +36,20 @@ import java.util.Map;
  * <ul>
  *   <li><strong>组件扫描机制</strong>：通过扫描指定包路径，自动发现带有 @Component 注解的类</li>
  *   <li><strong>Bean 定义注册</strong>：将扫描到的类封装为 BeanDefinition，包含类的元数据信息</li>
- *   <li><strong>依赖注入</strong>：通过 @Autowired 注解实现自动装配，支持按类型注入</li>
+ *   <li><strong>依赖注入</strong>：通过 @Autowired 注解实现自动装配，支持按类型注入、@Qualifier/@Primary 消歧与 List/Map 集合注入，
+ *       候选 Bean 的解析结果缓存在注入点与类型缓存中</li>
+ *   <li><strong>配置注入</strong>：依赖注入阶段由 Environment 注入 @Value 字段、绑定 @ConfigurationProperties Bean</li>
  *   <li><strong>生命周期管理</strong>：支持 @PostConstruct 注解的初始化方法回调</li>
  *   <li><strong>Bean 后置处理器</strong>：实现 BeanPostProcessor 接口，支持 Bean 初始化前后的增强处理</li>
+ *   <li><strong>事件监听</strong>：Bean 初始化完成后将 @EventListener 方法注册到 ApplicationEventMulticaster</li>
+ *   <li><strong>定时任务</strong>：Bean 初始化完成后将 @Scheduled 方法注册到 TaskScheduler</li>
  *   <li><strong>单例模式</strong>：默认采用单例模式管理 Bean 实例，确保线程安全</li>
  * </ul>
  * 
  * <p>核心工作流程：</p>
  * <ol>
  *   <li><strong>扫描阶段</strong>：递归扫描指定包下的所有 .class 文件</li>
- *   <li><strong>过滤阶段</strong>：识别带有 @Component 注解的类，过滤出需要管理的 Bean</li>
+ *   <li><strong>过滤阶段</strong>：识别带有 @Component 注解的类，按 @Profile 与 @ConditionalOn* 条件过滤出需要管理的 Bean</li>
  *   <li><strong>注册阶段</strong>：为每个符合条件的类创建 BeanDefinition 并注册</li>
  *   <li><strong>实例化阶段</strong>：根据 BeanDefinition 创建 Bean 实例</li>
  *   <li><strong>注入阶段</strong>：处理 @Autowired 注解，完成依赖注入</li>
@@ -91,6 +101,21 @@ public class ApplicationContext {
      */
     private List<BeanPostProcessor> beanPostProcessors = new ArrayList<>();
 
+    /**
+     * 组件注册条件判断器，在 initContext 开始时创建
+     */
+    private ConditionEvaluator conditionEvaluator;
+
+    /**
+     * 类型到唯一 Bean 名称的解析缓存，注册新 BeanDefinition 时清空
+     */
+    private final Map<Class<?>, String> beanNameByType = new ConcurrentHashMap<>();
+
+    /**
+     * 类型到全部兼容 Bean 名称（已排序）的缓存，注册新 BeanDefinition 时清空
+     */
+    private final Map<Class<?>, List<String>> candidateNamesByType = new ConcurrentHashMap<>();
+
     /**
      * 构造器：接受根包名，启动容器初始化
      *
@@ -125,16 +150,22 @@ public class ApplicationContext {
     /**
      * 根据类型获取单个 Bean 实例
      *
+     * <p>多个 Bean 匹配时选择唯一的 @Primary Bean，无法确定时抛出异常；解析结果按类型缓存。</p>
+     *
      * @param beanType Bean 的 Class 类型
      * @param <T>      泛型
-     * @return 匹配的 Bean 实例或 null
+     * @return 匹配的 Bean 实例，没有匹配时返回 null
+     * @throws RuntimeException 存在多个匹配的 Bean 且无法确定唯一的 @Primary Bean
      */
     public <T> T getBean(Class<T> beanType) {
-        String beanName = this.beanDefinitionMap.values().stream()
-                .filter(beanDefinition -> beanType.isAssignableFrom(beanDefinition.getBeanType()))
-                .map(BeanDefinition::getName)
-                .findFirst()
-                .orElse(null);
+        String beanName = beanNameByType.get(beanType);
+        if (beanName == null) {
+            beanName = determineCandidate(beanType, getCandidateNames(beanType), null, beanType.getName());
+            if (beanName == null) {
+                return null;
+            }
+            beanNameByType.put(beanType, beanName);
+        }
         return (T) getBean(beanName);
     }
 
@@ -143,17 +174,95 @@ public class ApplicationContext {
      *
      * @param beanType Bean 的 Class 类型
      * @param <T>      泛型
-     * @return Bean 实例列表
+     * @return Bean 实例列表，按 @Order、Bean 名称排序
      */
     public <T> List<T> getBeans(Class<T> beanType) {
-        return this.beanDefinitionMap.values().stream()
-                .filter(beanDefinition -> beanType.isAssignableFrom(beanDefinition.getBeanType()))
-                .map(BeanDefinition::getName)
+        return getCandidateNames(beanType).stream()
                 .map(this::getBean)
                 .map(bean -> (T) bean)
                 .toList();
     }
 
+    /**
+     * 获取与类型兼容的全部 Bean 名称，按 @Order、Bean 名称排序，结果按类型缓存
+     *
+     * @param beanType Bean 类型
+     * @return Bean 名称列表
+     */
+    private List<String> getCandidateNames(Class<?> beanType) {
+        List<String> names = candidateNamesByType.get(beanType);
+        if (names == null) {
+            names = beanDefinitionMap.values().stream()
+                    .filter(beanDefinition -> beanType.isAssignableFrom(beanDefinition.getBeanType()))
+                    .sorted(Comparator.comparingInt(BeanDefinition::getOrder).thenComparing(BeanDefinition::getName))
+                    .map(BeanDefinition::getName)
+                    .toList();
+            candidateNamesByType.put(beanType, names);
+        }
+        return names;
+    }
+
+    /**
+     * 从多个候选中确定唯一的 Bean：@Primary 优先，其次名称与字段名相同（忽略首字母大小写）的 Bean
+     *
+     * @param beanType   Bean 类型
+     * @param candidates 候选 Bean 名称
+     * @param fieldName  字段名，按类型查找时为 null
+     * @param target     用于异常信息的注入目标描述
+     * @return Bean 名称，没有候选时返回 null
+     * @throws RuntimeException 无法确定唯一的 Bean
+     */
+    private String determineCandidate(Class<?> beanType, List<String> candidates, String fieldName, String target) {
+        if (candidates.size() <= 1) {
+            return candidates.isEmpty() ? null : candidates.get(0);
+        }
+        List<String> primaries = candidates.stream()
+                .filter(name -> beanDefinitionMap.get(name).isPrimary())
+                .toList();
+        if (primaries.size() == 1) {
+            return primaries.get(0);
+        }
+        if (primaries.isEmpty() && fieldName != null) {
+            // Bean 名称默认为类的简单名，字段名按首字母小写形式匹配
+            List<String> named = candidates.stream()
+                    .filter(name -> name.equals(fieldName) || Introspector.decapitalize(name).equals(fieldName))
+                    .toList();
+            if (named.size() == 1) {
+                return named.get(0);
+            }
+        }
+        throw new RuntimeException("类型 " + beanType.getName() + " 存在多个 Bean " + (primaries.isEmpty() ? candidates : primaries)
+                + "，无法确定注入 " + target + " 的 Bean，请使用 @Qualifier 或 @Primary");
+    }
+
+    /**
+     * 解析注入点的候选 Bean 名称：@Qualifier 指定的 Bean、集合注入的全部 Bean 或唯一确定的单个 Bean
+     *
+     * @param injectionPoint 注入点
+     * @return 候选 Bean 名称
+     */
+    private List<String> resolveCandidateNames(InjectionPoint injectionPoint) {
+        String qualifier = injectionPoint.getQualifier();
+        if (qualifier != null) {
+            BeanDefinition beanDefinition = beanDefinitionMap.get(qualifier);
+            if (beanDefinition == null) {
+                throw new RuntimeException("@Qualifier 指定的 Bean " + qualifier + " 不存在: " + injectionPoint.describe());
+            }
+            if (!injectionPoint.getBeanType().isAssignableFrom(beanDefinition.getBeanType())) {
+                throw new RuntimeException("@Qualifier 指定的 Bean " + qualifier + " 的类型 "
+                        + beanDefinition.getBeanType().getName() + " 与字段不兼容: " + injectionPoint.describe());
+            }
+            return List.of(qualifier);
+        }
+        List<String> candidates = getCandidateNames(injectionPoint.getBeanType());
+        if (injectionPoint.isCollection()) {
+            return candidates;
+        }
+        String beanName = determineCandidate(injectionPoint.getBeanType(), candidates,
+                injectionPoint.getField().getName(), injectionPoint.describe());
+        return beanName == null ? List.of() : List.of(beanName);
+    }
+
     /**
      * 核心初始化流程
      *
@@ -161,10 +270,25 @@ public class ApplicationContext {
      * @throws Exception 扫描或反射操作异常
      */
     public void initContext(String packageName) throws Exception {
-        // 1. 扫描包并生成 BeanDefinition
-        scanPackage(packageName).stream()
-                .filter(this::canCreate)
-                .forEach(this::wrapper);
+        conditionEvaluator = new ConditionEvaluator(new Environment());
+        // 1. 扫描包并生成 BeanDefinition，@ConditionalOnMissingBean 组件等其余组件注册完后按类名顺序判断
+        List<Class<?>> deferred = new ArrayList<>();
+        for (Class<?> type : scanPackage(packageName)) {
+            if (!canCreate(type)) {
+                continue;
+            }
+            if (type.isAnnotationPresent(ConditionalOnMissingBean.class)) {
+                deferred.add(type);
+            } else {
+                wrapper(type);
+            }
+        }
+        deferred.sort(Comparator.comparing(Class::getName));
+        for (Class<?> type : deferred) {
+            if (conditionEvaluator.isMissingBean(type, beanDefinitionMap.values())) {
+                wrapper(type);
+            }
+        }
         // 2. 初始化 BeanPostProcessor
         initBeanPostProcessor();
         // 3. 实例化所有 Bean
@@ -216,13 +340,13 @@ public class ApplicationContext {
     }
 
     /**
-     * 判断类是否带有 @Component 注解
+     * 判断类是否带有 @Component 注解，且满足 @Profile、@ConditionalOnProperty、@ConditionalOnClass 条件
      *
      * @param type 要检查的 Class
-     * @return 如果标注 Component 则返回 true
+     * @return 如果标注 Component 且条件满足则返回 true
      */
     protected boolean canCreate(Class<?> type) {
-        return type.isAnnotationPresent(Component.class);
+        return type.isAnnotationPresent(Component.class) && conditionEvaluator.matches(type);
     }
 
     /**
@@ -237,6 +361,8 @@ public class ApplicationContext {
             throw new RuntimeException("Duplicate bean name: " + beanDefinition.getName());
         }
         beanDefinitionMap.put(beanDefinition.getName(), beanDefinition);
+        beanNameByType.clear();
+        candidateNamesByType.clear();
         return beanDefinition;
     }
 
@@ -269,7 +395,15 @@ public class ApplicationContext {
             // 2. 属性注入
             autowiredBean(bean, beanDefinition);
             // 3. 初始化前后钩子及 PostConstruct 方法
+            Object target = bean;
             bean = initializeBean(bean, beanDefinition);
+            // 注册事件监听方法（在原始对象上调用，不经过后置处理器返回的代理）
+            if (!beanDefinition.getEventListenerMethods().isEmpty()) {
+                getBean(ApplicationEventMulticaster.class).addListeners(target, beanDefinition.getEventListenerMethods());
+            }
+            if (!beanDefinition.getScheduledMethods().isEmpty()) {
+                getBean(TaskScheduler.class).addScheduledMethods(target, beanDefinition.getScheduledMethods());
+            }
             // 4. 注册到单例缓存
             loadingIoc.remove(beanDefinition.getName());
             ioc.put(beanDefinition.getName(), bean);
@@ -301,12 +435,24 @@ public class ApplicationContext {
     }
 
     /**
-     * 执行字段注入，将所有 @Autowired 字段设置为对应 Bean 实例
+     * 执行字段注入，按注入点缓存的候选 Bean 名称设置 @Autowired 字段，并注入 @Value 与 @ConfigurationProperties 配置
      */
     private void autowiredBean(Object bean, BeanDefinition beanDefinition) throws IllegalAccessException {
-        for (Field autowiredField : beanDefinition.getAutowiredFields()) {
-            autowiredField.setAccessible(true);
-            autowiredField.set(bean, getBean(autowiredField.getType()));
+        for (InjectionPoint injectionPoint : beanDefinition.getInjectionPoints()) {
+            if (injectionPoint.getCandidateNames() == null) {
+                injectionPoint.setCandidateNames(resolveCandidateNames(injectionPoint));
+            }
+            injectionPoint.inject(bean, this::getBean);
+        }
+        String prefix = beanDefinition.getConfigurationPropertiesPrefix();
+        if (!beanDefinition.getValueFields().isEmpty() || prefix != null) {
+            Environment environment = getBean(Environment.class);
+            if (!beanDefinition.getValueFields().isEmpty()) {
+                environment.injectValues(bean, beanDefinition.getValueFields());
+            }
+            if (prefix != null) {
+                environment.bindConfigurationProperties(prefix, bean);
+            }
         }
     }
 
@@ -2,7 +2,13 @@ package com.gtan.spring.service;
 
 import com.gtan.spring.annotation.Autowired;
 import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.ConfigurationProperties;
+import com.gtan.spring.annotation.EventListener;
+import com.gtan.spring.annotation.Order;
 import com.gtan.spring.annotation.PostConstruct;
+import com.gtan.spring.annotation.Primary;
+import com.gtan.spring.annotation.Scheduled;
+import com.gtan.spring.annotation.Value;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -20,8 +26,12 @@ import java.util.List;
  *   <li><strong>Bean 类型信息</strong>：存储 Bean 的 Class 对象，用于反射实例化</li>
  *   <li><strong>Bean 名称</strong>：唯一标识符，用于容器中的 Bean 查找</li>
  *   <li><strong>实例化策略</strong>：存储无参构造函数，支持反射创建实例</li>
- *   <li><strong>依赖注入点</strong>：收集所有 @Autowired 字段，实现自动装配</li>
+ *   <li><strong>依赖注入点</strong>：收集所有 @Autowired 字段并解析为 {@link InjectionPoint}，候选 Bean 解析结果缓存在注入点上</li>
+ *   <li><strong>候选优先级</strong>：记录 @Primary 标记与 @Order 顺序，用于按类型查找时确定唯一 Bean 及集合注入的顺序</li>
+ *   <li><strong>配置注入点</strong>：收集所有 @Value 字段及类上的 @ConfigurationProperties 前缀</li>
  *   <li><strong>生命周期回调</strong>：存储 @PostConstruct 方法，支持初始化回调</li>
+ *   <li><strong>事件监听</strong>：收集 @EventListener 方法，Bean 初始化后注册到事件总线</li>
+ *   <li><strong>定时任务</strong>：收集 @Scheduled 方法，Bean 初始化后注册到任务调度器</li>
  * </ul>
  * 
  * <p>构建过程：</p>
@@ -29,7 +39,10 @@ import java.util.List;
  *   <li>通过反射提取 @Component 注解的 name 属性作为 Bean 名称</li>
  *   <li>获取无参构造函数用于实例化（要求必须有 public 无参构造）</li>
  *   <li>扫描所有字段收集 @Autowired 注解的依赖注入点</li>
+ *   <li>扫描所有字段收集 @Value 注解的配置注入点，读取 @ConfigurationProperties 前缀</li>
  *   <li>扫描所有方法收集 @PostConstruct 生命周期回调方法</li>
+ *   <li>扫描所有方法收集 @EventListener 事件监听方法</li>
+ *   <li>扫描所有方法收集 @Scheduled 定时任务方法</li>
  * </ol>
  * 
  * <p>异常处理：</p>
@@ -74,11 +87,46 @@ public class BeanDefinition {
      */
     private final List<Field> autowiredFields;
 
+    /**
+     * 由 @Autowired 字段解析出的注入点，与 autowiredFields 一一对应
+     */
+    private final List<InjectionPoint> injectionPoints;
+
+    /**
+     * 是否标注 @Primary
+     */
+    private final boolean primary;
+
+    /**
+     * @Order 顺序值，未标注时为 Integer.MAX_VALUE
+     */
+    private final int order;
+
+    /**
+     * 标注了 @Value 的字段列表，在依赖注入阶段从 Environment 解析并注入
+     */
+    private final List<Field> valueFields;
+
+    /**
+     * @ConfigurationProperties 的配置前缀，没有标注时为 null
+     */
+    private final String configurationPropertiesPrefix;
+
     /**
      * 标注了 @PostConstruct 的方法，在 Bean 实例化并注入完成后执行
      */
     private final Method postConstructMethod;
 
+    /**
+     * 标注了 @EventListener 的方法列表，Bean 初始化完成后注册到事件总线
+     */
+    private final List<Method> eventListenerMethods;
+
+    /**
+     * 标注了 @Scheduled 的方法列表，Bean 初始化完成后注册到任务调度器
+     */
+    private final List<Method> scheduledMethods;
+
     /**
      * 构造一个 BeanDefinition，提取类型上的 @Component 配置及注入点信息
      *
@@ -90,6 +138,9 @@ public class BeanDefinition {
         // 提取 Component 注解及其 name
         Component component = type.getDeclaredAnnotation(Component.class);
         this.name = component.name().isEmpty() ? type.getSimpleName() : component.name();
+        this.primary = type.isAnnotationPresent(Primary.class);
+        Order orderAnnotation = type.getAnnotation(Order.class);
+        this.order = orderAnnotation != null ? orderAnnotation.value() : Integer.MAX_VALUE;
         try {
             // 反射获取无参构造器
             this.constructor = type.getConstructor();
@@ -102,6 +153,23 @@ public class BeanDefinition {
             this.autowiredFields = Arrays.stream(type.getDeclaredFields())
                     .filter(field -> field.isAnnotationPresent(Autowired.class))
                     .toList();
+            this.injectionPoints = autowiredFields.stream()
+                    .map(InjectionPoint::new)
+                    .toList();
+            // 查找所有 @Value 字段
+            this.valueFields = Arrays.stream(type.getDeclaredFields())
+                    .filter(field -> field.isAnnotationPresent(Value.class))
+                    .toList();
+            ConfigurationProperties properties = type.getDeclaredAnnotation(ConfigurationProperties.class);
+            this.configurationPropertiesPrefix = properties != null ? properties.prefix() : null;
+            // 查找所有 @EventListener 方法
+            this.eventListenerMethods = Arrays.stream(type.getDeclaredMethods())
+                    .filter(method -> method.isAnnotationPresent(EventListener.class))
+                    .toList();
+            // 查找所有 @Scheduled 方法
+            this.scheduledMethods = Arrays.stream(type.getDeclaredMethods())
+                    .filter(method -> method.isAnnotationPresent(Scheduled.class))
+                    .toList();
         } catch (NoSuchMethodException e) {
             throw new RuntimeException("Bean class must have a public no-arg constructor", e);
         }
@@ -135,6 +203,41 @@ public class BeanDefinition {
         return autowiredFields;
     }
 
+    /**
+     * @return 依赖注入点列表
+     */
+    public List<InjectionPoint> getInjectionPoints() {
+        return injectionPoints;
+    }
+
+    /**
+     * @return 是否标注 @Primary
+     */
+    public boolean isPrimary() {
+        return primary;
+    }
+
+    /**
+     * @return @Order 顺序值，未标注时为 Integer.MAX_VALUE
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * @return 需要注入配置值的字段列表
+     */
+    public List<Field> getValueFields() {
+        return valueFields;
+    }
+
+    /**
+     * @return @ConfigurationProperties 配置前缀，没有标注时为 null
+     */
+    public String getConfigurationPropertiesPrefix() {
+        return configurationPropertiesPrefix;
+    }
+
     /**
      * @return 在实例化及注入后需要执行的生命周期方法，可能为 null
      */
@@ -142,4 +245,18 @@ public class BeanDefinition {
         return postConstructMethod;
     }
 
+    /**
+     * @return 事件监听方法列表，没有时为空列表
+     */
+    public List<Method> getEventListenerMethods() {
+        return eventListenerMethods;
+    }
+
+    /**
+     * @return 定时任务方法列表，没有时为空列表
+     */
+    public List<Method> getScheduledMethods() {
+        return scheduledMethods;
+    }
+
 }
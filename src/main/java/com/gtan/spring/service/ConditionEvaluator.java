@@ -0,0 +1,141 @@
+package com.gtan.spring.service;
+
+import com.gtan.spring.annotation.ConditionalOnClass;
+import com.gtan.spring.annotation.ConditionalOnMissingBean;
+import com.gtan.spring.annotation.ConditionalOnProperty;
+import com.gtan.spring.annotation.Profile;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * ConditionEvaluator - 组件注册条件判断
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>判断时机</strong>：在组件扫描阶段、生成 BeanDefinition 之前判断，不满足条件的类不进入
+ *       beanDefinitionMap，因此不会被实例化、不会经过 BeanPostProcessor，也不会被按类型查找到</li>
+ *   <li><strong>配置来源</strong>：此时容器中还没有任何 Bean，使用独立创建的 {@link Environment} 读取配置，
+ *       配置来源与优先级和容器中的 Environment Bean 相同</li>
+ *   <li><strong>判断顺序</strong>：@Profile、@ConditionalOnProperty、@ConditionalOnClass 只依赖配置与类路径，
+ *       扫描时逐个判断；@ConditionalOnMissingBean 依赖其他 BeanDefinition，由 ApplicationContext 在其余组件注册完之后判断</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-06
+ * @see ApplicationContext
+ * @see Profile
+ * @see ConditionalOnProperty
+ * @see ConditionalOnClass
+ * @see ConditionalOnMissingBean
+ */
+public class ConditionEvaluator {
+
+    public static final String ACTIVE_PROFILES_PROPERTY = "gtan.profiles.active";
+
+    public static final String DEFAULT_PROFILE = "default";
+
+    private final Environment environment;
+
+    private final Set<String> activeProfiles;
+
+    /**
+     * @param environment 用于读取配置的 Environment
+     */
+    public ConditionEvaluator(Environment environment) {
+        this.environment = environment;
+        Set<String> profiles = Arrays.stream(environment.getProperty(ACTIVE_PROFILES_PROPERTY, "").split(","))
+                .map(String::trim)
+                .filter(profile -> !profile.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.activeProfiles = profiles.isEmpty() ? Set.of(DEFAULT_PROFILE) : profiles;
+    }
+
+    /**
+     * 判断 @Profile、@ConditionalOnProperty、@ConditionalOnClass 条件
+     *
+     * @param type 组件类
+     * @return 是否满足全部条件（没有条件注解时返回 true）
+     */
+    public boolean matches(Class<?> type) {
+        Profile profile = type.getDeclaredAnnotation(Profile.class);
+        if (profile != null && !matchesProfile(profile.value())) {
+            return false;
+        }
+        ConditionalOnProperty onProperty = type.getDeclaredAnnotation(ConditionalOnProperty.class);
+        if (onProperty != null && !matchesProperty(onProperty)) {
+            return false;
+        }
+        ConditionalOnClass onClass = type.getDeclaredAnnotation(ConditionalOnClass.class);
+        return onClass == null || isPresent(onClass.value(), type.getClassLoader());
+    }
+
+    /**
+     * 判断 @ConditionalOnMissingBean 条件
+     *
+     * @param type       组件类
+     * @param registered 已注册的 BeanDefinition
+     * @return 已注册的 Bean 中没有与指定类型兼容的 Bean 时返回 true
+     */
+    public boolean isMissingBean(Class<?> type, Collection<BeanDefinition> registered) {
+        ConditionalOnMissingBean onMissingBean = type.getDeclaredAnnotation(ConditionalOnMissingBean.class);
+        Class<?>[] beanTypes = onMissingBean == null || onMissingBean.value().length == 0
+                ? new Class<?>[]{type} : onMissingBean.value();
+        for (BeanDefinition beanDefinition : registered) {
+            if (beanDefinition.getBeanType() == type) {
+                continue;
+            }
+            for (Class<?> beanType : beanTypes) {
+                if (beanType.isAssignableFrom(beanDefinition.getBeanType())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 激活的 profile，未配置时为 default
+     */
+    public Set<String> getActiveProfiles() {
+        return activeProfiles;
+    }
+
+    private boolean matchesProfile(String[] profiles) {
+        for (String profile : profiles) {
+            String name = profile.trim();
+            boolean matched = name.startsWith("!")
+                    ? !activeProfiles.contains(name.substring(1).trim())
+                    : activeProfiles.contains(name);
+            if (matched) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesProperty(ConditionalOnProperty onProperty) {
+        String value = environment.getProperty(onProperty.name());
+        if (value == null) {
+            return onProperty.matchIfMissing();
+        }
+        if (onProperty.havingValue().isEmpty()) {
+            return !"false".equalsIgnoreCase(value.trim());
+        }
+        return onProperty.havingValue().equalsIgnoreCase(value.trim());
+    }
+
+    private static boolean isPresent(String[] classNames, ClassLoader classLoader) {
+        for (String className : classNames) {
+            try {
+                Class.forName(className, false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
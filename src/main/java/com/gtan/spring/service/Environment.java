@@ -0,0 +1,549 @@
+package com.gtan.spring.service;
+
+import com.gtan.spring.annotation.Autowired;
+import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.PostConstruct;
+import com.gtan.spring.annotation.Value;
+import com.gtan.spring.event.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Environment - 外部化配置源
+ *
+ * <p>底层原理说明：</p>
+ * <p>按以下优先级（从低到高）合并配置，后者覆盖前者：</p>
+ * <ol>
+ *   <li>类路径下的 application.properties</li>
+ *   <li>外部配置文件：系统属性 gtan.config.location（或环境变量 GTAN_CONFIG_LOCATION）指定的 properties 文件</li>
+ *   <li>操作系统环境变量：配置项 server.max-threads 对应环境变量 SERVER_MAX_THREADS</li>
+ *   <li>JVM 系统属性：-Dserver.max-threads=400</li>
+ *   <li>运行时通过 {@link #setProperty(String, String)} 设置的值</li>
+ * </ol>
+ *
+ * <p>类型绑定：</p>
+ * <ul>
+ *   <li>{@link #bind(String, Object)} 将 前缀.短横线名称 形式的配置项绑定到对象同名的驼峰字段上
+ *       （如 server.max-threads → maxThreads）</li>
+ *   <li>{@link #injectValues(Object, List)} 解析 @Value 表达式中的 ${key} 与 ${key:默认值} 占位符并注入字段</li>
+ *   <li>支持 String、基本类型及其包装类型、枚举（忽略大小写）、逗号分隔的 List/Set&lt;String&gt;</li>
+ *   <li>没有对应配置项的字段保留默认值（刷新时配置项被删除的字段恢复为默认值）；
+ *       static、final、@Autowired 和 @Value 字段不参与前缀绑定</li>
+ * </ul>
+ *
+ * <p>缓存：</p>
+ * <ul>
+ *   <li>配置值按 key 缓存（包括不存在的 key），重复读取不再查询系统属性与环境变量</li>
+ *   <li>字符串到目标类型的转换器按类型缓存，前缀绑定的字段列表与配置 key 按类缓存</li>
+ * </ul>
+ *
+ * <p>运行时刷新：</p>
+ * <ul>
+ *   <li>{@link #refresh()} 重新加载配置文件、清空值缓存，对比所有读取过的 key 得到变化集合，
+ *       重新注入受影响的 @Value 字段与 @ConfigurationProperties Bean，然后发布 {@link EnvironmentChangeEvent}</li>
+ *   <li>刷新分两阶段：先转换全部配置值，全部成功后才写入字段；失败时恢复旧配置，不会出现部分字段已更新的状态</li>
+ *   <li>配置了外部配置文件时，后台线程通过 WatchService 监听该文件，修改后自动刷新</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-23
+ * @see ApplicationContext
+ * @see Value
+ * @see com.gtan.spring.annotation.ConfigurationProperties
+ */
+@Component
+public class Environment {
+
+    public static final String CONFIG_FILE = "application.properties";
+
+    public static final String CONFIG_LOCATION_PROPERTY = "gtan.config.location";
+
+    /**
+     * 缓存中表示「配置项不存在」的标记值，按引用比较
+     */
+    private static final String MISSING = new String("<missing>");
+
+    private static final Map<Class<?>, Function<String, Object>> CONVERTERS = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Path externalConfigFile;
+
+    private volatile Properties fileProperties;
+
+    private final Map<String, String> overrides = new ConcurrentHashMap<>();
+
+    /**
+     * 配置值缓存，刷新时整体替换
+     */
+    private volatile Map<String, String> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 前缀绑定的字段元数据，按类缓存
+     */
+    private final Map<Class<?>, List<PropertyField>> propertyFields = new ConcurrentHashMap<>();
+
+    /**
+     * 刷新时需要重新执行的绑定：先读取并转换配置值（可能失败），返回只负责写字段的赋值操作
+     */
+    private final List<Supplier<Runnable>> refreshableBindings = new CopyOnWriteArrayList<>();
+
+    /**
+     * 前缀绑定的一个字段
+     *
+     * @param field     字段
+     * @param name      短横线形式的配置名（不含前缀）
+     * @param converter 类型转换器
+     */
+    private record PropertyField(Field field, String name, Function<String, Object> converter) {
+    }
+
+    public Environment() {
+        String location = System.getProperty(CONFIG_LOCATION_PROPERTY,
+                System.getenv(toEnvironmentVariableName(CONFIG_LOCATION_PROPERTY)));
+        this.externalConfigFile = location == null || location.isBlank() ? null : Path.of(location).toAbsolutePath();
+        this.fileProperties = loadConfigFiles();
+    }
+
+    /**
+     * 配置了外部配置文件时启动监听线程
+     */
+    @PostConstruct
+    public void watchConfigFile() {
+        if (externalConfigFile == null || externalConfigFile.getParent() == null) {
+            return;
+        }
+        try {
+            WatchService watchService = externalConfigFile.getFileSystem().newWatchService();
+            externalConfigFile.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            Thread watcher = new Thread(() -> watch(watchService), "config-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        } catch (IOException e) {
+            System.err.println("无法监听配置文件 " + externalConfigFile + ": " + e);
+        }
+    }
+
+    /**
+     * 获取配置项
+     *
+     * @param key 配置项名称（如 server.port）
+     * @return 配置值，不存在时返回 null
+     */
+    public String getProperty(String key) {
+        Map<String, String> current = cache;
+        String value = current.get(key);
+        if (value == null) {
+            value = lookup(key);
+            current.putIfAbsent(key, value);
+        }
+        return value == MISSING ? null : value;
+    }
+
+    /**
+     * 获取配置项，不存在时返回默认值
+     *
+     * @param key          配置项名称
+     * @param defaultValue 默认值
+     * @return 配置值
+     */
+    public String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * 判断是否存在配置项
+     *
+     * @param key 配置项名称
+     * @return 是否存在
+     */
+    public boolean containsProperty(String key) {
+        return getProperty(key) != null;
+    }
+
+    /**
+     * 设置运行时配置（最高优先级）并立即刷新
+     *
+     * @param key   配置项名称
+     * @param value 配置值，为 null 时移除运行时配置
+     * @return 值发生变化的配置项
+     */
+    public synchronized Set<String> setProperty(String key, String value) {
+        String previous = value == null ? overrides.remove(key) : overrides.put(key, value);
+        try {
+            return refresh();
+        } catch (RuntimeException e) {
+            if (previous == null) {
+                overrides.remove(key);
+            } else {
+                overrides.put(key, previous);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 解析文本中的 ${key} 与 ${key:默认值} 占位符
+     *
+     * @param text 文本
+     * @return 解析结果
+     * @throws RuntimeException 占位符没有配置值也没有默认值
+     */
+    public String resolvePlaceholders(String text) {
+        int start = text.indexOf("${");
+        if (start < 0) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length() + 16);
+        int position = 0;
+        while (start >= 0) {
+            int end = text.indexOf('}', start);
+            if (end < 0) {
+                throw new IllegalArgumentException("占位符缺少结束符 }: " + text);
+            }
+            sb.append(text, position, start);
+            String placeholder = text.substring(start + 2, end);
+            int colon = placeholder.indexOf(':');
+            String key = (colon >= 0 ? placeholder.substring(0, colon) : placeholder).trim();
+            String value = getProperty(key);
+            if (value == null) {
+                if (colon < 0) {
+                    throw new RuntimeException("无法解析配置项 ${" + key + "}");
+                }
+                value = placeholder.substring(colon + 1);
+            }
+            sb.append(value);
+            position = end + 1;
+            start = text.indexOf("${", position);
+        }
+        sb.append(text, position, text.length());
+        return sb.toString();
+    }
+
+    /**
+     * 将指定前缀下的配置项绑定到目标对象的字段上
+     *
+     * @param prefix 配置前缀（如 server）
+     * @param target 目标对象
+     * @throws RuntimeException 配置值无法转换为字段类型时抛出
+     */
+    public void bind(String prefix, Object target) {
+        prepareBind(prefix, target, null).run();
+    }
+
+    /**
+     * 读取并转换前缀下的全部配置值，返回写入字段的操作；转换失败时不修改任何字段
+     *
+     * @param defaults 首次绑定前的字段值，不为 null 时配置项不存在的字段恢复为该值
+     */
+    private Runnable prepareBind(String prefix, Object target, Map<Field, Object> defaults) {
+        List<PropertyField> properties = propertyFields.computeIfAbsent(target.getClass(), Environment::scanFields);
+        List<Runnable> assignments = new ArrayList<>(properties.size());
+        for (PropertyField property : properties) {
+            String key = prefix + "." + property.name();
+            String value = getProperty(key);
+            if (value != null) {
+                Object converted = convertField(property.field(), key, value.trim(), property.converter());
+                assignments.add(() -> assign(target, property.field(), converted));
+            } else if (defaults != null) {
+                Object defaultValue = defaults.get(property.field());
+                assignments.add(() -> assign(target, property.field(), defaultValue));
+            }
+        }
+        return () -> assignments.forEach(Runnable::run);
+    }
+
+    /**
+     * 绑定 @ConfigurationProperties Bean，并在刷新时重新绑定
+     *
+     * <p>首次绑定前记录字段初始值，刷新时配置项已被删除的字段恢复为初始值。</p>
+     *
+     * @param prefix 配置前缀
+     * @param target Bean 实例
+     */
+    public void bindConfigurationProperties(String prefix, Object target) {
+        Map<Field, Object> defaults = new HashMap<>();
+        for (PropertyField property : propertyFields.computeIfAbsent(target.getClass(), Environment::scanFields)) {
+            try {
+                defaults.put(property.field(), property.field().get(target));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        bind(prefix, target);
+        refreshableBindings.add(() -> prepareBind(prefix, target, defaults));
+    }
+
+    /**
+     * 注入 @Value 字段，并在刷新时重新注入
+     *
+     * @param target Bean 实例
+     * @param fields 标注 @Value 的字段
+     * @throws RuntimeException 占位符无法解析或值无法转换为字段类型
+     */
+    public void injectValues(Object target, List<Field> fields) {
+        List<Supplier<Runnable>> injections = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            String expression = field.getAnnotation(Value.class).value();
+            Function<String, Object> converter = converterFor(field.getType());
+            field.setAccessible(true);
+            Supplier<Runnable> injection = () -> {
+                Object converted = convertField(field, expression, resolvePlaceholders(expression), converter);
+                return () -> assign(target, field, converted);
+            };
+            injection.get().run();
+            injections.add(injection);
+        }
+        refreshableBindings.add(() -> {
+            List<Runnable> assignments = injections.stream().map(Supplier::get).toList();
+            return () -> assignments.forEach(Runnable::run);
+        });
+    }
+
+    /**
+     * 重新加载配置文件并刷新所有 @Value 字段与 @ConfigurationProperties Bean
+     *
+     * <p>先完成全部绑定的读取与类型转换，全部成功后才写入字段并发布事件；任何一个绑定失败时恢复旧配置并抛出异常，
+     * 字段保持不变，下次刷新会重新比较并重试。</p>
+     *
+     * @return 值发生变化的配置项（只包含读取过的配置项）
+     * @throws RuntimeException 配置值无法转换为字段类型或占位符无法解析
+     */
+    public synchronized Set<String> refresh() {
+        Properties previousFileProperties = fileProperties;
+        Map<String, String> previous = cache;
+        fileProperties = loadConfigFiles();
+        cache = new ConcurrentHashMap<>();
+        Set<String> changed = new TreeSet<>();
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            String before = entry.getValue() == MISSING ? null : entry.getValue();
+            if (!Objects.equals(before, getProperty(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        if (changed.isEmpty()) {
+            return changed;
+        }
+        List<Runnable> assignments = new ArrayList<>(refreshableBindings.size());
+        try {
+            for (Supplier<Runnable> binding : refreshableBindings) {
+                assignments.add(binding.get());
+            }
+        } catch (RuntimeException e) {
+            fileProperties = previousFileProperties;
+            cache = previous;
+            throw e;
+        }
+        assignments.forEach(Runnable::run);
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new EnvironmentChangeEvent(Set.copyOf(changed)));
+        }
+        return changed;
+    }
+
+    /**
+     * 将字符串配置值转换为目标类型
+     *
+     * @param value 配置值
+     * @param type  目标类型
+     * @return 转换后的值
+     */
+    public static Object convert(String value, Class<?> type) {
+        return converterFor(type).apply(value);
+    }
+
+    /**
+     * 获取目标类型的转换器（按类型缓存）
+     *
+     * @param type 目标类型
+     * @return 转换器
+     * @throws IllegalArgumentException 不支持的类型
+     */
+    public static Function<String, Object> converterFor(Class<?> type) {
+        return CONVERTERS.computeIfAbsent(type, Environment::createConverter);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<String, Object> createConverter(Class<?> type) {
+        if (type == String.class) {
+            return value -> value;
+        }
+        if (type == int.class || type == Integer.class) {
+            return value -> Integer.parseInt(value.trim());
+        }
+        if (type == long.class || type == Long.class) {
+            return value -> Long.parseLong(value.trim());
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return value -> Boolean.parseBoolean(value.trim());
+        }
+        if (type == double.class || type == Double.class) {
+            return value -> Double.parseDouble(value.trim());
+        }
+        if (type.isEnum()) {
+            return value -> Enum.valueOf((Class<Enum>) type, value.trim().toUpperCase());
+        }
+        if (type == List.class || type == Set.class) {
+            return value -> {
+                List<String> items = Arrays.stream(value.split(","))
+                        .map(String::trim)
+                        .filter(item -> !item.isEmpty())
+                        .toList();
+                return type == List.class ? items : new LinkedHashSet<>(items);
+            };
+        }
+        throw new IllegalArgumentException("不支持的配置类型: " + type.getName());
+    }
+
+    private static List<PropertyField> scanFields(Class<?> targetType) {
+        List<PropertyField> fields = new ArrayList<>();
+        for (Class<?> type = targetType; type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())
+                        || field.isAnnotationPresent(Autowired.class) || field.isAnnotationPresent(Value.class)) {
+                    continue;
+                }
+                field.setAccessible(true);
+                fields.add(new PropertyField(field, toKebabCase(field.getName()), converterFor(field.getType())));
+            }
+        }
+        return List.copyOf(fields);
+    }
+
+    private static Object convertField(Field field, String key, String value, Function<String, Object> converter) {
+        try {
+            return converter.apply(value);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("配置项 " + key + "=" + value + " 无法绑定到 "
+                    + field.getDeclaringClass().getSimpleName() + "." + field.getName(), e);
+        }
+    }
+
+    private static void assign(Object target, Field field, Object value) {
+        try {
+            if (!Objects.equals(field.get(target), value)) {
+                field.set(target, value);
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("无法设置字段 " + field.getDeclaringClass().getSimpleName() + "." + field.getName(), e);
+        }
+    }
+
+    private String lookup(String key) {
+        String value = overrides.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = System.getProperty(key);
+        if (value != null) {
+            return value;
+        }
+        value = System.getenv(toEnvironmentVariableName(key));
+        if (value != null) {
+            return value;
+        }
+        value = fileProperties.getProperty(key);
+        return value != null ? value : MISSING;
+    }
+
+    private Properties loadConfigFiles() {
+        Properties properties = new Properties();
+        InputStream in = this.getClass().getClassLoader().getResourceAsStream(CONFIG_FILE);
+        if (in != null) {
+            load(properties, new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        if (externalConfigFile != null && Files.isRegularFile(externalConfigFile)) {
+            try {
+                load(properties, Files.newBufferedReader(externalConfigFile, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return properties;
+    }
+
+    private static void load(Properties properties, Reader reader) {
+        try (reader) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void watch(WatchService watchService) {
+        Path fileName = externalConfigFile.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean touched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        touched = true;
+                    }
+                }
+                key.reset();
+                if (touched) {
+                    try {
+                        Set<String> changed = refresh();
+                        if (!changed.isEmpty()) {
+                            System.out.println("配置已刷新: " + changed);
+                        }
+                    } catch (RuntimeException e) {
+                        System.err.println("配置刷新失败: " + e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String toEnvironmentVariableName(String key) {
+        return key.replace('.', '_').replace('-', '_').toUpperCase();
+    }
+
+    private static String toKebabCase(String fieldName) {
+        StringBuilder sb = new StringBuilder(fieldName.length() + 4);
+        for (char c : fieldName.toCharArray()) {
+            if (Character.isUpperCase(c)) {
+                sb.append('-').append(Character.toLowerCase(c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+}
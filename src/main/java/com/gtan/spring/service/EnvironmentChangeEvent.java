@@ -0,0 +1,33 @@
+package com.gtan.spring.service;
+
+import java.util.Set;
+
+/**
+ * EnvironmentChangeEvent - 配置刷新后发布的事件
+ *
+ * <p>在 {@link Environment#refresh()} 重新绑定完所有 @Value 字段与 @ConfigurationProperties Bean 之后，
+ * 于刷新线程上同步发布。需要把新配置应用到已创建资源（线程池大小、缓冲区等）的 Bean 通过 @EventListener 监听。</p>
+ *
+ * @param keys 值发生变化的配置项
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-05
+ * @see Environment
+ */
+public record EnvironmentChangeEvent(Set<String> keys) {
+
+    /**
+     * 判断是否有指定前缀下的配置项发生变化
+     *
+     * @param prefix 配置前缀（如 server.compression）
+     * @return 是否有变化
+     */
+    public boolean hasChanged(String prefix) {
+        for (String key : keys) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
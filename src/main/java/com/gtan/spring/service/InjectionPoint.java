@@ -0,0 +1,151 @@
+package com.gtan.spring.service;
+
+import com.gtan.spring.annotation.Qualifier;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * InjectionPoint - @Autowired 字段注入点
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>静态信息</strong>：BeanDefinition 构建时解析字段的注入形式（单个 Bean、List&lt;T&gt;、Map&lt;String, T&gt;）、
+ *       元素类型与 @Qualifier，并提前 setAccessible</li>
+ *   <li><strong>解析缓存</strong>：候选 Bean 名称由 ApplicationContext 在首次注入时按 @Qualifier → @Primary → 字段名
+ *       的规则确定并缓存在注入点上，之后的注入只按名称取 Bean，不再遍历 BeanDefinition</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-07
+ * @see BeanDefinition
+ * @see ApplicationContext
+ */
+public class InjectionPoint {
+
+    private final Field field;
+
+    /**
+     * 注入的 Bean 类型（List/Map 注入时为元素类型）
+     */
+    private final Class<?> beanType;
+
+    /**
+     * List.class、Map.class，单个 Bean 注入时为 null
+     */
+    private final Class<?> collectionType;
+
+    private final String qualifier;
+
+    /**
+     * 已解析的候选 Bean 名称，首次注入前为 null
+     */
+    private volatile List<String> candidateNames;
+
+    /**
+     * @param field 标注 @Autowired 的字段
+     * @throws RuntimeException List/Map 字段缺少可解析的泛型参数，或 Map 的 key 不是 String
+     */
+    public InjectionPoint(Field field) {
+        this.field = field;
+        field.setAccessible(true);
+        Class<?> type = field.getType();
+        if (type == List.class || type == Map.class) {
+            Type[] arguments = field.getGenericType() instanceof ParameterizedType parameterized
+                    ? parameterized.getActualTypeArguments() : new Type[0];
+            if (type == Map.class && (arguments.length != 2 || arguments[0] != String.class)) {
+                throw new RuntimeException("Map 注入的 key 必须是 String: " + describe());
+            }
+            Type elementType = arguments.length == 0 ? null : arguments[arguments.length - 1];
+            if (elementType instanceof ParameterizedType parameterized) {
+                elementType = parameterized.getRawType();
+            }
+            if (!(elementType instanceof Class<?> elementClass)) {
+                throw new RuntimeException("无法确定集合注入的元素类型: " + describe());
+            }
+            this.beanType = elementClass;
+            this.collectionType = type;
+        } else {
+            this.beanType = type;
+            this.collectionType = null;
+        }
+        Qualifier annotation = field.getAnnotation(Qualifier.class);
+        this.qualifier = annotation != null ? annotation.value() : null;
+    }
+
+    /**
+     * 根据候选 Bean 名称构造要注入的值并设置到字段
+     *
+     * @param bean   目标 Bean
+     * @param lookup 按名称获取 Bean 实例
+     * @throws IllegalAccessException 字段无法访问
+     */
+    void inject(Object bean, Function<String, Object> lookup) throws IllegalAccessException {
+        List<String> names = candidateNames;
+        Object value;
+        if (collectionType == List.class) {
+            List<Object> beans = new ArrayList<>(names.size());
+            for (String name : names) {
+                beans.add(lookup.apply(name));
+            }
+            value = Collections.unmodifiableList(beans);
+        } else if (collectionType == Map.class) {
+            Map<String, Object> beans = new LinkedHashMap<>();
+            for (String name : names) {
+                beans.put(name, lookup.apply(name));
+            }
+            value = Collections.unmodifiableMap(beans);
+        } else {
+            value = names.isEmpty() ? null : lookup.apply(names.get(0));
+        }
+        field.set(bean, value);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Class<?> getBeanType() {
+        return beanType;
+    }
+
+    /**
+     * @return 是否为 List/Map 注入
+     */
+    public boolean isCollection() {
+        return collectionType != null;
+    }
+
+    /**
+     * @return @Qualifier 指定的 Bean 名称，没有时为 null
+     */
+    public String getQualifier() {
+        return qualifier;
+    }
+
+    /**
+     * @return 已解析的候选 Bean 名称，尚未解析时为 null
+     */
+    public List<String> getCandidateNames() {
+        return candidateNames;
+    }
+
+    void setCandidateNames(List<String> candidateNames) {
+        this.candidateNames = candidateNames;
+    }
+
+    /**
+     * @return 形如 UserService.userRepository 的描述
+     */
+    public String describe() {
+        return field.getDeclaringClass().getSimpleName() + "." + field.getName();
+    }
+}
@@ -1,6 +1,7 @@
 package com.gtan.spring.service;
 
 import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.Profile;
 
 /**
  * @author gangtann@126.com
@@ -8,6 +9,7 @@ import com.gtan.spring.annotation.Component;
  * @since 2025-07-04
  */
 @Component
+@Profile("dev")
 public class MyBeanPostProcessor implements BeanPostProcessor{
     @Override
     public Object afterInitializeBean(Object bean, String beanName) {
@@ -0,0 +1,67 @@
+package com.gtan.spring.trace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * InMemorySpanExporter - 内存片段导出器
+ *
+ * <p>保留最近导出的若干片段，超出容量时丢弃最旧的片段，适用于本地调试和测试。
+ * 读取前可调用 {@link Tracer#flush()} 立即导出缓冲中的片段。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-26
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int capacity;
+
+    private final ArrayDeque<Span> spans = new ArrayDeque<>();
+
+    public InMemorySpanExporter() {
+        this(1024);
+    }
+
+    /**
+     * @param capacity 最多保留的片段数量
+     */
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void export(List<Span> batch) {
+        for (Span span : batch) {
+            if (spans.size() == capacity) {
+                spans.pollFirst();
+            }
+            spans.addLast(span);
+        }
+    }
+
+    /**
+     * @return 已导出片段的副本（按结束顺序）
+     */
+    public synchronized List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * 获取指定追踪的全部片段
+     *
+     * @param traceId 追踪 ID
+     * @return 片段列表
+     */
+    public synchronized List<Span> getSpans(String traceId) {
+        return spans.stream().filter(span -> span.traceId().equals(traceId)).toList();
+    }
+
+    /**
+     * 清空已保存的片段
+     */
+    public synchronized void reset() {
+        spans.clear();
+    }
+}
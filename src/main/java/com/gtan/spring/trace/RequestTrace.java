@@ -0,0 +1,138 @@
+package com.gtan.spring.trace;
+
+import java.util.Map;
+
+/**
+ * RequestTrace - 单个请求的追踪上下文
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>请求开始时由 {@link Tracer#begin} 创建根片段（dispatch），处理各阶段时以 {@link #mark()} 取起点、
+ *       {@link #span(String, long)} 结束子片段；子片段结束即写入环形缓冲，不在请求对象中累积</li>
+ *   <li>未采样时 {@link #mark()} 直接返回 0、{@link #span} 立即返回，不读取时钟也不分配对象，
+ *       没有上游 traceparent 的未采样请求共用同一个 {@link #NOOP} 实例</li>
+ *   <li>上游传入但未采样的 traceparent 仍会保留追踪 ID，便于通过 {@link #getTraceparent()} 继续向下游传播</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * RequestTrace trace = Tracer.current(request);
+ * long start = trace.mark();
+ * Object rows = repository.query(sql);
+ * trace.span("query", start);
+ * httpClient.header("traceparent", trace.getTraceparent());
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-26
+ */
+public class RequestTrace {
+
+    /**
+     * 未采样且没有上游追踪信息的请求共用的空实现
+     */
+    public static final RequestTrace NOOP = new RequestTrace(null, null, null, null, false);
+
+    private final Tracer tracer;
+
+    private final String traceId;
+
+    private final String spanId;
+
+    private final String parentSpanId;
+
+    private final boolean sampled;
+
+    private final long startNanos;
+
+    private final long startEpochNanos;
+
+    RequestTrace(Tracer tracer, String traceId, String spanId, String parentSpanId, boolean sampled) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.sampled = sampled;
+        this.startEpochNanos = sampled ? System.currentTimeMillis() * 1_000_000L : 0;
+        this.startNanos = sampled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @return 是否被采样
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * 记录阶段起点
+     *
+     * @return 当前单调时钟（纳秒），未采样时返回 0
+     */
+    public long mark() {
+        return sampled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * 结束一个子片段
+     *
+     * @param name       片段名称
+     * @param startNanos {@link #mark()} 返回的起点
+     * @return 结束时刻，可直接作为下一阶段的起点；未采样时返回 0
+     */
+    public long span(String name, long startNanos) {
+        return span(name, startNanos, false);
+    }
+
+    /**
+     * 结束一个子片段
+     *
+     * @param name       片段名称
+     * @param startNanos {@link #mark()} 返回的起点
+     * @param error      是否以异常结束
+     * @return 结束时刻；未采样时返回 0
+     */
+    public long span(String name, long startNanos, boolean error) {
+        if (!sampled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        tracer.record(new Span(traceId, Tracer.newSpanId(), spanId, name,
+                startEpochNanos + (startNanos - this.startNanos), now - startNanos, error, Map.of()));
+        return now;
+    }
+
+    /**
+     * 结束根片段
+     *
+     * @param attributes 附加属性（如 http.method、http.route、http.status_code）
+     * @param error      是否以异常结束
+     */
+    public void end(Map<String, String> attributes, boolean error) {
+        if (sampled) {
+            tracer.record(new Span(traceId, spanId, parentSpanId, "dispatch", startEpochNanos,
+                    System.nanoTime() - startNanos, error, attributes));
+        }
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * 生成向下游传播的 W3C traceparent 头，以当前请求的根片段为父片段
+     *
+     * @return traceparent 值，没有追踪信息时返回 null
+     */
+    public String getTraceparent() {
+        if (traceId == null) {
+            return null;
+        }
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+}
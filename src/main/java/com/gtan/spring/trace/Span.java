@@ -0,0 +1,22 @@
+package com.gtan.spring.trace;
+
+import java.util.Map;
+
+/**
+ * Span - 已结束的追踪片段
+ *
+ * @param traceId        追踪 ID（32 位十六进制）
+ * @param spanId         片段 ID（16 位十六进制）
+ * @param parentSpanId   父片段 ID，根片段且没有上游调用方时为 null
+ * @param name           片段名称（如 dispatch、findHandler、invoke）
+ * @param startEpochNanos 开始时间（自 1970-01-01 起的纳秒数）
+ * @param durationNanos  耗时（纳秒）
+ * @param error          是否以异常结束
+ * @param attributes     附加属性
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-26
+ */
+public record Span(String traceId, String spanId, String parentSpanId, String name, long startEpochNanos,
+                   long durationNanos, boolean error, Map<String, String> attributes) {
+}
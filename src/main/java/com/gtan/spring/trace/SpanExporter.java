@@ -0,0 +1,23 @@
+package com.gtan.spring.trace;
+
+import java.util.List;
+
+/**
+ * SpanExporter - 追踪片段导出器
+ *
+ * <p>由 {@link Tracer} 的导出线程批量调用，实现类可以写日志、发送到追踪后端或保存在内存中。
+ * 导出在后台线程执行，不占用请求线程。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-26
+ */
+public interface SpanExporter {
+
+    /**
+     * 导出一批已结束的片段
+     *
+     * @param spans 片段列表
+     */
+    void export(List<Span> spans);
+}
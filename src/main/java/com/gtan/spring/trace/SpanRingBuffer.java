@@ -0,0 +1,95 @@
+package com.gtan.spring.trace;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * SpanRingBuffer - 有界多生产者单消费者环形缓冲
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>容量取 2 的幂，槽位下标用位与计算</li>
+ *   <li>生产者（请求线程）通过 CAS 抢占写序号后写入槽位；缓冲已满时直接丢弃并计数，请求线程永不阻塞</li>
+ *   <li>消费者（导出线程）按序号顺序读取，槽位为 null 表示生产者已抢占序号但尚未写入，本轮停止读取</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-26
+ */
+public class SpanRingBuffer {
+
+    private final AtomicReferenceArray<Span> slots;
+
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * 消费位置，只由消费者写入
+     */
+    private volatile long tail;
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param capacity 容量，向上取整为 2 的幂
+     */
+    public SpanRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 写入片段
+     *
+     * @param span 片段
+     * @return 是否写入成功，缓冲已满时返回 false
+     */
+    public boolean offer(Span span) {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail > mask) {
+                dropped.increment();
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+        slots.set((int) (sequence & mask), span);
+        return true;
+    }
+
+    /**
+     * 取出所有已写入的片段（只能由单个消费者调用）
+     *
+     * @param consumer 片段处理函数
+     * @return 取出的数量
+     */
+    public int drain(Consumer<Span> consumer) {
+        long position = tail;
+        int count = 0;
+        while (true) {
+            int index = (int) (position & mask);
+            Span span = slots.get(index);
+            if (span == null) {
+                break;
+            }
+            slots.set(index, null);
+            position++;
+            tail = position;
+            consumer.accept(span);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return 因缓冲已满被丢弃的片段数量
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
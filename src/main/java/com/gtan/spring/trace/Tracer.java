@@ -0,0 +1,199 @@
+package com.gtan.spring.trace;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tracer - 请求追踪器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>传播</strong>：解析请求头中的 W3C traceparent（00-traceId-parentId-flags），
+ *       沿用上游的追踪 ID 并以上游片段为父片段</li>
+ *   <li><strong>采样</strong>：上游已采样的请求始终采样；没有上游信息时按采样率（-Dgtan.trace.sample-rate，默认 0）决定。
+ *       采样率为 0 且没有 traceparent 时只有一次请求头读取，返回共享的 {@link RequestTrace#NOOP}</li>
+ *   <li><strong>缓冲</strong>：结束的片段写入有界环形缓冲 {@link SpanRingBuffer}（-Dgtan.trace.buffer-size，默认 4096），
+ *       缓冲满时丢弃，请求线程不会因导出变慢而阻塞</li>
+ *   <li><strong>导出</strong>：注册第一个导出器时启动后台守护线程 span-exporter，每 100 毫秒批量取出片段交给各导出器</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-26
+ */
+public class Tracer {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    /**
+     * 响应头，向调用方返回本次请求的追踪 ID（W3C Trace Context Level 2）
+     */
+    public static final String TRACE_RESPONSE_HEADER = "traceresponse";
+
+    public static final String SAMPLE_RATE_PROPERTY = "gtan.trace.sample-rate";
+
+    public static final String BUFFER_SIZE_PROPERTY = "gtan.trace.buffer-size";
+
+    private static final String TRACE_ATTRIBUTE = Tracer.class.getName() + ".trace";
+
+    private static final long EXPORT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final SpanRingBuffer buffer = new SpanRingBuffer(Integer.getInteger(BUFFER_SIZE_PROPERTY, 4096));
+
+    private final List<SpanExporter> exporters = new CopyOnWriteArrayList<>();
+
+    private volatile double sampleRate = Double.parseDouble(System.getProperty(SAMPLE_RATE_PROPERTY, "0"));
+
+    private Thread exportThread;
+
+    /**
+     * 开始追踪一个请求，并将追踪上下文保存到请求属性中
+     *
+     * @param request HTTP请求
+     * @return 追踪上下文，未采样且没有上游信息时为 {@link RequestTrace#NOOP}
+     */
+    public RequestTrace begin(HttpServletRequest request) {
+        String traceparent = request.getHeader(TRACEPARENT_HEADER);
+        RequestTrace trace;
+        if (traceparent != null) {
+            trace = continueTrace(traceparent);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            trace = new RequestTrace(this, newTraceId(), newSpanId(), null, true);
+        } else {
+            return RequestTrace.NOOP;
+        }
+        request.setAttribute(TRACE_ATTRIBUTE, trace);
+        return trace;
+    }
+
+    private RequestTrace continueTrace(String traceparent) {
+        String[] parts = traceparent.trim().split("-");
+        if (parts.length < 4 || parts[0].length() != 2 || "ff".equals(parts[0])
+                || !isHex(parts[1], 32) || !isHex(parts[2], 16) || !isHex(parts[3], 2)) {
+            // 无法解析的 traceparent 按没有上游信息处理
+            boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+            return sampled ? new RequestTrace(this, newTraceId(), newSpanId(), null, true) : RequestTrace.NOOP;
+        }
+        boolean sampled = (Integer.parseInt(parts[3], 16) & 0x01) != 0;
+        return new RequestTrace(this, parts[1], newSpanId(), parts[2], sampled);
+    }
+
+    private static boolean isHex(String value, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        boolean allZero = true;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+            allZero &= c == '0';
+        }
+        return !allZero || length == 2;
+    }
+
+    /**
+     * 获取请求的追踪上下文
+     *
+     * @param request HTTP请求
+     * @return 追踪上下文，没有时为 {@link RequestTrace#NOOP}
+     */
+    public static RequestTrace current(HttpServletRequest request) {
+        return request.getAttribute(TRACE_ATTRIBUTE) instanceof RequestTrace trace ? trace : RequestTrace.NOOP;
+    }
+
+    void record(Span span) {
+        if (!exporters.isEmpty()) {
+            buffer.offer(span);
+        }
+    }
+
+    /**
+     * 注册导出器，首次注册时启动导出线程
+     *
+     * @param exporter 导出器
+     */
+    public synchronized void addExporter(SpanExporter exporter) {
+        exporters.add(exporter);
+        if (exportThread == null) {
+            exportThread = new Thread(this::exportLoop, "span-exporter");
+            exportThread.setDaemon(true);
+            exportThread.start();
+        }
+    }
+
+    private void exportLoop() {
+        while (true) {
+            LockSupport.parkNanos(EXPORT_INTERVAL_NANOS);
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                System.err.println("导出追踪片段失败: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 立即将缓冲中的片段交给所有导出器
+     */
+    public synchronized void flush() {
+        List<Span> batch = new ArrayList<>();
+        buffer.drain(batch::add);
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (SpanExporter exporter : exporters) {
+            exporter.export(batch);
+        }
+    }
+
+    /**
+     * 设置采样率
+     *
+     * @param sampleRate 0 ~ 1，0 表示只采样上游已采样的请求
+     */
+    public void setSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("采样率必须在 0 ~ 1 之间: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @return 因缓冲已满被丢弃的片段数量
+     */
+    public long getDroppedSpans() {
+        return buffer.getDropped();
+    }
+
+    static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return toHex(random.nextLong()) + toHex(random.nextLong() | 1);
+    }
+
+    static String newSpanId() {
+        return toHex(ThreadLocalRandom.current().nextLong() | 1);
+    }
+
+    private static String toHex(long value) {
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,185 @@
+package com.gtan.spring.web;
+
+import java.util.function.BiConsumer;
+
+/**
+ * DeferredResult - 由其他线程在稍后设置结果的异步返回值
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>控制器方法返回 DeferredResult 后立即释放 Tomcat 工作线程，请求进入 Servlet 异步模式</li>
+ *   <li>业务代码在任意线程（消息回调、定时任务等）调用 setResult / setErrorResult 时，
+ *       DispatcherServlet 在该线程上完成结果处理、后置拦截器、视图渲染与完成拦截器</li>
+ *   <li>结果只能设置一次，超时后再设置会返回 false</li>
+ *   <li>超时后如果指定了超时结果则以该结果正常响应，否则以 503 响应</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;RequestMapping("/poll")
+ * &#64;ResponseBody
+ * public DeferredResult&lt;Message&gt; poll() {
+ *     DeferredResult&lt;Message&gt; result = new DeferredResult&lt;&gt;(10000L);
+ *     messageQueue.subscribe(result::setResult);
+ *     return result;
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-22
+ * @param <T> 结果类型
+ */
+public class DeferredResult<T> {
+
+    private static final Object RESULT_NONE = new Object();
+
+    private final Long timeout;
+
+    private final Object timeoutResult;
+
+    private Object result = RESULT_NONE;
+
+    private Throwable error;
+
+    private boolean expired;
+
+    private BiConsumer<Object, Throwable> resultHandler;
+
+    private Runnable timeoutCallback;
+
+    private Runnable completionCallback;
+
+    public DeferredResult() {
+        this(null);
+    }
+
+    /**
+     * @param timeout 超时时间（毫秒），为 null 时使用路由或容器的超时设置
+     */
+    public DeferredResult(Long timeout) {
+        this(timeout, RESULT_NONE);
+    }
+
+    /**
+     * @param timeout       超时时间（毫秒）
+     * @param timeoutResult 超时后返回的结果
+     */
+    public DeferredResult(Long timeout, Object timeoutResult) {
+        this.timeout = timeout;
+        this.timeoutResult = timeoutResult;
+    }
+
+    /**
+     * 设置结果
+     *
+     * @param result 结果
+     * @return 是否设置成功（已设置或已超时返回 false）
+     */
+    public boolean setResult(T result) {
+        return setResultInternal(result, null);
+    }
+
+    /**
+     * 设置异常结果，异常按同步调用时的异常处理流程响应
+     *
+     * @param error 异常
+     * @return 是否设置成功
+     */
+    public boolean setErrorResult(Throwable error) {
+        return setResultInternal(null, error);
+    }
+
+    /**
+     * @return 是否已设置结果或已超时
+     */
+    public synchronized boolean isSetOrExpired() {
+        return result != RESULT_NONE || error != null || expired;
+    }
+
+    /**
+     * 注册超时回调，在超时处理前执行
+     *
+     * @param callback 回调
+     */
+    public void onTimeout(Runnable callback) {
+        this.timeoutCallback = callback;
+    }
+
+    /**
+     * 注册完成回调，在请求完成后执行（包括超时）
+     *
+     * @param callback 回调
+     */
+    public void onCompletion(Runnable callback) {
+        this.completionCallback = callback;
+    }
+
+    public Long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * 由 DispatcherServlet 设置结果处理器，结果已就绪时立即回调
+     */
+    void setResultHandler(BiConsumer<Object, Throwable> resultHandler) {
+        Object readyResult;
+        Throwable readyError;
+        synchronized (this) {
+            this.resultHandler = resultHandler;
+            if (result == RESULT_NONE && error == null) {
+                return;
+            }
+            readyResult = result;
+            readyError = error;
+        }
+        resultHandler.accept(readyResult == RESULT_NONE ? null : readyResult, readyError);
+    }
+
+    /**
+     * 超时处理
+     *
+     * @return 有超时结果时返回 true，由调用方以该结果完成请求
+     */
+    boolean expire() {
+        synchronized (this) {
+            if (result != RESULT_NONE || error != null) {
+                return false;
+            }
+            expired = true;
+        }
+        if (timeoutCallback != null) {
+            timeoutCallback.run();
+        }
+        return timeoutResult != RESULT_NONE;
+    }
+
+    Object getTimeoutResult() {
+        return timeoutResult;
+    }
+
+    void complete() {
+        if (completionCallback != null) {
+            completionCallback.run();
+        }
+    }
+
+    private boolean setResultInternal(Object value, Throwable throwable) {
+        BiConsumer<Object, Throwable> handler;
+        synchronized (this) {
+            if (isSetOrExpired()) {
+                return false;
+            }
+            if (throwable != null) {
+                error = throwable;
+            } else {
+                result = value;
+            }
+            handler = resultHandler;
+        }
+        if (handler != null) {
+            handler.accept(value, throwable);
+        }
+        return true;
+    }
+}
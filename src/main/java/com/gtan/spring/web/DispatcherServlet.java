@@ -1,29 +1,58 @@
 package com.gtan.spring.web;
 
-import com.alibaba.fastjson2.JSONObject;
 import com.gtan.spring.annotation.Component;
 import com.gtan.spring.annotation.Controller;
+import com.gtan.spring.annotation.ControllerAdvice;
 import com.gtan.spring.annotation.PostConstruct;
 import com.gtan.spring.annotation.RequestMapping;
 import com.gtan.spring.annotation.RequestParam;
+import com.gtan.spring.annotation.WebSocketEndpoint;
+import com.gtan.spring.enumeration.ResultType;
+import com.gtan.spring.enumeration.ThreadMode;
 import com.gtan.spring.interceptor.Interceptor;
 import com.gtan.spring.interceptor.InterceptorRegistry;
 import com.gtan.spring.service.BeanPostProcessor;
+import com.gtan.spring.trace.RequestTrace;
+import com.gtan.spring.trace.Tracer;
+import com.gtan.spring.web.compress.ResponseCompressor;
+import com.gtan.spring.web.converter.HttpMessageConverter;
+import com.gtan.spring.web.converter.MessageConverterRegistry;
+import com.gtan.spring.web.multipart.MultipartFile;
+import com.gtan.spring.web.multipart.MultipartRequest;
+import com.gtan.spring.web.multipart.MultipartResolver;
+import com.gtan.spring.web.multipart.MultipartStream;
+import com.gtan.spring.web.resource.StaticResourceHandler;
+import com.gtan.spring.web.template.CompiledTemplate;
+import com.gtan.spring.web.template.TemplateEngine;
+import com.gtan.spring.websocket.WebSocketEndpointRegistry;
+import com.gtan.spring.websocket.WebSocketHandler;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * DispatcherServlet - Spring MVC 的前端控制器核心实现
@@ -37,6 +66,9 @@ import java.util.regex.Pattern;
  *   <li><strong>类型转换</strong>：支持基本数据类型的自动转换（String -> int、Integer 等）</li>
  *   <li><strong>视图解析</strong>：根据返回类型选择合适的响应处理方式</li>
  *   <li><strong>异常处理</strong>：统一的异常处理和错误响应</li>
+ *   <li><strong>异步处理</strong>：CompletableFuture、Callable、DeferredResult 返回值通过 Servlet 异步模式处理，不占用工作线程</li>
+ *   <li><strong>响应压缩</strong>：按 Accept-Encoding 对处理器输出进行流式 gzip/deflate 压缩</li>
+ *   <li><strong>静态资源</strong>：未匹配到控制器方法的请求交给 StaticResourceHandler 输出静态文件</li>
  * </ul>
  * 
  * <p>工作流程：</p>
@@ -51,8 +83,8 @@ import java.util.regex.Pattern;
  * <p>支持的响应类型：</p>
  * <ul>
  *   <li><strong>HTML 响应</strong>：直接返回 HTML 字符串</li>
- *   <li><strong>JSON 响应</strong>：使用 FastJSON 将对象序列化为 JSON</li>
- *   <li><strong>模板渲染</strong>：支持简单的模板引擎（gtan{} 占位符替换）</li>
+ *   <li><strong>消息体响应</strong>：@ResponseBody 返回值交给 HttpMessageConverter 链，按 Accept 头协商 JSON、JSONB、字节透传等格式</li>
+ *   <li><strong>模板渲染</strong>：模板首次使用时编译为字面量字节与占位符片段并缓存（gtan{} 占位符、gtan{#if} 条件）</li>
  * </ul>
  * 
  * <p>URL 映射机制：</p>
@@ -80,56 +112,325 @@ import java.util.regex.Pattern;
 @Component
 public class DispatcherServlet extends HttpServlet implements BeanPostProcessor {
 
-    private static final Pattern PATTERN = Pattern.compile("gtan\\{(.*?)}");
+    /**
+     * 请求属性：异常已被解析为非 5xx 响应（@ExceptionHandler 或 ResponseStatusException 等客户端错误）
+     */
+    private static final String CLIENT_ERROR_ATTRIBUTE = DispatcherServlet.class.getName() + ".clientError";
 
     private Map<String, WebHandler> handlerMap = new HashMap<>();
 
     private final InterceptorRegistry interceptorRegistry = new InterceptorRegistry();
 
+    private final MessageConverterRegistry messageConverterRegistry = new MessageConverterRegistry();
+
+    private final TemplateEngine templateEngine = new TemplateEngine();
+
+    private final StaticResourceHandler resourceHandler = new StaticResourceHandler();
+
+    private final ResponseCompressor responseCompressor = new ResponseCompressor();
+
+    private final Tracer tracer = new Tracer();
+
+    private final ExceptionHandlerResolver exceptionResolver = new ExceptionHandlerResolver();
+
+    private final WebSocketEndpointRegistry webSocketRegistry = new WebSocketEndpointRegistry();
+
+    private final MultipartResolver multipartResolver = new MultipartResolver();
+
+    /**
+     * 框架自有的异步任务线程池，用于执行控制器返回的 Callable
+     */
+    private volatile ExecutorService asyncExecutor = ThreadMode.PLATFORM.newExecutor("mvc-async-");
+
+    public DispatcherServlet() {
+        // 拦截器增删后重新计算所有处理器的拦截器链
+        interceptorRegistry.addChangeListener(this::refreshInterceptorChains);
+    }
+
     @Override
     protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        // 开始追踪：未采样时 mark()/span() 不读取时钟也不分配对象
+        RequestTrace trace = tracer.begin(req);
+        if (trace.getTraceId() != null) {
+            resp.setHeader(Tracer.TRACE_RESPONSE_HEADER, trace.getTraceparent());
+        }
+        long stage = trace.mark();
         WebHandler handler = findHandler(req);
+        stage = trace.span("findHandler", stage);
         if (handler == null) {
-            resp.setContentType("text/html;charset=UTF-8");
-            resp.getWriter().write("<h1>Error! 你的请求没有对应的处理器！</h1> <br>");
-            return;
+            // 没有对应的控制器方法时尝试作为静态资源处理
+            try {
+                if (resourceHandler.handle(req, resp)) {
+                    return;
+                }
+                resp.setContentType("text/html;charset=UTF-8");
+                resp.getWriter().write("<h1>Error! 你的请求没有对应的处理器！</h1> <br>");
+                return;
+            } finally {
+                endTrace(trace, req, resp, null, null);
+            }
         }
 
+        // 协商 Accept-Encoding，需要时包装为流式压缩响应
+        resp = responseCompressor.wrap(req, resp);
+        // 本次请求使用的拦截器链：启动时按处理器 URL 预先计算，请求期间只读取一次
+        Interceptor[] interceptors = handler.getInterceptors();
         Exception dispatchException = null;
-        ModelAndView modelAndView = null;
+        boolean asyncStarted = false;
         
         try {
             // 1. 执行前置拦截器
-            if (!applyPreHandle(req, resp, handler)) {
+            boolean proceed = applyPreHandle(req, resp, handler, interceptors);
+            stage = trace.span("preHandle", stage);
+            if (!proceed) {
                 return; // 被拦截器中断
             }
             
             // 2. 执行实际的Controller方法
-            Object controllerBean = handler.getControllerBean();
             Object[] args = resolveArgs(req, handler.getMethod());
-            Object result = handler.getMethod().invoke(controllerBean, args);
+            stage = trace.span("resolveArgs", stage);
+            Object result = handler.invoke(args);
+            trace.span("invoke", stage);
 
-            // 3. 处理返回结果
-            modelAndView = processResult(result);
-            
-            // 4. 执行后置拦截器
-            applyPostHandle(req, resp, handler, modelAndView);
-            
-            // 5. 渲染视图并执行完成拦截器
-            render(modelAndView, req, resp, handler);
+            // 异步返回值：释放工作线程，结果就绪后在完成线程上继续后续步骤
+            if (result != null && WebHandler.isAsyncType(result.getClass())) {
+                startAsyncProcessing(req, resp, handler, interceptors, result);
+                asyncStarted = true;
+                return;
+            }
+
+            // 流式返回值：后置拦截器在输出开始前执行，之后由非阻塞输出逐块写出
+            if (result != null && WebHandler.isStreamingType(result.getClass())) {
+                applyPostHandle(req, resp, handler, interceptors, null);
+                startStreaming(req, resp, handler, interceptors, result);
+                asyncStarted = true;
+                return;
+            }
+
+            // 3~5. 处理返回结果、执行后置拦截器、渲染视图
+            processAndRender(result, req, resp, handler, interceptors);
             
         } catch (Exception ex) {
             dispatchException = ex;
             handleDispatchException(req, resp, handler, dispatchException);
         } finally {
-            // 6. 执行完成拦截器（无论成功或失败都会执行）
+            // 6. 完成压缩输出并执行完成拦截器（无论成功或失败都会执行；异步请求在完成时执行）
+            if (!asyncStarted) {
+                completeRequest(req, resp, handler, interceptors, dispatchException);
+            }
+        }
+    }
+
+    /**
+     * 处理返回结果、执行后置拦截器并渲染视图
+     */
+    private void processAndRender(Object result, HttpServletRequest req, HttpServletResponse resp,
+                                  WebHandler handler, Interceptor[] interceptors) throws Exception {
+        RequestTrace trace = Tracer.current(req);
+        long stage = trace.mark();
+
+        // 3. 处理返回结果
+        ModelAndView modelAndView = processResult(result);
+        stage = trace.span("processResult", stage);
+
+        // 4. 执行后置拦截器
+        applyPostHandle(req, resp, handler, interceptors, modelAndView);
+        stage = trace.span("postHandle", stage);
+
+        // 5. 渲染视图
+        render(modelAndView, req, resp, handler);
+        trace.span("render", stage);
+    }
+
+    /**
+     * 完成压缩输出并执行完成拦截器
+     */
+    private void completeRequest(HttpServletRequest req, HttpServletResponse resp, WebHandler handler,
+                                 Interceptor[] interceptors, Exception dispatchException) {
+        try {
+            try {
+                responseCompressor.finish(resp);
+            } finally {
+                try {
+                    triggerAfterCompletion(req, resp, handler, interceptors, dispatchException);
+                } finally {
+                    MultipartResolver.cleanup(req);
+                    endTrace(Tracer.current(req), req, resp, handler, dispatchException);
+                }
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 进入 Servlet 异步模式处理 CompletionStage、Callable、DeferredResult 返回值
+     *
+     * <p>结果就绪、异常或超时三者只有第一个生效，之后的回调被忽略。</p>
+     *
+     * @param req     HTTP请求
+     * @param resp    HTTP响应
+     * @param handler      处理器
+     * @param interceptors 本次请求的拦截器链
+     * @param result       异步返回值
+     */
+    @SuppressWarnings("unchecked")
+    private void startAsyncProcessing(HttpServletRequest req, HttpServletResponse resp, WebHandler handler,
+                                      Interceptor[] interceptors, Object result) {
+        AsyncContext asyncContext = req.startAsync(req, resp);
+        DeferredResult<Object> deferredResult = result instanceof DeferredResult<?> deferred
+                ? (DeferredResult<Object>) deferred : null;
+        long timeout = deferredResult != null && deferredResult.getTimeout() != null
+                ? deferredResult.getTimeout() : handler.getAsyncTimeout();
+        if (timeout >= 0) {
+            asyncContext.setTimeout(timeout);
+        }
+        AtomicBoolean completed = new AtomicBoolean();
+        BiConsumer<Object, Throwable> resultHandler = (value, error) -> {
+            if (completed.compareAndSet(false, true)) {
+                completeAsync(asyncContext, req, resp, handler, interceptors, value, error, deferredResult);
+            }
+        };
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                if (!completed.compareAndSet(false, true)) {
+                    return;
+                }
+                if (deferredResult != null && deferredResult.expire()) {
+                    completeAsync(asyncContext, req, resp, handler, interceptors, deferredResult.getTimeoutResult(), null,
+                            deferredResult);
+                    return;
+                }
+                completeAsync(asyncContext, req, resp, handler, interceptors, null,
+                        new ResponseStatusException(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                                "异步请求处理超时: " + req.getRequestURI()), deferredResult);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                if (completed.compareAndSet(false, true)) {
+                    completeAsync(asyncContext, req, resp, handler, interceptors, null, event.getThrowable(), deferredResult);
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+
+        if (deferredResult != null) {
+            deferredResult.setResultHandler(resultHandler);
+        } else if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete(resultHandler);
+        } else {
+            Callable<?> callable = (Callable<?>) result;
+            asyncExecutor.execute(() -> {
+                Object value;
+                try {
+                    value = callable.call();
+                } catch (Throwable e) {
+                    resultHandler.accept(null, e);
+                    return;
+                }
+                resultHandler.accept(value, null);
+            });
+        }
+    }
+
+    /**
+     * 进入 Servlet 异步模式，以非阻塞输出流式写出 Stream、Iterator 或 SseEmitter
+     *
+     * <p>流式响应绕过压缩包装：压缩输出会在一次写入中产生多次底层写，无法与 isReady() 背压配合。
+     * 未指定超时（SseEmitter 超时或 @AsyncTimeout）时不超时，连接由客户端断开或数据写完结束。</p>
+     *
+     * @param req          HTTP请求
+     * @param resp         HTTP响应
+     * @param handler      处理器
+     * @param interceptors 本次请求的拦截器链
+     * @param result       流式返回值
+     * @throws IOException 获取输出流失败
+     */
+    private void startStreaming(HttpServletRequest req, HttpServletResponse resp, WebHandler handler,
+                                Interceptor[] interceptors, Object result) throws IOException {
+        HttpServletResponse target = responseCompressor.unwrap(resp);
+        AsyncContext asyncContext = req.startAsync(req, target);
+        Long emitterTimeout = result instanceof SseEmitter emitter ? emitter.getTimeout() : null;
+        asyncContext.setTimeout(emitterTimeout != null ? emitterTimeout : Math.max(0, handler.getAsyncTimeout()));
+        Consumer<Throwable> completion = error -> completeRequest(req, resp, handler, interceptors,
+                error != null ? unwrapAsyncException(error) : null);
+        boolean json = handler.getResultType() == ResultType.JSON;
+        try {
+            if (result instanceof SseEmitter emitter) {
+                StreamingResponse.sse(asyncContext, target, emitter, completion);
+            } else if (result instanceof Stream<?> stream) {
+                StreamingResponse.lines(asyncContext, target, stream.iterator(), json, stream::close, completion);
+            } else {
+                StreamingResponse.lines(asyncContext, target, (Iterator<?>) result, json, null, completion);
+            }
+        } catch (IOException | RuntimeException e) {
+            asyncContext.complete();
+            throw e;
+        }
+    }
+
+    /**
+     * 在结果就绪的线程上完成异步请求
+     */
+    private void completeAsync(AsyncContext asyncContext, HttpServletRequest req, HttpServletResponse resp,
+                               WebHandler handler, Interceptor[] interceptors, Object value, Throwable error,
+                               DeferredResult<Object> deferredResult) {
+        Exception dispatchException = null;
+        try {
+            if (error != null) {
+                throw unwrapAsyncException(error);
+            }
+            processAndRender(value, req, resp, handler, interceptors);
+        } catch (Exception ex) {
+            dispatchException = ex;
+            try {
+                handleDispatchException(req, resp, handler, dispatchException);
+            } catch (IOException ignored) {
+                // 客户端已断开，无法再写出错误信息
+            }
+        } finally {
             try {
-                triggerAfterCompletion(req, resp, handler, dispatchException);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+                completeRequest(req, resp, handler, interceptors, dispatchException);
+            } finally {
+                asyncContext.complete();
+                if (deferredResult != null) {
+                    deferredResult.complete();
+                }
             }
         }
     }
+
+    /**
+     * 结束请求的根追踪片段
+     */
+    private static void endTrace(RequestTrace trace, HttpServletRequest req, HttpServletResponse resp,
+                                 WebHandler handler, Exception exception) {
+        if (!trace.isSampled()) {
+            return;
+        }
+        trace.end(Map.of(
+                "http.method", req.getMethod(),
+                "http.route", handler != null ? handler.getUrl() : req.getRequestURI(),
+                "http.status_code", String.valueOf(resp.getStatus())), exception != null);
+    }
+
+    private static Exception unwrapAsyncException(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof Exception exception ? exception : new RuntimeException(cause);
+    }
     
     /**
      * 执行所有前置拦截器
@@ -137,12 +438,13 @@ public class DispatcherServlet extends HttpServlet implements BeanPostProcessor
      * @param request HTTP请求
      * @param response HTTP响应
      * @param handler 处理器
+     * @param interceptors 拦截器链
      * @return 是否继续执行
      * @throws Exception 拦截器异常
      */
     private boolean applyPreHandle(HttpServletRequest request, HttpServletResponse response, 
-                                  WebHandler handler) throws Exception {
-        for (Interceptor interceptor : interceptorRegistry.getInterceptors()) {
+                                  WebHandler handler, Interceptor[] interceptors) throws Exception {
+        for (Interceptor interceptor : interceptors) {
             if (!interceptor.preHandle(request, response, handler)) {
                 return false;
             }
@@ -156,15 +458,16 @@ public class DispatcherServlet extends HttpServlet implements BeanPostProcessor
      * @param request HTTP请求
      * @param response HTTP响应
      * @param handler 处理器
+     * @param interceptors 拦截器链
      * @param modelAndView 模型视图对象
      * @throws Exception 拦截器异常
      */
     private void applyPostHandle(HttpServletRequest request, HttpServletResponse response,
-                                WebHandler handler, ModelAndView modelAndView) throws Exception {
+                                WebHandler handler, Interceptor[] interceptors,
+                                ModelAndView modelAndView) throws Exception {
         // 逆序执行后置拦截器
-        List<Interceptor> interceptors = interceptorRegistry.getInterceptors();
-        for (int i = interceptors.size() - 1; i >= 0; i--) {
-            interceptors.get(i).postHandle(request, response, handler, modelAndView);
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            interceptors[i].postHandle(request, response, handler, modelAndView);
         }
     }
     
@@ -174,15 +477,16 @@ public class DispatcherServlet extends HttpServlet implements BeanPostProcessor
      * @param request HTTP请求
      * @param response HTTP响应
      * @param handler 处理器
+     * @param interceptors 拦截器链
      * @param exception 异常对象
      * @throws Exception 拦截器异常
      */
     private void triggerAfterCompletion(HttpServletRequest request, HttpServletResponse response,
-                                       WebHandler handler, Exception exception) throws Exception {
+                                       WebHandler handler, Interceptor[] interceptors,
+                                       Exception exception) throws Exception {
         // 逆序执行完成拦截器
-        List<Interceptor> interceptors = interceptorRegistry.getInterceptors();
-        for (int i = interceptors.size() - 1; i >= 0; i--) {
-            interceptors.get(i).afterCompletion(request, response, handler, exception);
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            interceptors[i].afterCompletion(request, response, handler, exception);
         }
     }
 
@@ -201,14 +505,14 @@ public class DispatcherServlet extends HttpServlet implements BeanPostProcessor
             return (ModelAndView) result;
         }
 
-        // 根据返回类型创建对应的ModelAndView
+        // 根据返回类型创建对应的ModelAndView，响应体对象保留原始返回值，由转换器链在渲染时序列化
         ModelAndView modelAndView = new ModelAndView();
+        modelAndView.setBody(result);
         if (result instanceof String) {
             modelAndView.setView("text");
             modelAndView.getContext().put("content", result.toString());
         } else {
             modelAndView.setView("json");
-            modelAndView.getContext().put("data", JSONObject.toJSONString(result));
         }
         return modelAndView;
     }
@@ -237,18 +541,16 @@ public class DispatcherServlet extends HttpServlet implements BeanPostProcessor
                 response.getWriter().write(context.getOrDefault("content", ""));
             }
             case JSON -> {
-                response.setContentType("application/json;charset=UTF-8");
-                response.getWriter().write(JSONObject.toJSONString(context.get("data")));
+                Object body = modelAndView.getBody();
+                if (body != null && !messageConverterRegistry.write(body, request, response)) {
+                    response.sendError(HttpServletResponse.SC_NOT_ACCEPTABLE);
+                }
             }
             case LOCAL -> {
-                InputStream resourceAsStream = this.getClass().getClassLoader().getResourceAsStream(view);
-                if (resourceAsStream != null) {
-                    try (resourceAsStream) {
-                        String html = new String(resourceAsStream.readAllBytes());
-                        html = renderTemplate(html, context);
-                        response.setContentType("text/html;charset=UTF-8");
-                        response.getWriter().write(html);
-                    }
+                CompiledTemplate template = templateEngine.getTemplate(view);
+                if (template != null) {
+                    response.setContentType("text/html;charset=UTF-8");
+                    template.render(context, response.getOutputStream());
                 }
             }
         }
@@ -256,6 +558,10 @@ public class DispatcherServlet extends HttpServlet implements BeanPostProcessor
     
     /**
      * 处理调度异常
+     *
+     * <p>优先交给匹配的 @ExceptionHandler 方法（控制器自身优先于 @ControllerAdvice），其返回值按普通控制器结果处理；
+     * 没有处理方法或处理方法本身失败时，以异常的状态码输出默认错误信息：@ResponseBody 路由经转换器输出 JSON，其他路由输出 HTML
+     * （错误信息经过 HTML 转义）。最终状态码不是 5xx 时在请求属性中标记，{@link #isFailed} 据此不把它计为失败。</p>
      * 
      * @param request HTTP请求
      * @param response HTTP响应
@@ -265,8 +571,81 @@ public class DispatcherServlet extends HttpServlet implements BeanPostProcessor
      */
     private void handleDispatchException(HttpServletRequest request, HttpServletResponse response,
                                         WebHandler handler, Exception exception) throws IOException {
+        if (response.isCommitted()) {
+            // 响应已开始发送，状态码与响应体都无法再更改
+            System.err.println("响应已提交，无法输出错误信息: " + exception);
+            return;
+        }
+        ExceptionHandlerMethod handlerMethod = exceptionResolver.resolve(handler, exception);
+        if (handlerMethod != null) {
+            try {
+                int status = handlerMethod.getStatus();
+                response.setStatus(status > 0 ? status : exceptionResolver.resolveStatus(exception));
+                Object result = handlerMethod.invoke(exception, request, response);
+                render(processResult(result), request, response, handlerMethod.getHandler());
+                markClientError(request, response);
+                return;
+            } catch (Exception handlerException) {
+                exception = handlerException;
+            }
+        }
+
+        int status = exceptionResolver.resolveStatus(exception);
+        String reason = exceptionResolver.resolveReason(exception);
+        response.setStatus(status);
+        markClientError(request, response);
+        if (handler != null && handler.getResultType() == ResultType.JSON) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", status);
+            body.put("error", reason);
+            body.put("path", request.getRequestURI());
+            if (messageConverterRegistry.write(body, request, response)) {
+                return;
+            }
+        }
         response.setContentType("text/html;charset=UTF-8");
-        response.getWriter().write("<h1>服务器内部错误: " + exception.getMessage() + "</h1>");
+        response.getWriter().write("<h1>" + (status >= 500 ? "服务器内部错误" : "请求错误") + ": "
+                + escapeHtml(reason) + "</h1>");
+    }
+
+    /**
+     * 判断请求是否失败，供指标与并发限制器在 afterCompletion 中使用
+     *
+     * <p>响应状态码 &gt;= 500，或存在异常且异常没有被解析为非 5xx 响应时视为失败。
+     * 后者覆盖响应已提交后抛出的异常和流式输出中途失败，这两种情况状态码仍为 200。</p>
+     *
+     * @param request  HTTP请求
+     * @param response HTTP响应
+     * @param ex       afterCompletion 收到的异常
+     * @return 是否失败
+     */
+    public static boolean isFailed(HttpServletRequest request, HttpServletResponse response, Exception ex) {
+        return response.getStatus() >= 500 || (ex != null && request.getAttribute(CLIENT_ERROR_ATTRIBUTE) == null);
+    }
+
+    private static void markClientError(HttpServletRequest request, HttpServletResponse response) {
+        if (response.getStatus() < 500) {
+            request.setAttribute(CLIENT_ERROR_ATTRIBUTE, Boolean.TRUE);
+        }
+    }
+
+    private static String escapeHtml(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '&' -> escaped.append("&amp;");
+                case '"' -> escaped.append("&quot;");
+                case '\'' -> escaped.append("&#39;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
     }
     
     /**
@@ -278,36 +657,118 @@ public class DispatcherServlet extends HttpServlet implements BeanPostProcessor
         return interceptorRegistry;
     }
 
-    private String renderTemplate(String template, Map<String, String> context) {
-        Matcher matcher = PATTERN.matcher(template);
-        StringBuilder sb = new StringBuilder();
-        while (matcher.find()) {
-            String key = matcher.group(1);
-            String value = context.getOrDefault(key, "");
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(value));
-        }
-        matcher.appendTail(sb);
-        return sb.toString();
+    /**
+     * 获取请求追踪器（用于设置采样率、注册导出器）
+     *
+     * @return 请求追踪器
+     */
+    public Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * 获取 WebSocket 端点注册中心（用于绑定 JSR-356 容器、按路径获取会话分组广播消息）
+     *
+     * @return WebSocket 端点注册中心
+     */
+    public WebSocketEndpointRegistry getWebSocketRegistry() {
+        return webSocketRegistry;
+    }
+
+    /**
+     * 获取静态资源处理器（用于添加资源位置）
+     *
+     * @return 静态资源处理器
+     */
+    public StaticResourceHandler getResourceHandler() {
+        return resourceHandler;
     }
 
-    private Object[] resolveArgs(HttpServletRequest req, Method method) {
+    /**
+     * 切换框架异步任务的线程模式，旧线程池在已提交任务完成后关闭
+     *
+     * @param threadMode 线程模式
+     */
+    public void setAsyncThreadMode(ThreadMode threadMode) {
+        ExecutorService previous = asyncExecutor;
+        asyncExecutor = threadMode.newExecutor("mvc-async-");
+        previous.shutdown();
+    }
+
+    /**
+     * 获取响应压缩配置（阈值、MIME 白名单、压缩级别）
+     *
+     * @return 响应压缩器
+     */
+    public ResponseCompressor getResponseCompressor() {
+        return responseCompressor;
+    }
+
+    /**
+     * 获取 multipart 解析器（用于配置上传大小限制与临时目录）
+     *
+     * @return multipart 解析器
+     */
+    public MultipartResolver getMultipartResolver() {
+        return multipartResolver;
+    }
+
+    /**
+     * 获取响应体转换器注册中心
+     *
+     * @return 转换器注册中心
+     */
+    public MessageConverterRegistry getMessageConverterRegistry() {
+        return messageConverterRegistry;
+    }
+
+    private Object[] resolveArgs(HttpServletRequest req, Method method) throws IOException {
         Parameter[] parameters = method.getParameters();
         Object[] args = new Object[parameters.length];
+        // multipart 请求：处理器未声明流式解析时先完整解析，文件落盘为临时文件，普通字段可按参数名绑定
+        MultipartRequest multipartRequest = parameters.length > 0 && multipartResolver.isMultipart(req)
+                && Arrays.stream(parameters).noneMatch(parameter -> parameter.getType() == MultipartStream.class)
+                ? multipartResolver.resolve(req) : null;
         for (int i = 0; i < parameters.length; i++) {
             Parameter parameter = parameters[i];
+            Class<?> parameterType = parameter.getType();
+            if (parameterType == MultipartStream.class) {
+                args[i] = multipartResolver.openStream(req);
+                continue;
+            }
+            if (parameterType == MultipartRequest.class) {
+                args[i] = multipartRequest;
+                continue;
+            }
             RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
-            String value;
-            if (requestParam != null) {
-                value = req.getParameter(requestParam.value());
-            } else {
-                value = req.getParameter(parameter.getName());
+            String name = requestParam != null ? requestParam.value() : parameter.getName();
+            if (parameterType == MultipartFile.class) {
+                args[i] = multipartRequest != null ? multipartRequest.getFile(name) : null;
+                continue;
+            }
+            if (parameterType == List.class && parameter.getParameterizedType() instanceof ParameterizedType listType
+                    && listType.getActualTypeArguments()[0] == MultipartFile.class) {
+                args[i] = multipartRequest != null ? multipartRequest.getFiles(name) : List.of();
+                continue;
+            }
+            String value = req.getParameter(name);
+            if (value == null && multipartRequest != null) {
+                value = multipartRequest.getParameter(name);
             }
 
-            Class<?> parameterType = parameter.getType();
             if (String.class.isAssignableFrom(parameterType)) {
                 args[i] = value;
             } else if (Integer.class.isAssignableFrom(parameterType)) {
-                args[i] = Integer.parseInt(value);
+                // 参数缺失或格式错误属于客户端错误，以 400 响应
+                if (value == null) {
+                    throw new ResponseStatusException(HttpServletResponse.SC_BAD_REQUEST, "缺少请求参数: " + name);
+                }
+                try {
+                    args[i] = Integer.parseInt(value.trim());
+                } catch (NumberFormatException e) {
+                    throw new ResponseStatusException(HttpServletResponse.SC_BAD_REQUEST,
+                            "请求参数 " + name + " 不是有效的整数: " + value, e);
+                }
             } else {
                 args[i] = null;
             }
@@ -335,9 +796,22 @@ public class DispatcherServlet extends HttpServlet implements BeanPostProcessor
             interceptorRegistry.addInterceptor((Interceptor) bean);
             return bean;
         }
+        if (bean instanceof HttpMessageConverter converter) {
+            messageConverterRegistry.addConverter(converter);
+            return bean;
+        }
+        if (bean.getClass().isAnnotationPresent(ControllerAdvice.class)) {
+            exceptionResolver.registerAdvice(bean);
+            return bean;
+        }
+        if (bean instanceof WebSocketHandler handler && bean.getClass().isAnnotationPresent(WebSocketEndpoint.class)) {
+            webSocketRegistry.register(handler);
+            return bean;
+        }
         if (!bean.getClass().isAnnotationPresent(Controller.class)) {
             return bean;
         }
+        exceptionResolver.registerController(bean);
         RequestMapping classRequestMapping = bean.getClass().getDeclaredAnnotation(RequestMapping.class);
         String classUrl = classRequestMapping != null ? classRequestMapping.value() : "";
         Arrays.stream(bean.getClass().getDeclaredMethods())
@@ -346,11 +820,31 @@ public class DispatcherServlet extends HttpServlet implements BeanPostProcessor
                     RequestMapping methodRequestMapping = method.getDeclaredAnnotation(RequestMapping.class);
                     String methodUrl = methodRequestMapping != null ? methodRequestMapping.value() : "";
                     String url = classUrl.concat(methodUrl);
-                    if (handlerMap.containsKey(url)) {
-                        throw new RuntimeException("url: " + url + " 已被其他方法注册！");
-                    }
-                    handlerMap.put(url, new WebHandler(bean, method));
+                    registerHandler(url, new WebHandler(bean, method, url));
                 });
         return bean;
     }
+
+    /**
+     * 重新计算所有处理器的拦截器链
+     *
+     * <p>拦截器注册中心每次变更后回调此方法（运行期动态增删拦截器同样适用）。加锁保证多个并发变更按顺序
+     * 重算，最后一次重算读取的一定是最新快照；正在处理的请求已持有旧数组，不受影响。</p>
+     */
+    private synchronized void refreshInterceptorChains() {
+        for (WebHandler handler : handlerMap.values()) {
+            handler.setInterceptors(interceptorRegistry.resolve(handler.getUrl()));
+        }
+    }
+
+    /**
+     * 注册处理器并计算其拦截器链，与 {@link #refreshInterceptorChains()} 使用同一把锁
+     */
+    private synchronized void registerHandler(String url, WebHandler handler) {
+        if (handlerMap.containsKey(url)) {
+            throw new RuntimeException("url: " + url + " 已被其他方法注册！");
+        }
+        handler.setInterceptors(interceptorRegistry.resolve(url));
+        handlerMap.put(url, handler);
+    }
 }
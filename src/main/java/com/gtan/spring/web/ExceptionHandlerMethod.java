@@ -0,0 +1,97 @@
+package com.gtan.spring.web;
+
+import com.gtan.spring.annotation.ResponseStatus;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.lang.reflect.Method;
+
+/**
+ * ExceptionHandlerMethod - 已解析的 @ExceptionHandler 方法
+ *
+ * <p>注册时预先确定每个参数的注入方式与响应状态码，并复用 {@link WebHandler} 的方法调用器与结果类型判断，
+ * 异常处理方法的返回值因此与普通控制器方法走同一条处理与序列化路径。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-29
+ */
+public class ExceptionHandlerMethod {
+
+    private static final int ARG_EXCEPTION = 0;
+
+    private static final int ARG_REQUEST = 1;
+
+    private static final int ARG_RESPONSE = 2;
+
+    private static final int ARG_NONE = 3;
+
+    private final WebHandler handler;
+
+    private final int[] argKinds;
+
+    /**
+     * 方法上 @ResponseStatus 指定的状态码，未指定时为 -1
+     */
+    private final int status;
+
+    public ExceptionHandlerMethod(Object bean, Method method) {
+        this.handler = new WebHandler(bean, method, null);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        this.argKinds = new int[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> type = parameterTypes[i];
+            if (Throwable.class.isAssignableFrom(type)) {
+                argKinds[i] = ARG_EXCEPTION;
+            } else if (type.isAssignableFrom(HttpServletRequest.class) && ServletRequest.class.isAssignableFrom(type)) {
+                argKinds[i] = ARG_REQUEST;
+            } else if (type.isAssignableFrom(HttpServletResponse.class)
+                    && ServletResponse.class.isAssignableFrom(type)) {
+                argKinds[i] = ARG_RESPONSE;
+            } else {
+                argKinds[i] = ARG_NONE;
+            }
+        }
+        ResponseStatus responseStatus = method.getAnnotation(ResponseStatus.class);
+        this.status = responseStatus != null ? responseStatus.value() : -1;
+    }
+
+    /**
+     * 调用异常处理方法
+     *
+     * @param exception 异常
+     * @param request   HTTP请求
+     * @param response  HTTP响应
+     * @return 方法返回值
+     * @throws Exception 处理方法抛出的异常
+     */
+    public Object invoke(Throwable exception, HttpServletRequest request, HttpServletResponse response)
+            throws Exception {
+        Object[] args = new Object[argKinds.length];
+        for (int i = 0; i < argKinds.length; i++) {
+            args[i] = switch (argKinds[i]) {
+                case ARG_EXCEPTION -> exception;
+                case ARG_REQUEST -> request;
+                case ARG_RESPONSE -> response;
+                default -> null;
+            };
+        }
+        return handler.invoke(args);
+    }
+
+    /**
+     * @return 用于渲染返回值的处理器
+     */
+    public WebHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * @return 方法上指定的状态码，未指定时为 -1
+     */
+    public int getStatus() {
+        return status;
+    }
+}
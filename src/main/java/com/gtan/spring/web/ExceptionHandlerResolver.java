@@ -0,0 +1,202 @@
+package com.gtan.spring.web;
+
+import com.gtan.spring.annotation.ExceptionHandler;
+import com.gtan.spring.annotation.Order;
+import com.gtan.spring.annotation.ResponseStatus;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ExceptionHandlerResolver - 异常处理方法解析器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>注册</strong>：控制器与 @ControllerAdvice Bean 注册时扫描 @ExceptionHandler 方法，
+ *       建立"异常类型 → 处理方法"映射；同一 Bean 中重复声明同一异常类型视为配置错误</li>
+ *   <li><strong>解析</strong>：先查控制器自身，再按 @Order 依次查全局 Advice；沿异常的父类链向上找到第一个映射，
+ *       即继承层次中最接近的处理方法</li>
+ *   <li><strong>缓存</strong>：解析结果（包括"没有处理方法"）按具体异常类缓存在 ConcurrentHashMap 中，
+ *       同类异常再次发生时只需一次 Map 读取，不再遍历继承层次</li>
+ *   <li><strong>状态码</strong>：ResponseStatusException 取自身状态码；否则取异常类上的 @ResponseStatus（结果按类缓存），默认 500</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-29
+ */
+public class ExceptionHandlerResolver {
+
+    private static final StatusInfo INTERNAL_SERVER_ERROR = new StatusInfo(500, null);
+
+    /**
+     * 控制器类 → 控制器自身的异常处理方法
+     */
+    private final Map<Class<?>, HandlerMethods> controllerHandlers = new ConcurrentHashMap<>();
+
+    /**
+     * 全局 Advice，按 @Order 排序，写时复制
+     */
+    private volatile List<HandlerMethods> advices = List.of();
+
+    private final Map<Class<?>, StatusInfo> statusCache = new ConcurrentHashMap<>();
+
+    /**
+     * 注册控制器中的异常处理方法
+     *
+     * @param controller 控制器实例
+     */
+    public void registerController(Object controller) {
+        HandlerMethods methods = HandlerMethods.of(controller, Integer.MAX_VALUE);
+        if (methods != null) {
+            controllerHandlers.put(controller.getClass(), methods);
+        }
+    }
+
+    /**
+     * 注册全局 Advice
+     *
+     * @param advice Advice 实例
+     */
+    public synchronized void registerAdvice(Object advice) {
+        Order order = advice.getClass().getAnnotation(Order.class);
+        HandlerMethods methods = HandlerMethods.of(advice, order != null ? order.value() : Integer.MAX_VALUE);
+        if (methods == null) {
+            return;
+        }
+        List<HandlerMethods> next = new ArrayList<>(advices);
+        next.add(methods);
+        next.sort(Comparator.comparingInt(HandlerMethods::order));
+        advices = List.copyOf(next);
+    }
+
+    /**
+     * 解析处理指定异常的方法
+     *
+     * @param handler   发生异常的处理器
+     * @param exception 异常
+     * @return 异常处理方法，没有时返回 null
+     */
+    public ExceptionHandlerMethod resolve(WebHandler handler, Throwable exception) {
+        Class<? extends Throwable> type = exception.getClass();
+        if (handler != null) {
+            HandlerMethods local = controllerHandlers.get(handler.getControllerBean().getClass());
+            if (local != null) {
+                ExceptionHandlerMethod method = local.resolve(type);
+                if (method != null) {
+                    return method;
+                }
+            }
+        }
+        for (HandlerMethods advice : advices) {
+            ExceptionHandlerMethod method = advice.resolve(type);
+            if (method != null) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析异常对应的 HTTP 状态码
+     *
+     * @param exception 异常
+     * @return 状态码
+     */
+    public int resolveStatus(Throwable exception) {
+        if (exception instanceof ResponseStatusException statusException) {
+            return statusException.getStatus();
+        }
+        return statusOf(exception.getClass()).status();
+    }
+
+    /**
+     * 解析异常的错误说明：@ResponseStatus 的 reason 优先，否则为异常信息
+     *
+     * @param exception 异常
+     * @return 错误说明
+     */
+    public String resolveReason(Throwable exception) {
+        if (!(exception instanceof ResponseStatusException)) {
+            String reason = statusOf(exception.getClass()).reason();
+            if (reason != null) {
+                return reason;
+            }
+        }
+        return exception.getMessage();
+    }
+
+    private StatusInfo statusOf(Class<?> type) {
+        StatusInfo info = statusCache.get(type);
+        if (info == null) {
+            ResponseStatus responseStatus = type.getAnnotation(ResponseStatus.class);
+            info = responseStatus == null ? INTERNAL_SERVER_ERROR
+                    : new StatusInfo(responseStatus.value(),
+                    responseStatus.reason().isEmpty() ? null : responseStatus.reason());
+            statusCache.put(type, info);
+        }
+        return info;
+    }
+
+    private record StatusInfo(int status, String reason) {
+    }
+
+    /**
+     * 单个 Bean 中的异常处理方法及其按异常类的解析缓存
+     */
+    private record HandlerMethods(Map<Class<?>, ExceptionHandlerMethod> mappings,
+                                  Map<Class<?>, Optional<ExceptionHandlerMethod>> cache, int order) {
+
+        private static HandlerMethods of(Object bean, int order) {
+            Map<Class<?>, ExceptionHandlerMethod> mappings = new HashMap<>();
+            for (Method method : bean.getClass().getDeclaredMethods()) {
+                ExceptionHandler exceptionHandler = method.getAnnotation(ExceptionHandler.class);
+                if (exceptionHandler == null) {
+                    continue;
+                }
+                ExceptionHandlerMethod handlerMethod = new ExceptionHandlerMethod(bean, method);
+                for (Class<?> type : exceptionTypes(method, exceptionHandler)) {
+                    if (mappings.put(type, handlerMethod) != null) {
+                        throw new RuntimeException("异常类型 " + type.getName() + " 在 "
+                                + bean.getClass().getName() + " 中存在多个 @ExceptionHandler 方法！");
+                    }
+                }
+            }
+            return mappings.isEmpty() ? null : new HandlerMethods(mappings, new ConcurrentHashMap<>(), order);
+        }
+
+        private static List<Class<?>> exceptionTypes(Method method, ExceptionHandler exceptionHandler) {
+            List<Class<?>> types = new ArrayList<>(List.of(exceptionHandler.value()));
+            if (types.isEmpty()) {
+                for (Class<?> parameterType : method.getParameterTypes()) {
+                    if (Throwable.class.isAssignableFrom(parameterType)) {
+                        types.add(parameterType);
+                    }
+                }
+            }
+            if (types.isEmpty()) {
+                throw new RuntimeException("@ExceptionHandler 方法未声明异常类型: " + method);
+            }
+            return types;
+        }
+
+        private ExceptionHandlerMethod resolve(Class<?> type) {
+            Optional<ExceptionHandlerMethod> cached = cache.get(type);
+            if (cached == null) {
+                ExceptionHandlerMethod found = null;
+                for (Class<?> current = type; current != null && found == null; current = current.getSuperclass()) {
+                    found = mappings.get(current);
+                }
+                cached = Optional.ofNullable(found);
+                cache.put(type, cached);
+            }
+            return cached.orElse(null);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.gtan.spring.web;
+
+/**
+ * HandlerInvoker - 控制器方法调用器
+ *
+ * <p>由 {@link HandlerInvokerFactory} 在处理器注册时生成，请求处理时代替 Method.invoke 直接调用控制器方法。
+ * 控制器方法抛出的异常原样抛出，不会被包装为 InvocationTargetException。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-28
+ */
+@FunctionalInterface
+public interface HandlerInvoker {
+
+    /**
+     * 调用控制器方法
+     *
+     * @param bean 控制器实例
+     * @param args 方法参数
+     * @return 方法返回值，void 方法返回 null
+     * @throws Exception 控制器方法抛出的异常
+     */
+    Object invoke(Object bean, Object[] args) throws Exception;
+}
@@ -0,0 +1,159 @@
+package com.gtan.spring.web;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * HandlerInvokerFactory - 控制器方法调用器工厂
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>LambdaMetafactory</strong>：对参数不超过 4 个、有返回值的实例方法，通过 privateLookupIn 取得控制器类的
+ *       Lookup，并以控制器方法的直接句柄为实现生成 {@link Invoker0} ~ {@link Invoker4} 的实现类。
+ *       生成的类与手写 lambda 相同，直接 invokevirtual 调用控制器方法，参数拆箱、返回值装箱由生成代码完成，
+ *       JIT 可以将调用内联，没有反射的访问检查与可变参数数组复制</li>
+ *   <li><strong>MethodHandle</strong>：void 方法、静态方法或参数更多的方法使用展开参数数组的方法句柄调用</li>
+ *   <li><strong>反射</strong>：上述方式都不可用时（如无法取得私有 Lookup）回退到 Method.invoke，
+ *       并解开 InvocationTargetException 抛出原始异常</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-28
+ */
+public final class HandlerInvokerFactory {
+
+    private static final Class<?>[] INVOKER_TYPES = {
+            Invoker0.class, Invoker1.class, Invoker2.class, Invoker3.class, Invoker4.class
+    };
+
+    private HandlerInvokerFactory() {
+    }
+
+    /**
+     * 为控制器方法生成调用器
+     *
+     * @param method 控制器方法
+     * @return 调用器
+     */
+    public static HandlerInvoker create(Method method) {
+        MethodHandles.Lookup lookup;
+        MethodHandle target;
+        try {
+            lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            target = lookup.unreflect(method);
+        } catch (IllegalAccessException e) {
+            return reflectiveInvoker(method);
+        }
+        int arity = method.getParameterCount();
+        if (!Modifier.isStatic(method.getModifiers()) && method.getReturnType() != void.class
+                && arity < INVOKER_TYPES.length) {
+            try {
+                return lambdaInvoker(lookup, target, arity);
+            } catch (Throwable e) {
+                // LambdaMetafactory 不支持的情况退回到方法句柄
+            }
+        }
+        return methodHandleInvoker(method, target);
+    }
+
+    private static HandlerInvoker lambdaInvoker(MethodHandles.Lookup lookup, MethodHandle target, int arity)
+            throws Throwable {
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "invoke",
+                MethodType.methodType(INVOKER_TYPES[arity]),
+                MethodType.genericMethodType(arity + 1),
+                target,
+                target.type().wrap());
+        Object invoker = callSite.getTarget().invoke();
+        return switch (arity) {
+            case 0 -> {
+                Invoker0 invoker0 = (Invoker0) invoker;
+                yield (bean, args) -> invoker0.invoke(bean);
+            }
+            case 1 -> {
+                Invoker1 invoker1 = (Invoker1) invoker;
+                yield (bean, args) -> invoker1.invoke(bean, args[0]);
+            }
+            case 2 -> {
+                Invoker2 invoker2 = (Invoker2) invoker;
+                yield (bean, args) -> invoker2.invoke(bean, args[0], args[1]);
+            }
+            case 3 -> {
+                Invoker3 invoker3 = (Invoker3) invoker;
+                yield (bean, args) -> invoker3.invoke(bean, args[0], args[1], args[2]);
+            }
+            default -> {
+                Invoker4 invoker4 = (Invoker4) invoker;
+                yield (bean, args) -> invoker4.invoke(bean, args[0], args[1], args[2], args[3]);
+            }
+        };
+    }
+
+    private static HandlerInvoker methodHandleInvoker(Method method, MethodHandle target) {
+        int arity = method.getParameterCount();
+        MethodHandle handle = target;
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        MethodHandle spreader = handle.asType(MethodType.genericMethodType(arity + 1))
+                .asSpreader(Object[].class, arity);
+        return (bean, args) -> {
+            try {
+                return (Object) spreader.invokeExact(bean, args);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    private static HandlerInvoker reflectiveInvoker(Method method) {
+        method.setAccessible(true);
+        return (bean, args) -> {
+            try {
+                return method.invoke(bean, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception exception) {
+                    throw exception;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new RuntimeException(cause);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Invoker0 {
+        Object invoke(Object bean) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Invoker1 {
+        Object invoke(Object bean, Object a0) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Invoker2 {
+        Object invoke(Object bean, Object a0, Object a1) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Invoker3 {
+        Object invoke(Object bean, Object a0, Object a1, Object a2) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Invoker4 {
+        Object invoke(Object bean, Object a0, Object a1, Object a2, Object a3) throws Exception;
+    }
+}
@@ -69,6 +69,11 @@ public class ModelAndView {
 
     private Map<String, String> context = new HashMap<>();
 
+    /**
+     * 响应体对象：@ResponseBody 方法的原始返回值，由 HttpMessageConverter 按 Accept 头序列化
+     */
+    private Object body;
+
     public String getView() {
         return view;
     }
@@ -80,4 +85,12 @@ public class ModelAndView {
     public Map<String, String> getContext() {
         return context;
     }
+
+    public Object getBody() {
+        return body;
+    }
+
+    public void setBody(Object body) {
+        this.body = body;
+    }
 }
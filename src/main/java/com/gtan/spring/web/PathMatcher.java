@@ -0,0 +1,103 @@
+package com.gtan.spring.web;
+
+/**
+ * PathMatcher - Ant 风格路径匹配
+ *
+ * <p>匹配规则：</p>
+ * <ul>
+ *   <li>? 匹配一个字符（不含 /）</li>
+ *   <li>* 匹配路径段内零个或多个字符（不含 /）</li>
+ *   <li>** 匹配零个或多个路径段</li>
+ * </ul>
+ *
+ * <p>示例：/api/** 匹配 /api、/api/user、/api/user/1；/user/*.json 匹配 /user/list.json。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-24
+ */
+public final class PathMatcher {
+
+    private PathMatcher() {
+    }
+
+    /**
+     * 判断路径是否匹配模式
+     *
+     * @param pattern 路径模式
+     * @param path    请求路径
+     * @return 是否匹配
+     */
+    public static boolean match(String pattern, String path) {
+        return matchSegments(tokenize(pattern), 0, tokenize(path), 0);
+    }
+
+    /**
+     * 判断路径是否匹配任一模式
+     *
+     * @param patterns 路径模式
+     * @param path     请求路径
+     * @return 是否匹配
+     */
+    public static boolean matchAny(String[] patterns, String path) {
+        for (String pattern : patterns) {
+            if (match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String[] tokenize(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    private static boolean matchSegments(String[] pattern, int p, String[] path, int s) {
+        while (p < pattern.length) {
+            if ("**".equals(pattern[p])) {
+                // ** 尝试匹配 0 到剩余全部路径段
+                for (int skip = s; skip <= path.length; skip++) {
+                    if (matchSegments(pattern, p + 1, path, skip)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (s >= path.length || !matchSegment(pattern[p], path[s])) {
+                return false;
+            }
+            p++;
+            s++;
+        }
+        return s == path.length;
+    }
+
+    /**
+     * 单个路径段的通配符匹配（* 与 ?），采用回溯到最近一个 * 的贪心算法
+     */
+    private static boolean matchSegment(String pattern, String segment) {
+        int p = 0;
+        int s = 0;
+        int star = -1;
+        int mark = 0;
+        while (s < segment.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == segment.charAt(s))) {
+                p++;
+                s++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                mark = s;
+            } else if (star >= 0) {
+                p = star + 1;
+                s = ++mark;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+}
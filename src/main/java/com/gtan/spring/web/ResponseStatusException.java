@@ -0,0 +1,53 @@
+package com.gtan.spring.web;
+
+/**
+ * ResponseStatusException - 携带 HTTP 状态码的轻量异常
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>构造时关闭堆栈采集（writableStackTrace = false）与异常抑制，创建开销接近普通对象，
+ *       适合参数校验失败、资源不存在等高频、可预期的失败</li>
+ *   <li>没有匹配的 @ExceptionHandler 时，DispatcherServlet 以 {@link #getStatus()} 作为响应状态码</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * User user = userService.find(id);
+ * if (user == null) {
+ *     throw new ResponseStatusException(404, "用户不存在: " + id);
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-29
+ */
+public class ResponseStatusException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    /**
+     * @param status HTTP 状态码
+     * @param reason 错误说明
+     */
+    public ResponseStatusException(int status, String reason) {
+        super(reason, null, false, false);
+        this.status = status;
+    }
+
+    /**
+     * @param status HTTP 状态码
+     * @param reason 错误说明
+     * @param cause  原因
+     */
+    public ResponseStatusException(int status, String reason, Throwable cause) {
+        super(reason, cause, false, false);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
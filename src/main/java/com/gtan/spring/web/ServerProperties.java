@@ -0,0 +1,302 @@
+package com.gtan.spring.web;
+
+import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.ConfigurationProperties;
+import com.gtan.spring.enumeration.ConnectorProtocol;
+import com.gtan.spring.enumeration.ThreadMode;
+import com.gtan.spring.service.Environment;
+import com.gtan.spring.service.EnvironmentChangeEvent;
+
+import java.util.Set;
+
+/**
+ * ServerProperties - 嵌入式服务器配置
+ *
+ * <p>底层原理说明：</p>
+ * <p>通过 @ConfigurationProperties 在依赖注入阶段从 {@link Environment} 中绑定 server.* 配置项，
+ * 未配置的字段保留下列默认值，TomcatServer 启动时据此构建连接器，不再需要修改源码调整参数。</p>
+ *
+ * <p>配置刷新（{@link Environment#refresh()}）后字段被重新绑定：压缩与 multipart 相关配置由 TomcatServer
+ * 监听 {@link EnvironmentChangeEvent} 立即应用，连接器相关配置（端口、线程、协议等）仍需重启才能生效。</p>
+ *
+ * <p>配置示例（application.properties）：</p>
+ * <pre>
+ * server.port=8080
+ * server.protocol=nio2
+ * server.thread-mode=virtual
+ * server.max-threads=400
+ * server.accept-count=200
+ * server.max-connections=10000
+ * server.keep-alive-timeout=15000
+ * server.socket-receive-buffer-size=65536
+ * server.http2-enabled=true
+ * server.http2-max-concurrent-streams=200
+ * server.http2-initial-window-size=1048576
+ * server.compression-min-size=2048
+ * server.multipart-max-file-size=1073741824
+ * </pre>
+ *
+ * <p>也可以通过环境变量（SERVER_MAX_THREADS=400）或系统属性（-Dserver.max-threads=400）覆盖。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-23
+ * @see TomcatServer
+ * @see Environment
+ */
+@Component
+@ConfigurationProperties(prefix = "server")
+public class ServerProperties {
+
+    /**
+     * 监听端口
+     */
+    private int port = 8080;
+
+    /**
+     * 上下文路径，空字符串表示根路径
+     */
+    private String contextPath = "";
+
+    /**
+     * 文档根目录
+     */
+    private String docBase = ".";
+
+    /**
+     * 连接器 I/O 模型
+     */
+    private ConnectorProtocol protocol = ConnectorProtocol.NIO;
+
+    /**
+     * 请求处理线程模式
+     */
+    private ThreadMode threadMode = ThreadMode.PLATFORM;
+
+    /**
+     * 平台线程模式下的最大工作线程数
+     */
+    private int maxThreads = 200;
+
+    /**
+     * 平台线程模式下的最小空闲线程数
+     */
+    private int minSpareThreads = 10;
+
+    /**
+     * 连接数达到上限后操作系统等待队列长度
+     */
+    private int acceptCount = 100;
+
+    /**
+     * 最大连接数
+     */
+    private int maxConnections = 8192;
+
+    /**
+     * 建立连接后等待请求行的超时时间（毫秒）
+     */
+    private int connectionTimeout = 20000;
+
+    /**
+     * keep-alive 连接等待下一个请求的超时时间（毫秒），-1 表示与 connectionTimeout 相同
+     */
+    private int keepAliveTimeout = -1;
+
+    /**
+     * 单个 keep-alive 连接最多处理的请求数，-1 表示不限制
+     */
+    private int maxKeepAliveRequests = 100;
+
+    /**
+     * socket 接收缓冲区大小（字节），-1 表示使用操作系统默认值
+     */
+    private int socketReceiveBufferSize = -1;
+
+    /**
+     * socket 发送缓冲区大小（字节），-1 表示使用操作系统默认值
+     */
+    private int socketSendBufferSize = -1;
+
+    /**
+     * 是否启用 TCP_NODELAY
+     */
+    private boolean tcpNoDelay = true;
+
+    /**
+     * 是否启用 HTTP/2：TLS 连接通过 ALPN 协商，明文连接支持 h2c（Upgrade 头或 prior knowledge）
+     */
+    private boolean http2Enabled = false;
+
+    /**
+     * 单个 HTTP/2 连接允许客户端同时打开的最大流数
+     */
+    private int http2MaxConcurrentStreams = 100;
+
+    /**
+     * 单个 HTTP/2 连接同时在工作线程上执行的最大流数，超出的流排队等待
+     */
+    private int http2MaxConcurrentStreamExecution = 20;
+
+    /**
+     * HTTP/2 流级别初始流控窗口（字节），增大可减少大响应的 WINDOW_UPDATE 往返
+     */
+    private int http2InitialWindowSize = 65535;
+
+    /**
+     * HTTP/2 连接空闲超时（毫秒）
+     */
+    private long http2KeepAliveTimeout = 20000;
+
+    /**
+     * 是否启用动态响应压缩
+     */
+    private boolean compressionEnabled = true;
+
+    /**
+     * 响应压缩最小阈值（字节）
+     */
+    private int compressionMinSize = 1024;
+
+    /**
+     * 允许压缩的 MIME 类型，为空时使用内置白名单
+     */
+    private Set<String> compressionMimeTypes = Set.of();
+
+    /**
+     * 单个上传文件的最大字节数，-1 表示不限制
+     */
+    private long multipartMaxFileSize = 10L * 1024 * 1024;
+
+    /**
+     * multipart 请求体的最大字节数，-1 表示不限制
+     */
+    private long multipartMaxRequestSize = 50L * 1024 * 1024;
+
+    /**
+     * multipart 普通字段的最大字节数，-1 表示不限制
+     */
+    private long multipartMaxFieldSize = 64 * 1024;
+
+    /**
+     * multipart 解析缓冲区大小（字节）
+     */
+    private int multipartBufferSize = 64 * 1024;
+
+    /**
+     * 上传临时文件目录，空字符串表示使用 java.io.tmpdir
+     */
+    private String multipartLocation = "";
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    public String getDocBase() {
+        return docBase;
+    }
+
+    public ConnectorProtocol getProtocol() {
+        return protocol;
+    }
+
+    public ThreadMode getThreadMode() {
+        return threadMode;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public int getMinSpareThreads() {
+        return minSpareThreads;
+    }
+
+    public int getAcceptCount() {
+        return acceptCount;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public int getKeepAliveTimeout() {
+        return keepAliveTimeout;
+    }
+
+    public int getMaxKeepAliveRequests() {
+        return maxKeepAliveRequests;
+    }
+
+    public int getSocketReceiveBufferSize() {
+        return socketReceiveBufferSize;
+    }
+
+    public int getSocketSendBufferSize() {
+        return socketSendBufferSize;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public int getHttp2MaxConcurrentStreams() {
+        return http2MaxConcurrentStreams;
+    }
+
+    public int getHttp2MaxConcurrentStreamExecution() {
+        return http2MaxConcurrentStreamExecution;
+    }
+
+    public int getHttp2InitialWindowSize() {
+        return http2InitialWindowSize;
+    }
+
+    public long getHttp2KeepAliveTimeout() {
+        return http2KeepAliveTimeout;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public int getCompressionMinSize() {
+        return compressionMinSize;
+    }
+
+    public Set<String> getCompressionMimeTypes() {
+        return compressionMimeTypes;
+    }
+
+    public long getMultipartMaxFileSize() {
+        return multipartMaxFileSize;
+    }
+
+    public long getMultipartMaxRequestSize() {
+        return multipartMaxRequestSize;
+    }
+
+    public long getMultipartMaxFieldSize() {
+        return multipartMaxFieldSize;
+    }
+
+    public int getMultipartBufferSize() {
+        return multipartBufferSize;
+    }
+
+    public String getMultipartLocation() {
+        return multipartLocation;
+    }
+}
@@ -0,0 +1,255 @@
+package com.gtan.spring.web;
+
+import com.alibaba.fastjson2.JSON;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SseEmitter - Server-Sent Events 推送器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>控制器方法返回 SseEmitter 后请求进入 Servlet 异步模式，Tomcat 工作线程立即释放，连接保持打开</li>
+ *   <li>业务代码在任意线程调用 send 时，事件在调用线程上编码为 text/event-stream 格式的字节，放入有界队列，
+ *       再由非阻塞输出（WriteListener）在连接可写时写出；队列排空后统一 flush 一次，合并相邻事件的网络写</li>
+ *   <li>背压：队列已满（客户端读取过慢）时 send 返回 false，由生产者决定丢弃、合并或稍后重试，不会无限占用内存</li>
+ *   <li>客户端断开、超时或调用 complete 后 send 返回 false</li>
+ *   <li>data 为 String 时原样输出（多行拆分为多个 data 字段），其他对象序列化为 JSON</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;RequestMapping("/events")
+ * public SseEmitter events() {
+ *     SseEmitter emitter = new SseEmitter();
+ *     priceService.subscribe(price -&gt; emitter.send("price", price));
+ *     emitter.onCompletion(() -&gt; priceService.unsubscribe(emitter));
+ *     return emitter;
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-30
+ */
+public class SseEmitter {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final Long timeout;
+
+    private final int capacity;
+
+    private final Queue<byte[]> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private volatile boolean completed;
+
+    private volatile Throwable error;
+
+    private volatile Runnable signal;
+
+    private volatile Runnable timeoutCallback;
+
+    private volatile Runnable completionCallback;
+
+    public SseEmitter() {
+        this(null);
+    }
+
+    /**
+     * @param timeout 超时时间（毫秒），为 null 时使用路由的 @AsyncTimeout，都未指定时不超时
+     */
+    public SseEmitter(Long timeout) {
+        this(timeout, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param timeout  超时时间（毫秒）
+     * @param capacity 待发送事件队列容量
+     */
+    public SseEmitter(Long timeout, int capacity) {
+        this.timeout = timeout;
+        this.capacity = capacity;
+    }
+
+    /**
+     * 发送只有数据的事件
+     *
+     * @param data 数据
+     * @return 是否进入发送队列
+     */
+    public boolean send(Object data) {
+        return send(null, null, data);
+    }
+
+    /**
+     * 发送命名事件
+     *
+     * @param event 事件名
+     * @param data  数据
+     * @return 是否进入发送队列
+     */
+    public boolean send(String event, Object data) {
+        return send(null, event, data);
+    }
+
+    /**
+     * 发送事件
+     *
+     * @param id    事件 ID（客户端重连时通过 Last-Event-ID 带回），可为 null
+     * @param event 事件名，可为 null
+     * @param data  数据
+     * @return 是否进入发送队列（已完成或队列已满时返回 false）
+     */
+    public boolean send(String id, String event, Object data) {
+        StringBuilder builder = new StringBuilder(64);
+        if (id != null) {
+            builder.append("id: ").append(id).append('\n');
+        }
+        if (event != null) {
+            builder.append("event: ").append(event).append('\n');
+        }
+        String text = data instanceof String string ? string : JSON.toJSONString(data);
+        for (String line : text.split("\n", -1)) {
+            builder.append("data: ").append(line).append('\n');
+        }
+        builder.append('\n');
+        return enqueue(builder.toString());
+    }
+
+    /**
+     * 发送注释行，客户端忽略其内容，可用作心跳保持连接
+     *
+     * @param comment 注释
+     * @return 是否进入发送队列
+     */
+    public boolean comment(String comment) {
+        return enqueue(": " + comment + "\n\n");
+    }
+
+    private boolean enqueue(String frame) {
+        if (completed) {
+            return false;
+        }
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            return false;
+        }
+        queue.offer(frame.getBytes(StandardCharsets.UTF_8));
+        signal();
+        return true;
+    }
+
+    /**
+     * 正常结束推送，已入队的事件发送完毕后关闭响应
+     */
+    public void complete() {
+        completed = true;
+        signal();
+    }
+
+    /**
+     * 以异常结束推送
+     *
+     * @param error 异常
+     */
+    public void completeWithError(Throwable error) {
+        this.error = error;
+        completed = true;
+        signal();
+    }
+
+    /**
+     * @return 是否已结束
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * 注册超时回调
+     *
+     * @param callback 回调
+     */
+    public void onTimeout(Runnable callback) {
+        this.timeoutCallback = callback;
+    }
+
+    /**
+     * 注册完成回调，在响应关闭后执行（包括超时与客户端断开）
+     *
+     * @param callback 回调
+     */
+    public void onCompletion(Runnable callback) {
+        this.completionCallback = callback;
+    }
+
+    public Long getTimeout() {
+        return timeout;
+    }
+
+    private void signal() {
+        Runnable current = signal;
+        if (current != null) {
+            current.run();
+        }
+    }
+
+    /**
+     * 由 StreamingResponse 设置写出通知，之前已入队的事件立即开始写出
+     */
+    void attach(Runnable signal) {
+        this.signal = signal;
+        signal.run();
+    }
+
+    /**
+     * @return 下一个待写出的事件帧，没有时返回 null
+     */
+    byte[] poll() {
+        byte[] frame = queue.poll();
+        if (frame != null) {
+            queued.decrementAndGet();
+        }
+        return frame;
+    }
+
+    /**
+     * @return 是否已结束且所有事件都已取出
+     */
+    boolean isDrained() {
+        return completed && queue.isEmpty();
+    }
+
+    Throwable getError() {
+        return error;
+    }
+
+    /**
+     * 超时处理
+     */
+    void expire() {
+        completed = true;
+        Runnable callback = timeoutCallback;
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    /**
+     * 响应关闭后的处理
+     */
+    void closed() {
+        completed = true;
+        queue.clear();
+        Runnable callback = completionCallback;
+        if (callback != null) {
+            callback.run();
+        }
+    }
+}
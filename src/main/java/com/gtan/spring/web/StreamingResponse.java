@@ -0,0 +1,298 @@
+package com.gtan.spring.web;
+
+import com.alibaba.fastjson2.JSON;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * StreamingResponse - 基于 Servlet 非阻塞输出的流式响应
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>不占用线程</strong>：运行在 Servlet 异步模式下，通过 WriteListener 在连接可写时由容器回调写出，
+ *       连接打开期间没有任何线程阻塞等待</li>
+ *   <li><strong>背压</strong>：每写一块前检查 isReady()，不可写时立即返回，待容器回调 onWritePossible 后继续；
+ *       Stream/Iterator 的下一个元素只在可写时才被拉取和序列化，慢客户端不会导致结果集堆积在内存中</li>
+ *   <li><strong>刷新</strong>：暂时没有更多数据（SSE 队列已空）或数据全部写完时才 flush，
+ *       Stream/Iterator 的大量小元素由容器缓冲区合并写出</li>
+ *   <li><strong>串行化</strong>：容器回调与 SSE 生产者线程可能同时触发写出，通过 wip 计数保证同一时刻只有一个线程写输出流，
+ *       其余线程的请求由当前写出线程补做</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-30
+ */
+final class StreamingResponse implements WriteListener, AsyncListener {
+
+    private final AsyncContext asyncContext;
+
+    private final ChunkSource source;
+
+    private final Consumer<Throwable> completion;
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    private ServletOutputStream out;
+
+    /**
+     * 上次 flush 之后是否写出过数据，只在持有 wip 的线程中访问
+     */
+    private boolean dirty;
+
+    private StreamingResponse(AsyncContext asyncContext, ChunkSource source, Consumer<Throwable> completion) {
+        this.asyncContext = asyncContext;
+        this.source = source;
+        this.completion = completion;
+    }
+
+    /**
+     * 以 text/event-stream 输出 SseEmitter 的事件
+     *
+     * @param asyncContext 异步上下文
+     * @param response     原始响应
+     * @param emitter      推送器
+     * @param completion   响应结束回调，参数为异常（正常结束时为 null）
+     */
+    static void sse(AsyncContext asyncContext, HttpServletResponse response, SseEmitter emitter,
+                    Consumer<Throwable> completion) throws IOException {
+        response.setContentType("text/event-stream;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+        StreamingResponse streaming = new StreamingResponse(asyncContext, new EmitterSource(emitter), completion);
+        streaming.start(response);
+        emitter.attach(streaming::drain);
+    }
+
+    /**
+     * 逐个输出迭代器中的元素，每个元素一行
+     *
+     * @param asyncContext 异步上下文
+     * @param response     原始响应
+     * @param iterator     元素迭代器
+     * @param json         是否以 JSON 序列化元素（application/x-ndjson），否则输出 toString（text/plain）
+     * @param onClose      结束时释放资源（如关闭 Stream），可为 null
+     * @param completion   响应结束回调
+     */
+    static void lines(AsyncContext asyncContext, HttpServletResponse response, Iterator<?> iterator, boolean json,
+                      Runnable onClose, Consumer<Throwable> completion) throws IOException {
+        response.setContentType(json ? "application/x-ndjson;charset=UTF-8" : "text/plain;charset=UTF-8");
+        new StreamingResponse(asyncContext, new IteratorSource(iterator, json, onClose), completion)
+                .start(response);
+    }
+
+    private void start(HttpServletResponse response) throws IOException {
+        asyncContext.addListener(this);
+        out = response.getOutputStream();
+        out.setWriteListener(this);
+    }
+
+    @Override
+    public void onWritePossible() {
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        finish(throwable);
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            drainLoop();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainLoop() {
+        if (finished.get() || out == null) {
+            return;
+        }
+        try {
+            while (out.isReady()) {
+                byte[] chunk = source.next();
+                if (chunk != null) {
+                    out.write(chunk);
+                    dirty = true;
+                    continue;
+                }
+                if (dirty) {
+                    out.flush();
+                    dirty = false;
+                    continue;
+                }
+                if (source.isFinished()) {
+                    finish(source.getError());
+                }
+                return;
+            }
+        } catch (Throwable e) {
+            finish(e);
+        }
+    }
+
+    private void finish(Throwable error) {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            source.close();
+        } finally {
+            try {
+                completion.accept(error);
+            } finally {
+                asyncContext.complete();
+            }
+        }
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        source.expire();
+        finish(source.isTimeoutNormal() ? null : new TimeoutException("流式响应超时"));
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        finish(event.getThrowable());
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        finish(null);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    /**
+     * 流式数据来源
+     */
+    private interface ChunkSource {
+
+        /**
+         * @return 下一块数据，暂时没有时返回 null
+         */
+        byte[] next() throws Exception;
+
+        /**
+         * @return 是否已没有更多数据
+         */
+        boolean isFinished();
+
+        default Throwable getError() {
+            return null;
+        }
+
+        default void expire() {
+        }
+
+        /**
+         * @return 超时是否视为正常结束
+         */
+        default boolean isTimeoutNormal() {
+            return false;
+        }
+
+        void close();
+    }
+
+    private static final class EmitterSource implements ChunkSource {
+
+        private final SseEmitter emitter;
+
+        private EmitterSource(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public byte[] next() {
+            return emitter.poll();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return emitter.isDrained();
+        }
+
+        @Override
+        public Throwable getError() {
+            return emitter.getError();
+        }
+
+        @Override
+        public void expire() {
+            emitter.expire();
+        }
+
+        @Override
+        public boolean isTimeoutNormal() {
+            // SSE 超时后客户端会自动重连，按正常结束处理
+            return true;
+        }
+
+        @Override
+        public void close() {
+            emitter.closed();
+        }
+    }
+
+    private static final class IteratorSource implements ChunkSource {
+
+        private final Iterator<?> iterator;
+
+        private final boolean json;
+
+        private final Runnable onClose;
+
+        private boolean exhausted;
+
+        private IteratorSource(Iterator<?> iterator, boolean json, Runnable onClose) {
+            this.iterator = iterator;
+            this.json = json;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public byte[] next() {
+            if (!iterator.hasNext()) {
+                exhausted = true;
+                return null;
+            }
+            Object item = iterator.next();
+            String line = json ? JSON.toJSONString(item) : String.valueOf(item);
+            return (line + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return exhausted;
+        }
+
+        @Override
+        public void close() {
+            if (onClose != null) {
+                onClose.run();
+            }
+        }
+    }
+}
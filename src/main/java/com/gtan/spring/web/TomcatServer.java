@@ -2,17 +2,28 @@ package com.gtan.spring.web;
 
 import com.gtan.spring.annotation.Autowired;
 import com.gtan.spring.annotation.Component;
+import com.gtan.spring.annotation.EventListener;
 import com.gtan.spring.annotation.PostConstruct;
+import com.gtan.spring.enumeration.ThreadMode;
+import com.gtan.spring.service.EnvironmentChangeEvent;
+import com.gtan.spring.web.compress.ResponseCompressor;
+import com.gtan.spring.web.multipart.MultipartResolver;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.websocket.server.ServerContainer;
 import org.apache.catalina.Context;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.connector.Connector;
 import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http2.Http2Protocol;
+import org.apache.tomcat.websocket.server.WsSci;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.logging.LogManager;
 
 /**
@@ -30,10 +41,15 @@ import java.util.logging.LogManager;
  * 
  * <p>配置细节：</p>
  * <ul>
+ *   <li><strong>外部化配置</strong>：端口、上下文路径、连接器协议、线程池、keep-alive、socket 缓冲区、
+ *       HTTP/2 与压缩等参数均来自 ServerProperties（server.* 配置项）</li>
+ *   <li><strong>HTTP/2</strong>：server.http2-enabled=true 时在明文连接上启用 h2c，可配置流并发数与流控窗口</li>
  *   <li><strong>端口配置</strong>：默认 8080 端口</li>
- *   <li><strong>上下文路径</strong>：空字符串，表示根路径访问</li>
- *   <li><strong>文档根目录</strong>：当前工作目录（项目根目录）</li>
+ *   <li><strong>线程模式</strong>：server.thread-mode=virtual 时连接器与框架异步任务使用虚拟线程，默认平台线程池</li>
+ *   <li><strong>上下文路径</strong>：默认空字符串，表示根路径访问</li>
+ *   <li><strong>文档根目录</strong>：默认当前工作目录（项目根目录）</li>
  *   <li><strong>Servlet 映射</strong>：/* 匹配所有请求，实现前端控制器模式</li>
+ *   <li><strong>WebSocket</strong>：注册 Tomcat 的 JSR-356 实现，WebSocket 升级请求由 WsFilter 在 DispatcherServlet 之前处理</li>
  * </ul>
  * 
  * <p>日志配置：</p>
@@ -71,29 +87,133 @@ public class TomcatServer {
     @Autowired
     private DispatcherServlet dispatcherServlet;
 
+    @Autowired
+    private ServerProperties serverProperties;
+
     @PostConstruct
     public void start() {
         LogManager.getLogManager().reset();
         SLF4JBridgeHandler.removeHandlersForRootLogger();
         SLF4JBridgeHandler.install();
 
-        int port = 8080;
         Tomcat tomcat = new Tomcat();
-        tomcat.setPort(port);
-        tomcat.getConnector();
+        Connector connector = createConnector();
+        tomcat.setConnector(connector);
+        ThreadMode threadMode = serverProperties.getThreadMode();
+        dispatcherServlet.setAsyncThreadMode(threadMode);
+        dispatcherServlet.getWebSocketRegistry().setThreadMode(threadMode);
+        configureCompression();
+        configureMultipart();
 
-        String contextPath = "";
-        String docBase = new File(".").getAbsolutePath();
+        String contextPath = serverProperties.getContextPath();
+        String docBase = new File(serverProperties.getDocBase()).getAbsolutePath();
         Context context = tomcat.addContext(contextPath, docBase);
+        // 静态资源处理器依赖 ServletContext 推断 Content-Type
+        Tomcat.addDefaultMimeTypeMappings(context);
+        // WsSci 在上下文启动时创建 JSR-356 容器（注册 WsFilter 拦截升级请求），随后把 @WebSocketEndpoint 端点部署进去
+        context.addServletContainerInitializer(new WsSci(), null);
+        context.addServletContainerInitializer((classes, servletContext) -> dispatcherServlet.getWebSocketRegistry()
+                .bind((ServerContainer) servletContext.getAttribute(ServerContainer.class.getName())), null);
 
-        tomcat.addServlet(contextPath, "dispatcherServlet", dispatcherServlet);
+        Wrapper wrapper = tomcat.addServlet(contextPath, "dispatcherServlet", dispatcherServlet);
+        // 支持控制器返回 CompletableFuture、Callable、DeferredResult 时进入 Servlet 异步模式
+        wrapper.setAsyncSupported(true);
         context.addServletMappingDecoded("/*", "dispatcherServlet");
         try {
             tomcat.start();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
-        System.out.println("Tomcat started on port " + port);
+        System.out.println("Tomcat started on port " + serverProperties.getPort() + " ("
+                + serverProperties.getProtocol().name().toLowerCase() + ", "
+                + threadMode.name().toLowerCase() + " threads)");
+    }
+
+    /**
+     * 根据 ServerProperties 创建连接器
+     *
+     * @return 配置完成的连接器
+     */
+    private Connector createConnector() {
+        Connector connector = new Connector(serverProperties.getProtocol().getClassName());
+        connector.setPort(serverProperties.getPort());
+        // 虚拟线程模式下由 Tomcat 为每个请求创建虚拟线程，替代默认的平台线程池
+        connector.setProperty("useVirtualThreads",
+                String.valueOf(serverProperties.getThreadMode() == ThreadMode.VIRTUAL));
+        connector.setProperty("maxThreads", String.valueOf(serverProperties.getMaxThreads()));
+        connector.setProperty("minSpareThreads", String.valueOf(serverProperties.getMinSpareThreads()));
+        connector.setProperty("acceptCount", String.valueOf(serverProperties.getAcceptCount()));
+        connector.setProperty("maxConnections", String.valueOf(serverProperties.getMaxConnections()));
+        connector.setProperty("connectionTimeout", String.valueOf(serverProperties.getConnectionTimeout()));
+        connector.setProperty("keepAliveTimeout", String.valueOf(serverProperties.getKeepAliveTimeout()));
+        connector.setProperty("maxKeepAliveRequests", String.valueOf(serverProperties.getMaxKeepAliveRequests()));
+        connector.setProperty("socket.tcpNoDelay", String.valueOf(serverProperties.isTcpNoDelay()));
+        if (serverProperties.getSocketReceiveBufferSize() > 0) {
+            connector.setProperty("socket.rxBufSize", String.valueOf(serverProperties.getSocketReceiveBufferSize()));
+        }
+        if (serverProperties.getSocketSendBufferSize() > 0) {
+            connector.setProperty("socket.txBufSize", String.valueOf(serverProperties.getSocketSendBufferSize()));
+        }
+        if (serverProperties.isHttp2Enabled()) {
+            connector.addUpgradeProtocol(createHttp2Protocol());
+        }
+        return connector;
+    }
+
+    /**
+     * 创建 HTTP/2 升级协议：明文连接上同时支持 h2c 升级与 prior knowledge 直连，
+     * 多个请求在同一 TCP 连接上以独立流并发传输，消除 HTTP/1.1 keep-alive 的队头阻塞
+     *
+     * @return HTTP/2 协议配置
+     */
+    private Http2Protocol createHttp2Protocol() {
+        Http2Protocol http2Protocol = new Http2Protocol();
+        http2Protocol.setMaxConcurrentStreams(serverProperties.getHttp2MaxConcurrentStreams());
+        http2Protocol.setMaxConcurrentStreamExecution(serverProperties.getHttp2MaxConcurrentStreamExecution());
+        http2Protocol.setInitialWindowSize(serverProperties.getHttp2InitialWindowSize());
+        http2Protocol.setKeepAliveTimeout(serverProperties.getHttp2KeepAliveTimeout());
+        return http2Protocol;
+    }
+
+    /**
+     * 将压缩配置应用到 DispatcherServlet 的响应压缩阶段（Tomcat 连接器自身的压缩保持关闭，避免重复压缩）
+     */
+    private void configureCompression() {
+        ResponseCompressor compressor = dispatcherServlet.getResponseCompressor();
+        compressor.setEnabled(serverProperties.isCompressionEnabled());
+        compressor.setMinSize(serverProperties.getCompressionMinSize());
+        // 为空时恢复内置白名单，运行时清空配置项同样生效
+        compressor.setMimeTypes(serverProperties.getCompressionMimeTypes().isEmpty()
+                ? ResponseCompressor.DEFAULT_MIME_TYPES : serverProperties.getCompressionMimeTypes());
+    }
+
+    /**
+     * 配置刷新后重新应用可在运行时调整的压缩与 multipart 配置
+     *
+     * @param event 配置变化事件
+     */
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.hasChanged("server.compression")) {
+            configureCompression();
+        }
+        if (event.hasChanged("server.multipart")) {
+            configureMultipart();
+        }
+    }
+
+    /**
+     * 将上传大小限制、解析缓冲区与临时目录应用到 DispatcherServlet 的 multipart 解析器
+     */
+    private void configureMultipart() {
+        MultipartResolver resolver = dispatcherServlet.getMultipartResolver();
+        resolver.setMaxFileSize(serverProperties.getMultipartMaxFileSize());
+        resolver.setMaxRequestSize(serverProperties.getMultipartMaxRequestSize());
+        resolver.setMaxFieldSize(serverProperties.getMultipartMaxFieldSize());
+        resolver.setBufferSize(serverProperties.getMultipartBufferSize());
+        // 为空时使用 java.io.tmpdir
+        resolver.setLocation(serverProperties.getMultipartLocation().isEmpty()
+                ? null : Path.of(serverProperties.getMultipartLocation()));
     }
     
     /**
@@ -1,9 +1,17 @@
 package com.gtan.spring.web;
 
+import com.gtan.spring.annotation.AsyncTimeout;
 import com.gtan.spring.annotation.ResponseBody;
 import com.gtan.spring.enumeration.ResultType;
+import com.gtan.spring.interceptor.Interceptor;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
 
 /**
  * @author gangtann@126.com
@@ -16,24 +24,90 @@ public class WebHandler {
 
     private final Method method;
 
+    /**
+     * 启动时生成的方法调用器，代替 Method.invoke
+     */
+    private final HandlerInvoker invoker;
+
+    /**
+     * 处理器映射的 URL
+     */
+    private final String url;
+
     private final ResultType resultType;
 
-    public WebHandler(Object controllerBean, Method method) {
+    /**
+     * 异步结果超时时间（毫秒），-1 表示使用容器默认值
+     */
+    private final long asyncTimeout;
+
+    /**
+     * 预先计算的拦截器链（已按路径过滤并排序），请求处理时直接遍历
+     */
+    private volatile Interceptor[] interceptors = new Interceptor[0];
+
+    public WebHandler(Object controllerBean, Method method, String url) {
         this.controllerBean = controllerBean;
         this.method = method;
+        this.invoker = HandlerInvokerFactory.create(method);
+        this.url = url;
         this.resultType = resolveResultType(controllerBean, method);
+        AsyncTimeout timeout = method.getAnnotation(AsyncTimeout.class);
+        this.asyncTimeout = timeout != null ? timeout.value() : -1;
     }
 
     private ResultType resolveResultType(Object controllerBean, Method method) {
         if (method.isAnnotationPresent(ResponseBody.class)) {
             return ResultType.JSON;
         }
-        if (method.getReturnType() == ModelAndView.class) {
+        if (resolveValueType(method) == ModelAndView.class) {
             return ResultType.LOCAL;
         }
         return ResultType.HTML;
     }
 
+    /**
+     * 解析方法最终产出的值类型，异步返回类型（CompletionStage、Callable、DeferredResult）取其泛型参数
+     */
+    private static Type resolveValueType(Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (!isAsyncType(returnType)) {
+            return returnType;
+        }
+        if (method.getGenericReturnType() instanceof ParameterizedType parameterizedType) {
+            Type valueType = parameterizedType.getActualTypeArguments()[0];
+            if (valueType instanceof ParameterizedType nested) {
+                return nested.getRawType();
+            }
+            return valueType;
+        }
+        return Object.class;
+    }
+
+    /**
+     * 判断是否为异步返回类型
+     *
+     * @param type 返回值类型
+     * @return 是否为异步返回类型
+     */
+    public static boolean isAsyncType(Class<?> type) {
+        return CompletionStage.class.isAssignableFrom(type)
+                || Callable.class.isAssignableFrom(type)
+                || DeferredResult.class.isAssignableFrom(type);
+    }
+
+    /**
+     * 判断是否为流式返回类型
+     *
+     * @param type 返回值类型
+     * @return 是否为流式返回类型
+     */
+    public static boolean isStreamingType(Class<?> type) {
+        return Stream.class.isAssignableFrom(type)
+                || Iterator.class.isAssignableFrom(type)
+                || SseEmitter.class.isAssignableFrom(type);
+    }
+
     public Object getControllerBean() {
         return controllerBean;
     }
@@ -42,7 +116,34 @@ public class WebHandler {
         return method;
     }
 
+    /**
+     * 调用控制器方法，方法抛出的异常原样抛出
+     *
+     * @param args 方法参数
+     * @return 方法返回值
+     * @throws Exception 控制器方法抛出的异常
+     */
+    public Object invoke(Object[] args) throws Exception {
+        return invoker.invoke(controllerBean, args);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
     public ResultType getResultType() {
         return resultType;
     }
+
+    public long getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    public Interceptor[] getInterceptors() {
+        return interceptors;
+    }
+
+    public void setInterceptors(Interceptor[] interceptors) {
+        this.interceptors = interceptors;
+    }
 }
@@ -0,0 +1,328 @@
+package com.gtan.spring.web.compress;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * CompressingResponseWrapper - 流式压缩响应包装
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>写出的数据先进入阈值大小的缓冲区，超过阈值或声明的 Content-Length 不小于阈值时开始压缩</li>
+ *   <li>压缩开始后数据直接经 Deflater 流式写入底层输出流，不在内存中保留完整响应</li>
+ *   <li>gzip 格式由本类写出 10 字节头部与 CRC32/长度尾部，Deflater 使用 nowrap 模式，从而可以复用池化的 Deflater</li>
+ *   <li>显式 flush 使用 SYNC_FLUSH，保证已写出的数据可以被客户端立即解压</li>
+ *   <li>压缩时拦截 Content-Length，由容器改用分块传输</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-21
+ * @see ResponseCompressor
+ */
+public class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final ResponseCompressor compressor;
+
+    private final String encoding;
+
+    private CompressingOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    /**
+     * 处理器声明的响应长度，-1 表示未知
+     */
+    private long declaredLength = -1;
+
+    public CompressingResponseWrapper(HttpServletResponse response, ResponseCompressor compressor, String encoding) {
+        super(response);
+        this.compressor = compressor;
+        this.encoding = encoding;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            outputStream = new CompressingOutputStream(super.getOutputStream());
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        declaredLength = len;
+        if (outputStream != null && outputStream.state == State.IDENTITY) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        } else if (outputStream != null) {
+            outputStream.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (outputStream != null) {
+            outputStream.resetBuffer();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (outputStream != null) {
+            outputStream.resetBuffer();
+        }
+        declaredLength = -1;
+        super.reset();
+    }
+
+    /**
+     * 输出剩余数据与压缩尾部
+     *
+     * @throws IOException 写出异常
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream != null) {
+            outputStream.finish();
+        }
+    }
+
+    private enum State {
+        /**
+         * 尚未决定是否压缩，数据暂存在缓冲区
+         */
+        BUFFERING,
+        /**
+         * 原样输出
+         */
+        IDENTITY,
+        /**
+         * 压缩输出
+         */
+        COMPRESSING,
+        /**
+         * 已完成
+         */
+        FINISHED
+    }
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+
+        private final byte[] buffer;
+
+        private int count;
+
+        private State state = State.BUFFERING;
+
+        private Deflater deflater;
+
+        private CRC32 crc;
+
+        private byte[] deflateBuffer;
+
+        private CompressingOutputStream(ServletOutputStream target) {
+            this.target = target;
+            this.buffer = new byte[Math.max(compressor.getMinSize(), 1)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (state == State.FINISHED) {
+                throw new IOException("Response has already been finished");
+            }
+            if (state == State.BUFFERING) {
+                decideEarly();
+            }
+            if (state == State.BUFFERING) {
+                if (count + len <= buffer.length) {
+                    System.arraycopy(b, off, buffer, count, len);
+                    count += len;
+                    return;
+                }
+                // 超过阈值：满足条件则开始压缩，否则原样输出
+                start(isCompressible());
+            }
+            if (state == State.IDENTITY) {
+                target.write(b, off, len);
+            } else {
+                deflate(b, off, len, Deflater.NO_FLUSH);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (state == State.BUFFERING) {
+                start(isCompressible());
+            }
+            if (state == State.COMPRESSING) {
+                deflate(new byte[0], 0, 0, Deflater.SYNC_FLUSH);
+            }
+            if (state != State.FINISHED) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            target.setWriteListener(writeListener);
+        }
+
+        private void resetBuffer() {
+            if (state == State.BUFFERING) {
+                count = 0;
+            }
+        }
+
+        /**
+         * 已声明长度或已设置编码时无需缓冲即可决定
+         */
+        private void decideEarly() throws IOException {
+            if (getHeader("Content-Encoding") != null) {
+                start(false);
+            } else if (declaredLength >= 0) {
+                start(declaredLength >= compressor.getMinSize() && isCompressible());
+            }
+        }
+
+        private boolean isCompressible() {
+            return getHeader("Content-Encoding") == null && compressor.isCompressible(getContentType());
+        }
+
+        private void start(boolean compress) throws IOException {
+            if (!compress) {
+                state = State.IDENTITY;
+                if (declaredLength >= 0) {
+                    CompressingResponseWrapper.super.setContentLengthLong(declaredLength);
+                }
+                target.write(buffer, 0, count);
+                count = 0;
+                return;
+            }
+            state = State.COMPRESSING;
+            setHeader("Content-Encoding", encoding);
+            addHeader("Vary", "Accept-Encoding");
+            deflater = compressor.borrowDeflater(encoding);
+            deflateBuffer = new byte[8192];
+            if (ResponseCompressor.GZIP.equals(encoding)) {
+                crc = new CRC32();
+                target.write(GZIP_HEADER);
+            }
+            deflate(buffer, 0, count, Deflater.NO_FLUSH);
+            count = 0;
+        }
+
+        private void deflate(byte[] b, int off, int len, int flushMode) throws IOException {
+            if (crc != null) {
+                crc.update(b, off, len);
+            }
+            deflater.setInput(b, off, len);
+            while (!deflater.needsInput()) {
+                drain(flushMode);
+            }
+            if (flushMode != Deflater.NO_FLUSH) {
+                drain(flushMode);
+            }
+        }
+
+        private void drain(int flushMode) throws IOException {
+            int written;
+            do {
+                written = deflater.deflate(deflateBuffer, 0, deflateBuffer.length, flushMode);
+                if (written > 0) {
+                    target.write(deflateBuffer, 0, written);
+                }
+            } while (written == deflateBuffer.length);
+        }
+
+        private void finish() throws IOException {
+            if (state == State.FINISHED) {
+                return;
+            }
+            if (state == State.BUFFERING) {
+                // 未达到阈值的小响应原样输出，并补充精确的 Content-Length
+                state = State.IDENTITY;
+                if (!isCommitted()) {
+                    CompressingResponseWrapper.super.setContentLengthLong(count);
+                }
+                target.write(buffer, 0, count);
+            } else if (state == State.COMPRESSING) {
+                try {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        int written = deflater.deflate(deflateBuffer);
+                        target.write(deflateBuffer, 0, written);
+                    }
+                    if (crc != null) {
+                        writeIntLE((int) crc.getValue());
+                        writeIntLE((int) deflater.getBytesRead());
+                    }
+                } finally {
+                    compressor.releaseDeflater(encoding, deflater);
+                    deflater = null;
+                }
+            }
+            state = State.FINISHED;
+        }
+
+        private void writeIntLE(int value) throws IOException {
+            target.write(value & 0xff);
+            target.write((value >> 8) & 0xff);
+            target.write((value >> 16) & 0xff);
+            target.write((value >> 24) & 0xff);
+        }
+    }
+}
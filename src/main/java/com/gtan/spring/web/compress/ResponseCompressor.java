@@ -0,0 +1,244 @@
+package com.gtan.spring.web.compress;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.zip.Deflater;
+
+/**
+ * ResponseCompressor - 动态响应压缩阶段
+ *
+ * <p>底层原理说明：</p>
+ * <p>DispatcherServlet 在调用处理器之前通过 {@link #wrap} 协商 Accept-Encoding，
+ * 客户端支持 gzip 或 deflate 时用 {@link CompressingResponseWrapper} 包装响应，
+ * 之后所有写出（转换器、模板、异常页面）都会经过流式压缩，请求结束时调用 {@link #finish} 写出压缩尾部。</p>
+ *
+ * <p>压缩条件：</p>
+ * <ul>
+ *   <li>Content-Type 在 MIME 白名单中（默认文本、JSON、JavaScript、XML、SVG）</li>
+ *   <li>响应体不小于最小阈值（默认 1024 字节）：声明了 Content-Length 时直接判断，
+ *       否则先缓冲阈值大小的数据再决定，小响应原样输出，避免压缩反而增大体积和浪费 CPU</li>
+ *   <li>响应未自行设置 Content-Encoding</li>
+ * </ul>
+ *
+ * <p>Deflater 池化：</p>
+ * <ul>
+ *   <li>Deflater 持有 zlib 本地内存，频繁创建和依赖 GC 回收会造成本地内存分配抖动</li>
+ *   <li>gzip 格式（nowrap）与 zlib 格式各一个有界共享池，借出时从池中取，池空时新建，归还时 reset 后放回</li>
+ *   <li>不按线程缓存：虚拟线程模式下每个请求都是新线程，线程级缓存既无法复用，又会把 Deflater 留在已结束线程中等待 GC 清理</li>
+ *   <li>池已满时直接 end() 释放本地内存，池容量限制了空闲 Deflater 占用的本地内存上限</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-21
+ * @see CompressingResponseWrapper
+ */
+public class ResponseCompressor {
+
+    public static final String GZIP = "gzip";
+
+    public static final String DEFLATE = "deflate";
+
+    /**
+     * 默认允许压缩的 MIME 类型
+     */
+    public static final Set<String> DEFAULT_MIME_TYPES = Set.of(
+            "text/html", "text/plain", "text/css", "text/xml", "text/javascript", "text/event-stream",
+            "application/json", "application/javascript", "application/xml", "image/svg+xml");
+
+    /**
+     * 每种格式最多保留的空闲 Deflater 数量
+     */
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final BlockingQueue<Deflater> gzipDeflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private final BlockingQueue<Deflater> zlibDeflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private final Set<String> mimeTypes = new CopyOnWriteArraySet<>(DEFAULT_MIME_TYPES);
+
+    private volatile boolean enabled = true;
+
+    private volatile int minSize = 1024;
+
+    private volatile int level = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * 协商压缩编码，需要压缩时返回包装后的响应
+     *
+     * @param request  HTTP请求
+     * @param response 原始响应
+     * @return 包装后的响应，或不需要压缩时的原始响应
+     */
+    public HttpServletResponse wrap(HttpServletRequest request, HttpServletResponse response) {
+        if (!enabled || "HEAD".equals(request.getMethod())) {
+            return response;
+        }
+        String encoding = negotiate(request.getHeader("Accept-Encoding"));
+        if (encoding == null) {
+            return response;
+        }
+        return new CompressingResponseWrapper(response, this, encoding);
+    }
+
+    /**
+     * 完成压缩输出：写出缓冲数据与压缩尾部，并归还 Deflater
+     *
+     * @param response wrap 返回的响应
+     * @throws IOException 写出异常
+     */
+    public void finish(HttpServletResponse response) throws IOException {
+        if (response instanceof CompressingResponseWrapper wrapper) {
+            wrapper.finish();
+        }
+    }
+
+    /**
+     * 取回 wrap 之前的原始响应，用于绕过压缩直接输出（如非阻塞流式响应）
+     *
+     * @param response wrap 返回的响应
+     * @return 原始响应
+     */
+    public HttpServletResponse unwrap(HttpServletResponse response) {
+        if (response instanceof CompressingResponseWrapper wrapper) {
+            return (HttpServletResponse) wrapper.getResponse();
+        }
+        return response;
+    }
+
+    /**
+     * 判断 Content-Type 是否允许压缩
+     *
+     * @param contentType 响应的 Content-Type，可包含参数
+     * @return 是否允许
+     */
+    boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int semicolon = contentType.indexOf(';');
+        String mimeType = (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType).trim();
+        return mimeTypes.contains(mimeType.toLowerCase());
+    }
+
+    Deflater borrowDeflater(String encoding) {
+        Deflater deflater = (GZIP.equals(encoding) ? gzipDeflaters : zlibDeflaters).poll();
+        if (deflater != null) {
+            deflater.setLevel(level);
+            return deflater;
+        }
+        return new Deflater(level, GZIP.equals(encoding));
+    }
+
+    void releaseDeflater(String encoding, Deflater deflater) {
+        deflater.reset();
+        if (!(GZIP.equals(encoding) ? gzipDeflaters : zlibDeflaters).offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 从 Accept-Encoding 中选择编码，gzip 优先于 deflate；q=0 表示拒绝，* 只能选中没有被明确拒绝的编码
+     */
+    private static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        boolean gzip = false;
+        boolean deflate = false;
+        boolean wildcard = false;
+        boolean gzipRefused = false;
+        boolean deflateRefused = false;
+        for (String part : acceptEncoding.split(",")) {
+            int semicolon = part.indexOf(';');
+            String coding = (semicolon >= 0 ? part.substring(0, semicolon) : part).trim();
+            boolean refused = semicolon >= 0 && isZeroQuality(part.substring(semicolon + 1));
+            if (GZIP.equalsIgnoreCase(coding)) {
+                gzip |= !refused;
+                gzipRefused |= refused;
+            } else if (DEFLATE.equalsIgnoreCase(coding)) {
+                deflate |= !refused;
+                deflateRefused |= refused;
+            } else if ("*".equals(coding)) {
+                wildcard |= !refused;
+            }
+        }
+        if (gzip || (wildcard && !gzipRefused)) {
+            return GZIP;
+        }
+        if (deflate || (wildcard && !deflateRefused)) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+    /**
+     * 判断参数部分是否为 q=0（允许 Q 大写、= 两侧空白以及 0.000 形式）
+     *
+     * @param parameters 编码名之后、以分号分隔的参数
+     */
+    private static boolean isZeroQuality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int equals = parameter.indexOf('=');
+            if (equals < 0 || !parameter.substring(0, equals).trim().equalsIgnoreCase("q")) {
+                continue;
+            }
+            String value = parameter.substring(equals + 1).trim();
+            if (value.isEmpty() || value.charAt(0) != '0') {
+                return false;
+            }
+            for (int i = 1; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c != '0' && !(c == '.' && i == 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public Set<String> getMimeTypes() {
+        return mimeTypes;
+    }
+
+    /**
+     * 替换 MIME 白名单
+     *
+     * @param mimeTypes 允许压缩的 MIME 类型
+     */
+    public void setMimeTypes(Set<String> mimeTypes) {
+        this.mimeTypes.clear();
+        mimeTypes.forEach(mimeType -> this.mimeTypes.add(mimeType.trim().toLowerCase()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.gtan.spring.web.converter;
+
+import java.util.List;
+
+/**
+ * AbstractHttpMessageConverter - 转换器公共基类
+ *
+ * <p>封装媒体类型匹配逻辑：媒体类型为 null 或与支持的任一类型兼容（支持 type/* 通配）时视为可写，
+ * 子类只需声明支持的 Java 类型与具体的写出方式。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-20
+ */
+public abstract class AbstractHttpMessageConverter implements HttpMessageConverter {
+
+    private final List<String> supportedMediaTypes;
+
+    protected AbstractHttpMessageConverter(String... supportedMediaTypes) {
+        this.supportedMediaTypes = List.of(supportedMediaTypes);
+    }
+
+    @Override
+    public List<String> getSupportedMediaTypes() {
+        return supportedMediaTypes;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> type, String mediaType) {
+        return supports(type) && (mediaType == null || supportsMediaType(mediaType));
+    }
+
+    /**
+     * 判断是否支持指定 Java 类型
+     *
+     * @param type 返回值类型
+     * @return 是否支持
+     */
+    protected abstract boolean supports(Class<?> type);
+
+    /**
+     * 获取实际写出的 Content-Type，未协商出具体类型时使用默认媒体类型
+     *
+     * @param mediaType 协商得到的媒体类型
+     * @return Content-Type
+     */
+    protected String resolveContentType(String mediaType) {
+        if (mediaType == null || mediaType.endsWith("*")) {
+            return supportedMediaTypes.get(0);
+        }
+        return mediaType;
+    }
+
+    private boolean supportsMediaType(String mediaType) {
+        for (String supported : supportedMediaTypes) {
+            if (MessageConverterRegistry.isCompatible(mediaType, supported)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
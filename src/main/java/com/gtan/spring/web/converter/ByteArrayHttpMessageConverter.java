@@ -0,0 +1,63 @@
+package com.gtan.spring.web.converter;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * ByteArrayHttpMessageConverter - byte[] / ByteBuffer 原样透传转换器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>控制器已经持有编码好的字节（如缓存的序列化结果）时，不再经过任何序列化</li>
+ *   <li>堆内 ByteBuffer 直接写出底层数组，直接内存 ByteBuffer 通过 Channel 写出，均不额外复制</li>
+ *   <li>写出时使用 duplicate()，不修改调用方 ByteBuffer 的 position</li>
+ *   <li>Content-Type 使用协商得到的具体类型，否则为 application/octet-stream</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-20
+ */
+public class ByteArrayHttpMessageConverter extends AbstractHttpMessageConverter {
+
+    public ByteArrayHttpMessageConverter() {
+        super("application/octet-stream");
+    }
+
+    @Override
+    public boolean canWrite(Class<?> type, String mediaType) {
+        // 字节内容由控制器负责编码，可以以任意协商出的媒体类型透传
+        return supports(type);
+    }
+
+    @Override
+    protected boolean supports(Class<?> type) {
+        return byte[].class == type || ByteBuffer.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void write(Object body, String mediaType, HttpServletResponse response) throws IOException {
+        response.setContentType(resolveContentType(mediaType));
+        OutputStream out = response.getOutputStream();
+        if (body instanceof byte[] bytes) {
+            response.setContentLength(bytes.length);
+            out.write(bytes);
+            return;
+        }
+        ByteBuffer buffer = ((ByteBuffer) body).duplicate();
+        response.setContentLength(buffer.remaining());
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        } else {
+            WritableByteChannel channel = Channels.newChannel(out);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
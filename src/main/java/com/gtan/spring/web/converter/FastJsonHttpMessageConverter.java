@@ -0,0 +1,35 @@
+package com.gtan.spring.web.converter;
+
+import com.alibaba.fastjson2.JSON;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * FastJsonHttpMessageConverter - 基于 FastJSON2 的 JSON 文本转换器
+ *
+ * <p>直接将对象序列化为 UTF-8 字节写入输出流，避免先生成中间 String 再经 Writer 编码。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-20
+ */
+public class FastJsonHttpMessageConverter extends AbstractHttpMessageConverter {
+
+    public FastJsonHttpMessageConverter() {
+        super("application/json", "application/*+json");
+    }
+
+    @Override
+    protected boolean supports(Class<?> type) {
+        return true;
+    }
+
+    @Override
+    public void write(Object body, String mediaType, HttpServletResponse response) throws IOException {
+        byte[] bytes = JSON.toJSONBytes(body);
+        response.setContentType("application/json;charset=UTF-8");
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+}
@@ -0,0 +1,48 @@
+package com.gtan.spring.web.converter;
+
+import com.alibaba.fastjson2.JSONB;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * FastJsonbHttpMessageConverter - 基于 FastJSON2 JSONB 的二进制转换器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>JSONB 是 FastJSON2 的二进制编码格式，数字与短字符串采用紧凑编码，无需转义与文本解析</li>
+ *   <li>体积通常小于等价 JSON 文本，序列化/反序列化吞吐更高，适合内部服务间调用</li>
+ *   <li>仅在客户端通过 Accept: application/x-jsonb 显式声明时使用，浏览器流量不受影响</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-20
+ */
+public class FastJsonbHttpMessageConverter extends AbstractHttpMessageConverter {
+
+    public static final String APPLICATION_JSONB = "application/x-jsonb";
+
+    public FastJsonbHttpMessageConverter() {
+        super(APPLICATION_JSONB);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> type, String mediaType) {
+        // 二进制格式只响应显式协商，不作为通配 Accept 的默认格式
+        return mediaType != null && super.canWrite(type, mediaType) && !mediaType.endsWith("*");
+    }
+
+    @Override
+    protected boolean supports(Class<?> type) {
+        return true;
+    }
+
+    @Override
+    public void write(Object body, String mediaType, HttpServletResponse response) throws IOException {
+        byte[] bytes = JSONB.toBytes(body);
+        response.setContentType(APPLICATION_JSONB);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+}
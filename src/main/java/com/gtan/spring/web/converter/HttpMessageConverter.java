@@ -0,0 +1,54 @@
+package com.gtan.spring.web.converter;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * HttpMessageConverter 接口 - 定义响应体的序列化策略
+ *
+ * <p>底层原理说明：</p>
+ * <p>带有 @ResponseBody 的控制器方法返回值不再固定序列化为 JSON，而是交给一条转换器链处理。
+ * DispatcherServlet 根据请求的 Accept 头在链上依次询问每个转换器能否写出该类型，
+ * 第一个能处理的转换器负责设置 Content-Type 并将返回值直接写入响应输出流。</p>
+ *
+ * <p>扩展方式：</p>
+ * <ul>
+ *   <li>实现该接口并标注 @Component，容器初始化时会自动注册到转换器链</li>
+ *   <li>自定义转换器优先于内置转换器参与协商，可用于覆盖内置格式</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-20
+ * @see MessageConverterRegistry
+ */
+public interface HttpMessageConverter {
+
+    /**
+     * 获取该转换器支持的媒体类型，第一个为默认媒体类型
+     *
+     * @return 媒体类型列表（如：application/json）
+     */
+    List<String> getSupportedMediaTypes();
+
+    /**
+     * 判断是否可以将指定类型写出为指定媒体类型
+     *
+     * @param type      返回值类型
+     * @param mediaType 协商得到的媒体类型，为 null 表示客户端接受任意类型
+     * @return 是否可以写出
+     */
+    boolean canWrite(Class<?> type, String mediaType);
+
+    /**
+     * 将返回值写入响应体
+     *
+     * @param body      控制器方法返回值
+     * @param mediaType 协商得到的媒体类型，为 null 表示使用默认媒体类型
+     * @param response  HTTP响应对象
+     * @throws IOException 写出异常
+     */
+    void write(Object body, String mediaType, HttpServletResponse response) throws IOException;
+}
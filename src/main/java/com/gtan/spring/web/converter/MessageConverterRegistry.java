@@ -0,0 +1,194 @@
+package com.gtan.spring.web.converter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * MessageConverterRegistry - 响应体转换器链与内容协商
+ *
+ * <p>底层原理说明：</p>
+ * <p>转换器链按顺序组织，内容协商时先按 Accept 头中各媒体类型的 q 值从高到低遍历，
+ * 再在每个媒体类型下按链顺序查找第一个可以写出的转换器。</p>
+ *
+ * <p>内置转换器顺序：</p>
+ * <ol>
+ *   <li>ByteArrayHttpMessageConverter：byte[] / ByteBuffer 原样透传</li>
+ *   <li>StringHttpMessageConverter：字符串按 text/plain 写出</li>
+ *   <li>FastJsonbHttpMessageConverter：Accept 显式声明 application/x-jsonb 时使用二进制 JSONB</li>
+ *   <li>FastJsonHttpMessageConverter：默认 JSON 文本</li>
+ * </ol>
+ *
+ * <p>性能考虑：</p>
+ * <ul>
+ *   <li>Accept 头取值有限且高度重复，解析结果按原始字符串缓存，避免每个请求重复拆分排序</li>
+ *   <li>缓存有容量上限，防止恶意构造的 Accept 头无限占用内存</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-20
+ * @see HttpMessageConverter
+ */
+public class MessageConverterRegistry {
+
+    private static final int MAX_CACHED_ACCEPT_HEADERS = 256;
+
+    /**
+     * 不限制媒体类型的协商结果
+     */
+    private static final List<String> ANY = new ArrayList<>(0);
+
+    /**
+     * 用户注册的转换器，优先于内置转换器
+     */
+    private final List<HttpMessageConverter> customConverters = new CopyOnWriteArrayList<>();
+
+    private final List<HttpMessageConverter> defaultConverters = List.of(
+            new ByteArrayHttpMessageConverter(),
+            new StringHttpMessageConverter(),
+            new FastJsonbHttpMessageConverter(),
+            new FastJsonHttpMessageConverter());
+
+    private final Map<String, List<String>> acceptCache = new ConcurrentHashMap<>();
+
+    /**
+     * 注册自定义转换器
+     *
+     * @param converter 转换器实例
+     * @return this 支持链式调用
+     */
+    public MessageConverterRegistry addConverter(HttpMessageConverter converter) {
+        if (converter != null) {
+            customConverters.add(converter);
+        }
+        return this;
+    }
+
+    /**
+     * 获取完整的转换器链（自定义转换器在前）
+     *
+     * @return 转换器列表
+     */
+    public List<HttpMessageConverter> getConverters() {
+        List<HttpMessageConverter> converters = new ArrayList<>(customConverters);
+        converters.addAll(defaultConverters);
+        return converters;
+    }
+
+    /**
+     * 根据 Accept 头协商转换器并写出响应体
+     *
+     * @param body     响应体对象
+     * @param request  HTTP请求
+     * @param response HTTP响应
+     * @return 是否找到可用的转换器
+     * @throws IOException 写出异常
+     */
+    public boolean write(Object body, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Class<?> type = body.getClass();
+        List<String> acceptedTypes = parseAccept(request.getHeader("Accept"));
+        if (acceptedTypes == ANY) {
+            return write(body, type, null, response);
+        }
+        for (String mediaType : acceptedTypes) {
+            if (write(body, type, "*/*".equals(mediaType) ? null : mediaType, response)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean write(Object body, Class<?> type, String mediaType, HttpServletResponse response)
+            throws IOException {
+        for (HttpMessageConverter converter : customConverters) {
+            if (converter.canWrite(type, mediaType)) {
+                converter.write(body, mediaType, response);
+                return true;
+            }
+        }
+        for (HttpMessageConverter converter : defaultConverters) {
+            if (converter.canWrite(type, mediaType)) {
+                converter.write(body, mediaType, response);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解析 Accept 头，返回按 q 值降序排列的媒体类型（去除参数），q=0 的类型被排除
+     */
+    private List<String> parseAccept(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return ANY;
+        }
+        List<String> cached = acceptCache.get(accept);
+        if (cached != null) {
+            return cached;
+        }
+        List<String[]> entries = new ArrayList<>();
+        for (String part : accept.split(",")) {
+            String[] tokens = part.split(";");
+            String mediaType = tokens[0].trim().toLowerCase();
+            if (mediaType.isEmpty()) {
+                continue;
+            }
+            String quality = "1";
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    quality = param.substring(2);
+                }
+            }
+            entries.add(new String[]{mediaType, quality});
+        }
+        List<String> result = entries.stream()
+                .filter(entry -> parseQuality(entry[1]) > 0)
+                .sorted(Comparator.comparingDouble((String[] entry) -> parseQuality(entry[1])).reversed())
+                .map(entry -> entry[0])
+                .toList();
+        if (acceptCache.size() < MAX_CACHED_ACCEPT_HEADERS) {
+            acceptCache.put(accept, result);
+        }
+        return result;
+    }
+
+    private static double parseQuality(String quality) {
+        try {
+            return Double.parseDouble(quality);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 判断请求的媒体类型与转换器支持的媒体类型是否兼容
+     *
+     * @param requested 请求的媒体类型，支持 *&#47;* 和 type/* 通配
+     * @param supported 转换器支持的媒体类型，支持 type/*+suffix 形式
+     * @return 是否兼容
+     */
+    static boolean isCompatible(String requested, String supported) {
+        if ("*/*".equals(requested) || requested.equalsIgnoreCase(supported)) {
+            return true;
+        }
+        int slash = supported.indexOf('/');
+        if (requested.endsWith("/*")) {
+            return requested.regionMatches(true, 0, supported, 0, slash + 1);
+        }
+        if (supported.startsWith("*+", slash + 1)) {
+            String suffix = supported.substring(slash + 2);
+            return requested.regionMatches(true, 0, supported, 0, slash + 1)
+                    && requested.toLowerCase().endsWith(suffix);
+        }
+        return false;
+    }
+}
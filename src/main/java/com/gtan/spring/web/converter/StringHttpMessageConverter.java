@@ -0,0 +1,35 @@
+package com.gtan.spring.web.converter;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * StringHttpMessageConverter - 字符串响应体转换器
+ *
+ * <p>@ResponseBody 方法返回 String 时按 UTF-8 原样写出，而不是再包一层 JSON 字符串。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-20
+ */
+public class StringHttpMessageConverter extends AbstractHttpMessageConverter {
+
+    public StringHttpMessageConverter() {
+        super("text/plain", "text/html");
+    }
+
+    @Override
+    protected boolean supports(Class<?> type) {
+        return CharSequence.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void write(Object body, String mediaType, HttpServletResponse response) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        response.setContentType(resolveContentType(mediaType) + ";charset=UTF-8");
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+}
@@ -0,0 +1,26 @@
+package com.gtan.spring.web.multipart;
+
+import com.gtan.spring.web.ResponseStatusException;
+
+/**
+ * MaxUploadSizeExceededException - 上传内容超过大小限制
+ *
+ * <p>在解析过程中一旦累计字节数超过上限立即抛出，DispatcherServlet 以 413 响应；
+ * Content-Length 已声明超限的请求在读取请求体之前就会被拒绝。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-01
+ * @see MultipartResolver
+ */
+public class MaxUploadSizeExceededException extends ResponseStatusException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param reason 错误说明
+     */
+    public MaxUploadSizeExceededException(String reason) {
+        super(413, reason);
+    }
+}
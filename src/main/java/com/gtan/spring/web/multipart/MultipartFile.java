@@ -0,0 +1,95 @@
+package com.gtan.spring.web.multipart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * MultipartFile - 已落盘到临时文件的上传文件
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>处理器参数声明为 MultipartFile 时，MultipartResolver 在调用处理器前把文件部件经 FileChannel 写入临时文件，
+ *       内存中只保留文件元数据</li>
+ *   <li>{@link #transferTo(Path)} 优先使用文件系统重命名（同一文件系统内为 O(1)），跨文件系统时退化为复制</li>
+ *   <li>临时文件在请求完成时由 DispatcherServlet 统一删除，已转移的文件不受影响</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-01
+ * @see MultipartRequest
+ */
+public class MultipartFile {
+
+    private final String name;
+
+    private final String originalFilename;
+
+    private final String contentType;
+
+    private final long size;
+
+    private final Path path;
+
+    MultipartFile(String name, String originalFilename, String contentType, long size, Path path) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+        this.path = path;
+    }
+
+    /**
+     * @return 表单字段名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 客户端提供的原始文件名，未选择文件时为空字符串
+     */
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return 临时文件路径，请求完成后失效
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return 读取临时文件的输入流
+     * @throws IOException 打开文件失败
+     */
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    /**
+     * 将上传文件移动到目标位置（已存在时覆盖）
+     *
+     * @param target 目标文件
+     * @throws IOException 移动失败
+     */
+    public void transferTo(Path target) throws IOException {
+        Files.move(path, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
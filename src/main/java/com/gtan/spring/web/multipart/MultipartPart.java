@@ -0,0 +1,211 @@
+package com.gtan.spring.web.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * MultipartPart - 流式解析中的单个 multipart 部件
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>部件不持有内容，只是 MultipartStream 当前位置的视图；正文在读取时才从请求体中解析出来，
+ *       调用 nextPart() 后旧部件失效</li>
+ *   <li>{@link #transferTo(WritableByteChannel)} 直接把解析缓冲区包装为 ByteBuffer 写入通道，
+ *       不经过额外的中间数组；写入文件时使用 FileChannel</li>
+ *   <li>文件部件受 maxFileSize 限制，普通字段受 maxFieldSize 限制，超出时抛出 {@link MaxUploadSizeExceededException}</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-01
+ * @see MultipartStream
+ */
+public class MultipartPart {
+
+    private final MultipartStream stream;
+
+    private final Map<String, String> headers;
+
+    private final String name;
+
+    private final String filename;
+
+    private final long maxSize;
+
+    private long size;
+
+    MultipartPart(MultipartStream stream, Map<String, String> headers) {
+        this.stream = stream;
+        this.headers = headers;
+        String disposition = headers.get("content-disposition");
+        this.name = dispositionParameter(disposition, "name");
+        this.filename = dispositionParameter(disposition, "filename");
+        this.maxSize = filename != null ? stream.getMaxFileSize() : stream.getMaxFieldSize();
+    }
+
+    /**
+     * 从 Content-Disposition 中提取参数值，支持带引号和反斜杠转义的取值
+     */
+    private static String dispositionParameter(String disposition, String parameter) {
+        if (disposition == null) {
+            return null;
+        }
+        int i = 0;
+        int length = disposition.length();
+        while (i < length) {
+            int semicolon = disposition.indexOf(';', i);
+            if (semicolon < 0) {
+                return null;
+            }
+            i = semicolon + 1;
+            while (i < length && disposition.charAt(i) == ' ') {
+                i++;
+            }
+            int equals = disposition.indexOf('=', i);
+            if (equals < 0) {
+                return null;
+            }
+            String key = disposition.substring(i, equals).trim();
+            i = equals + 1;
+            StringBuilder value = new StringBuilder();
+            if (i < length && disposition.charAt(i) == '"') {
+                i++;
+                while (i < length && disposition.charAt(i) != '"') {
+                    char c = disposition.charAt(i++);
+                    if (c == '\\' && i < length) {
+                        c = disposition.charAt(i++);
+                    }
+                    value.append(c);
+                }
+                i++;
+            } else {
+                while (i < length && disposition.charAt(i) != ';') {
+                    value.append(disposition.charAt(i++));
+                }
+            }
+            if (key.equalsIgnoreCase(parameter)) {
+                return value.toString().trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 表单字段名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 客户端提供的原始文件名，普通字段返回 null
+     */
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * @return 部件的 Content-Type，未声明时返回 null
+     */
+    public String getContentType() {
+        return headers.get("content-type");
+    }
+
+    /**
+     * @param name 头部名称（不区分大小写）
+     * @return 头部值
+     */
+    public String getHeader(String name) {
+        return headers.get(name.toLowerCase());
+    }
+
+    /**
+     * @return 是否为文件部件（Content-Disposition 带 filename 参数）
+     */
+    public boolean isFile() {
+        return filename != null;
+    }
+
+    /**
+     * @return 目前已读取的正文字节数
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 获取部件正文的输入流，关闭该流不会跳过剩余内容
+     *
+     * @return 正文输入流
+     */
+    public InputStream getInputStream() {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                byte[] single = new byte[1];
+                int read = stream.read(MultipartPart.this, single, 0, 1);
+                return read < 0 ? -1 : single[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return stream.read(MultipartPart.this, b, off, len);
+            }
+        };
+    }
+
+    /**
+     * 将剩余正文写入通道
+     *
+     * @param channel 目标通道
+     * @return 写入的字节数
+     * @throws IOException 读取请求体或写入通道失败
+     */
+    public long transferTo(WritableByteChannel channel) throws IOException {
+        return stream.transferTo(this, channel);
+    }
+
+    /**
+     * 将剩余正文写入文件（已存在时覆盖），失败时删除不完整的文件
+     *
+     * @param target 目标文件
+     * @return 写入的字节数
+     * @throws IOException 读取请求体或写入文件失败
+     */
+    public long transferTo(Path target) throws IOException {
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return transferTo(channel);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+
+    /**
+     * 以 UTF-8 读取剩余正文为字符串，适用于普通表单字段
+     *
+     * @return 字段值
+     * @throws IOException 读取请求体失败
+     */
+    public String getString() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        getInputStream().transferTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    void addSize(int count) {
+        size += count;
+        if (maxSize >= 0 && size > maxSize) {
+            throw new MaxUploadSizeExceededException("部件 " + name + " 超过上限 " + maxSize + " 字节");
+        }
+    }
+}
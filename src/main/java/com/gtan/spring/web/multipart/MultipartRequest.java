@@ -0,0 +1,87 @@
+package com.gtan.spring.web.multipart;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MultipartRequest - 完整解析后的 multipart 请求：普通字段保存在内存，文件保存为临时文件
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-01
+ * @see MultipartResolver
+ */
+public class MultipartRequest {
+
+    private final Map<String, List<String>> parameters = new LinkedHashMap<>();
+
+    private final Map<String, List<MultipartFile>> files = new LinkedHashMap<>();
+
+    void addParameter(String name, String value) {
+        parameters.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+    }
+
+    void addFile(MultipartFile file) {
+        files.computeIfAbsent(file.getName(), key -> new ArrayList<>()).add(file);
+    }
+
+    /**
+     * @param name 字段名
+     * @return 第一个同名字段的值，不存在时返回 null
+     */
+    public String getParameter(String name) {
+        List<String> values = parameters.get(name);
+        return values == null ? null : values.get(0);
+    }
+
+    /**
+     * @param name 字段名
+     * @return 所有同名字段的值
+     */
+    public List<String> getParameterValues(String name) {
+        return parameters.getOrDefault(name, List.of());
+    }
+
+    /**
+     * @param name 字段名
+     * @return 第一个同名文件，不存在时返回 null
+     */
+    public MultipartFile getFile(String name) {
+        List<MultipartFile> values = files.get(name);
+        return values == null ? null : values.get(0);
+    }
+
+    /**
+     * @param name 字段名
+     * @return 所有同名文件
+     */
+    public List<MultipartFile> getFiles(String name) {
+        return files.getOrDefault(name, List.of());
+    }
+
+    /**
+     * @return 所有文件，key 为字段名
+     */
+    public Map<String, List<MultipartFile>> getFileMap() {
+        return files;
+    }
+
+    /**
+     * 删除尚未被转移的临时文件
+     */
+    void cleanup() {
+        for (List<MultipartFile> values : files.values()) {
+            for (MultipartFile file : values) {
+                try {
+                    Files.deleteIfExists(file.getPath());
+                } catch (IOException ignored) {
+                    // 临时目录中的残留文件不影响请求结果
+                }
+            }
+        }
+    }
+}
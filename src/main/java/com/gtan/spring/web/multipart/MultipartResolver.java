@@ -0,0 +1,212 @@
+package com.gtan.spring.web.multipart;
+
+import com.gtan.spring.web.ResponseStatusException;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * MultipartResolver - multipart/form-data 请求的解析入口与大小限制配置
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>两种绑定方式</strong>：处理器参数声明为 {@link MultipartStream} 时直接交出流式解析器，
+ *       由处理器决定每个部件写到哪里（文件、网络通道、对象存储等）；参数声明为 {@link MultipartFile}、
+ *       List&lt;MultipartFile&gt; 或 {@link MultipartRequest} 时，先把文件部件落盘为临时文件、普通字段读入内存，
+ *       同时普通字段也可以通过 @RequestParam 绑定</li>
+ *   <li><strong>不经过 Servlet 容器</strong>：不使用 HttpServletRequest.getParts()，避免容器按 fileSizeThreshold
+ *       在内存中缓存部件；请求体只经过一个固定大小的解析缓冲区</li>
+ *   <li><strong>提前拒绝</strong>：Content-Length 已超过 maxRequestSize 时不读取请求体直接返回 413；
+ *       分块传输等未声明长度的请求在读取过程中累计判断</li>
+ *   <li><strong>临时文件回收</strong>：解析结果保存在请求属性中，请求完成（包括异步完成）时由
+ *       {@link #cleanup(HttpServletRequest)} 删除尚未转移的临时文件</li>
+ * </ul>
+ *
+ * <p>配置项（application.properties，-1 表示不限制）：</p>
+ * <pre>
+ * server.multipart-max-file-size=10485760
+ * server.multipart-max-request-size=52428800
+ * server.multipart-max-field-size=65536
+ * server.multipart-buffer-size=65536
+ * server.multipart-location=/data/upload-tmp
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-01
+ * @see MultipartStream
+ * @see MultipartRequest
+ */
+public class MultipartResolver {
+
+    private static final String MULTIPART_REQUEST_ATTRIBUTE = MultipartRequest.class.getName();
+
+    private static final String MULTIPART_FORM_DATA = "multipart/form-data";
+
+    /**
+     * 单个文件部件的最大字节数
+     */
+    private volatile long maxFileSize = 10L * 1024 * 1024;
+
+    /**
+     * 整个请求体的最大字节数
+     */
+    private volatile long maxRequestSize = 50L * 1024 * 1024;
+
+    /**
+     * 单个普通字段的最大字节数
+     */
+    private volatile long maxFieldSize = 64 * 1024;
+
+    /**
+     * 解析缓冲区大小
+     */
+    private volatile int bufferSize = 64 * 1024;
+
+    /**
+     * 临时文件目录，null 表示使用 java.io.tmpdir
+     */
+    private volatile Path location;
+
+    /**
+     * 判断请求是否为 multipart/form-data
+     *
+     * @param req HTTP 请求
+     * @return 是否为 multipart 请求
+     */
+    public boolean isMultipart(HttpServletRequest req) {
+        String contentType = req.getContentType();
+        return contentType != null && contentType.regionMatches(true, 0, MULTIPART_FORM_DATA, 0,
+                MULTIPART_FORM_DATA.length());
+    }
+
+    /**
+     * 创建请求体的流式解析器
+     *
+     * @param req HTTP 请求
+     * @return 流式解析器
+     * @throws IOException 获取请求输入流失败
+     */
+    public MultipartStream openStream(HttpServletRequest req) throws IOException {
+        if (!isMultipart(req)) {
+            throw new ResponseStatusException(415, "请求不是 multipart/form-data: " + req.getContentType());
+        }
+        String boundary = extractBoundary(req.getContentType());
+        if (boundary == null) {
+            throw new ResponseStatusException(400, "multipart 请求缺少 boundary 参数");
+        }
+        long contentLength = req.getContentLengthLong();
+        if (maxRequestSize >= 0 && contentLength > maxRequestSize) {
+            throw new MaxUploadSizeExceededException("请求体 " + contentLength + " 字节超过上限 " + maxRequestSize + " 字节");
+        }
+        return new MultipartStream(req.getInputStream(), boundary, bufferSize, maxRequestSize, maxFileSize,
+                maxFieldSize);
+    }
+
+    /**
+     * 完整解析请求：文件部件写入临时文件，普通字段读入内存；同一请求重复调用返回同一结果
+     *
+     * @param req HTTP 请求
+     * @return 解析结果
+     * @throws IOException 读取请求体或写入临时文件失败
+     */
+    public MultipartRequest resolve(HttpServletRequest req) throws IOException {
+        MultipartRequest resolved = (MultipartRequest) req.getAttribute(MULTIPART_REQUEST_ATTRIBUTE);
+        if (resolved != null) {
+            return resolved;
+        }
+        MultipartStream stream = openStream(req);
+        MultipartRequest multipartRequest = new MultipartRequest();
+        // 先登记再解析，中途失败时已落盘的临时文件同样会被清理
+        req.setAttribute(MULTIPART_REQUEST_ATTRIBUTE, multipartRequest);
+        MultipartPart part;
+        while ((part = stream.nextPart()) != null) {
+            if (part.getName() == null) {
+                continue;
+            }
+            if (!part.isFile()) {
+                multipartRequest.addParameter(part.getName(), part.getString());
+                continue;
+            }
+            Path temp = location != null
+                    ? Files.createTempFile(location, "upload-", ".tmp")
+                    : Files.createTempFile("upload-", ".tmp");
+            long size = part.transferTo(temp);
+            multipartRequest.addFile(new MultipartFile(part.getName(), part.getFilename(), part.getContentType(),
+                    size, temp));
+        }
+        return multipartRequest;
+    }
+
+    /**
+     * 删除本次请求解析产生的临时文件
+     *
+     * @param req HTTP 请求
+     */
+    public static void cleanup(HttpServletRequest req) {
+        MultipartRequest multipartRequest = (MultipartRequest) req.getAttribute(MULTIPART_REQUEST_ATTRIBUTE);
+        if (multipartRequest != null) {
+            req.removeAttribute(MULTIPART_REQUEST_ATTRIBUTE);
+            multipartRequest.cleanup();
+        }
+    }
+
+    private static String extractBoundary(String contentType) {
+        for (String parameter : contentType.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.regionMatches(true, 0, "boundary=", 0, 9)) {
+                String boundary = trimmed.substring(9);
+                if (boundary.length() >= 2 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+                    boundary = boundary.substring(1, boundary.length() - 1);
+                }
+                return boundary.isEmpty() ? null : boundary;
+            }
+        }
+        return null;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public long getMaxRequestSize() {
+        return maxRequestSize;
+    }
+
+    public void setMaxRequestSize(long maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    public long getMaxFieldSize() {
+        return maxFieldSize;
+    }
+
+    public void setMaxFieldSize(long maxFieldSize) {
+        this.maxFieldSize = maxFieldSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Path getLocation() {
+        return location;
+    }
+
+    /**
+     * @param location 临时文件目录，为 null 时使用 java.io.tmpdir
+     */
+    public void setLocation(Path location) {
+        this.location = location;
+    }
+}
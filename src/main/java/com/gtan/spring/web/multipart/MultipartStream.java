@@ -0,0 +1,323 @@
+package com.gtan.spring.web.multipart;
+
+import com.gtan.spring.web.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * MultipartStream - multipart/form-data 请求体的流式解析器
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>固定缓冲区</strong>：整个请求体只经过一个 bufferSize 大小的字节数组，部件内容读出后立即交给调用方
+ *       （InputStream 或 NIO 通道），堆内存占用与上传文件大小无关</li>
+ *   <li><strong>边界查找</strong>：分隔符为 CRLF + "--" + boundary，使用 Boyer-Moore-Horspool 算法按坏字符表跳跃匹配，
+ *       大多数位置只比较一个字节；缓冲区末尾不足一个分隔符长度的字节可能是分隔符的前缀，
+ *       保留到下一次填充后再判断，其余字节可安全交出</li>
+ *   <li><strong>查找结果缓存</strong>：读取位置只会前移且不会越过分隔符，同一次填充内的查找结果一直有效，
+ *       逐字节读取也不会重复扫描</li>
+ *   <li><strong>压缩搬移</strong>：填充前只把未消费的尾部（通常小于分隔符长度）搬到缓冲区开头</li>
+ *   <li><strong>首个边界</strong>：请求体以 "--boundary" 开头而没有前导 CRLF，初始化时在缓冲区预置 CRLF，
+ *       使首个边界与后续边界走同一套匹配逻辑</li>
+ *   <li><strong>大小限制</strong>：读取过程中累计请求体总字节数与单个部件字节数，超过上限立即抛出
+ *       {@link MaxUploadSizeExceededException}，不会先读完再判断</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;RequestMapping("/upload")
+ * &#64;ResponseBody
+ * public String upload(MultipartStream stream) throws IOException {
+ *     MultipartPart part;
+ *     while ((part = stream.nextPart()) != null) {
+ *         if (part.isFile()) {
+ *             part.transferTo(Path.of("/data", part.getFilename()));
+ *         }
+ *     }
+ *     return "ok";
+ * }
+ * </pre>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-08-01
+ * @see MultipartPart
+ * @see MultipartResolver
+ */
+public class MultipartStream {
+
+    /**
+     * 单个部件头部的最大字节数
+     */
+    static final int MAX_HEADER_SIZE = 8 * 1024;
+
+    private final InputStream in;
+
+    private final byte[] buffer;
+
+    /**
+     * 部件分隔符：CRLF + "--" + boundary
+     */
+    private final byte[] delimiter;
+
+    /**
+     * Horspool 坏字符跳跃表
+     */
+    private final int[] skip = new int[256];
+
+    private final long maxRequestSize;
+
+    private final long maxFileSize;
+
+    private final long maxFieldSize;
+
+    private int pos;
+
+    private int limit;
+
+    private boolean eof;
+
+    private long totalRead;
+
+    /**
+     * 当前缓冲区内分隔符的位置，-1 表示 [pos, limit) 内不存在完整分隔符；仅在 scanned 为 true 时有效
+     */
+    private int delimiterIndex;
+
+    private boolean scanned;
+
+    private MultipartPart current;
+
+    private boolean finished;
+
+    MultipartStream(InputStream in, String boundary, int bufferSize, long maxRequestSize, long maxFileSize,
+                    long maxFieldSize) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(bufferSize, MAX_HEADER_SIZE + 2 * delimiter.length)];
+        this.maxRequestSize = maxRequestSize;
+        this.maxFileSize = maxFileSize;
+        this.maxFieldSize = maxFieldSize;
+        int last = delimiter.length - 1;
+        Arrays.fill(skip, delimiter.length);
+        for (int i = 0; i < last; i++) {
+            skip[delimiter[i] & 0xFF] = last - i;
+        }
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        limit = 2;
+    }
+
+    /**
+     * 前进到下一个部件，上一个部件未读完的内容会被跳过
+     *
+     * @return 下一个部件，没有更多部件时返回 null
+     * @throws IOException 读取请求体失败
+     */
+    public MultipartPart nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+        // 首次调用时跳过前导内容（preamble），之后跳过上一个部件的剩余正文
+        skipBody();
+        current = null;
+        pos += delimiter.length;
+        ensure(2);
+        if (buffer[pos] == '-' && buffer[pos + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        // 分隔符后允许出现空白填充，随后必须是 CRLF
+        while (buffer[pos] == ' ' || buffer[pos] == '\t') {
+            pos++;
+            ensure(2);
+        }
+        if (buffer[pos] != '\r' || buffer[pos + 1] != '\n') {
+            throw new ResponseStatusException(400, "multipart 边界格式错误");
+        }
+        pos += 2;
+        Map<String, String> headers = readHeaders();
+        current = new MultipartPart(this, headers);
+        return current;
+    }
+
+    /**
+     * 读取部件头部直到空行，头部名称统一转为小写
+     */
+    private Map<String, String> readHeaders() throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        while (true) {
+            int end = indexOfCrlf(pos);
+            while (end < 0) {
+                if (limit - pos >= MAX_HEADER_SIZE) {
+                    throw new ResponseStatusException(400, "multipart 部件头部超过 " + MAX_HEADER_SIZE + " 字节");
+                }
+                int offset = limit - pos;
+                fillOrFail();
+                end = indexOfCrlf(pos + Math.max(0, offset - 1));
+            }
+            if (end == pos) {
+                pos += 2;
+                return headers;
+            }
+            String line = new String(buffer, pos, end - pos, StandardCharsets.UTF_8);
+            pos = end + 2;
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+    }
+
+    private int indexOfCrlf(int from) {
+        for (int i = from; i < limit - 1; i++) {
+            if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 计算从当前位置开始可以安全交出的正文字节数
+     *
+     * @return 正文字节数，0 表示已到达部件末尾（当前位置就是分隔符）
+     */
+    private int bodyChunk() throws IOException {
+        while (true) {
+            if (!scanned) {
+                delimiterIndex = indexOfDelimiter(pos, limit);
+                scanned = true;
+            }
+            if (delimiterIndex >= 0) {
+                return delimiterIndex - pos;
+            }
+            // 末尾不足一个分隔符长度的字节可能是分隔符前缀，暂不交出
+            int safe = limit - pos - (delimiter.length - 1);
+            if (safe > 0) {
+                return safe;
+            }
+            fillOrFail();
+        }
+    }
+
+    /**
+     * Boyer-Moore-Horspool 查找分隔符
+     */
+    private int indexOfDelimiter(int from, int to) {
+        int last = delimiter.length - 1;
+        int i = from;
+        while (i + last < to) {
+            byte tail = buffer[i + last];
+            if (tail == delimiter[last] && Arrays.equals(buffer, i, i + last, delimiter, 0, last)) {
+                return i;
+            }
+            i += skip[tail & 0xFF];
+        }
+        return -1;
+    }
+
+    private void ensure(int count) throws IOException {
+        while (limit - pos < count) {
+            fillOrFail();
+        }
+    }
+
+    private void fillOrFail() throws IOException {
+        if (eof || !fill()) {
+            throw new ResponseStatusException(400, "multipart 请求体不完整，缺少结束边界");
+        }
+    }
+
+    /**
+     * 搬移未消费字节到缓冲区开头并从输入流读取更多数据
+     *
+     * @return 是否读到了数据
+     */
+    private boolean fill() throws IOException {
+        if (pos > 0) {
+            int remaining = limit - pos;
+            System.arraycopy(buffer, pos, buffer, 0, remaining);
+            if (scanned && delimiterIndex >= 0) {
+                delimiterIndex -= pos;
+            }
+            pos = 0;
+            limit = remaining;
+        }
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        totalRead += read;
+        if (maxRequestSize >= 0 && totalRead > maxRequestSize) {
+            throw new MaxUploadSizeExceededException("请求体超过上限 " + maxRequestSize + " 字节");
+        }
+        // 新数据可能与旧尾部拼出分隔符，需要重新扫描
+        scanned = scanned && delimiterIndex >= 0;
+        return true;
+    }
+
+    private void skipBody() throws IOException {
+        int chunk;
+        while ((chunk = bodyChunk()) > 0) {
+            pos += chunk;
+        }
+        scanned = false;
+    }
+
+    int read(MultipartPart part, byte[] b, int off, int len) throws IOException {
+        checkCurrent(part);
+        if (len == 0) {
+            return 0;
+        }
+        int chunk = bodyChunk();
+        if (chunk == 0) {
+            return -1;
+        }
+        int count = Math.min(chunk, len);
+        System.arraycopy(buffer, pos, b, off, count);
+        pos += count;
+        part.addSize(count);
+        return count;
+    }
+
+    long transferTo(MultipartPart part, WritableByteChannel channel) throws IOException {
+        checkCurrent(part);
+        long total = 0;
+        int chunk;
+        while ((chunk = bodyChunk()) > 0) {
+            ByteBuffer view = ByteBuffer.wrap(buffer, pos, chunk);
+            while (view.hasRemaining()) {
+                channel.write(view);
+            }
+            pos += chunk;
+            part.addSize(chunk);
+            total += chunk;
+        }
+        return total;
+    }
+
+    private void checkCurrent(MultipartPart part) {
+        if (part != current) {
+            throw new IllegalStateException("multipart 部件已失效，只能读取 nextPart() 返回的最新部件");
+        }
+    }
+
+    long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    long getMaxFieldSize() {
+        return maxFieldSize;
+    }
+}
@@ -0,0 +1,499 @@
+package com.gtan.spring.web.resource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * StaticResourceHandler - 静态资源处理器
+ *
+ * <p>底层原理说明：</p>
+ * <p>DispatcherServlet 映射到 /*，所有请求都会进入框架。没有匹配到控制器方法的 GET/HEAD 请求
+ * 会交给该处理器，按顺序在配置的资源位置中查找文件并直接输出。</p>
+ *
+ * <p>资源位置：</p>
+ * <ul>
+ *   <li><strong>classpath:</strong> 前缀：类路径目录（如 classpath:static/）</li>
+ *   <li><strong>file:</strong> 前缀：文件系统目录（如 file:/var/www/）</li>
+ *   <li>默认位置为 classpath:static/ 和 classpath:public/，可通过 -Dgtan.resources.locations 以逗号分隔覆盖</li>
+ * </ul>
+ *
+ * <p>传输优化：</p>
+ * <ul>
+ *   <li><strong>零拷贝</strong>：大文件优先交给 Tomcat sendfile，由内核直接从页缓存发送到 socket；
+ *       不支持时通过 FileChannel.transferTo 写出，避免经过用户态缓冲区</li>
+ *   <li><strong>热点缓存</strong>：小文件读入内存缓存，命中时不再查找资源位置；文件系统资源最多每秒校验一次修改时间</li>
+ *   <li><strong>预压缩</strong>：客户端接受 br/gzip 且存在同名 .br/.gz 文件时直接输出压缩版本，无需运行时压缩</li>
+ * </ul>
+ *
+ * <p>HTTP 语义：</p>
+ * <ul>
+ *   <li>强 ETag（文件为 长度-修改时间，类路径 jar 内资源为内容 CRC32C）与 If-None-Match 返回 304</li>
+ *   <li>Last-Modified 与 If-Modified-Since</li>
+ *   <li>单段 Range 请求返回 206，范围无效返回 416；If-Range 不匹配时返回完整内容；多段 Range 按完整内容响应</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-21
+ */
+public class StaticResourceHandler {
+
+    public static final String LOCATIONS_PROPERTY = "gtan.resources.locations";
+
+    private static final String DEFAULT_LOCATIONS = "classpath:static/,classpath:public/";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * 不超过该大小的文件缓存在内存中
+     */
+    private static final int MAX_CACHED_FILE_SIZE = 64 * 1024;
+
+    /**
+     * 内存缓存总容量上限
+     */
+    private static final long MAX_CACHE_BYTES = 32L * 1024 * 1024;
+
+    /**
+     * 文件系统资源的修改时间校验间隔
+     */
+    private static final long REVALIDATE_INTERVAL_MILLIS = 1000;
+
+    private static final String WELCOME_FILE = "index.html";
+
+    private static final long[] INVALID_RANGE = new long[0];
+
+    private final List<Location> locations = new ArrayList<>();
+
+    private final Map<String, StaticResource> cache = new ConcurrentHashMap<>();
+
+    private final AtomicLong cachedBytes = new AtomicLong();
+
+    public StaticResourceHandler() {
+        for (String location : System.getProperty(LOCATIONS_PROPERTY, DEFAULT_LOCATIONS).split(",")) {
+            if (!location.isBlank()) {
+                addLocation(location.trim());
+            }
+        }
+    }
+
+    /**
+     * 添加资源位置
+     *
+     * @param location classpath: 或 file: 前缀的目录
+     * @return this 支持链式调用
+     */
+    public StaticResourceHandler addLocation(String location) {
+        String normalized = location.endsWith("/") ? location : location + "/";
+        if (normalized.startsWith("classpath:")) {
+            locations.add(new Location(normalized.substring("classpath:".length()), null));
+        } else {
+            String dir = normalized.startsWith("file:") ? normalized.substring("file:".length()) : normalized;
+            locations.add(new Location(null, Paths.get(dir).toAbsolutePath().normalize()));
+        }
+        return this;
+    }
+
+    /**
+     * 尝试以静态资源响应请求
+     *
+     * @param request  HTTP请求
+     * @param response HTTP响应
+     * @return 是否已处理（找到资源）
+     * @throws IOException 读写异常
+     */
+    public boolean handle(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String method = request.getMethod();
+        boolean head = "HEAD".equals(method);
+        if (!head && !"GET".equals(method)) {
+            return false;
+        }
+        String path = lookupPath(request);
+        if (path == null) {
+            return false;
+        }
+        StaticResource resource = getResource(path, null);
+        if (resource == null) {
+            return false;
+        }
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        StaticResource variant = null;
+        if (acceptsEncoding(acceptEncoding, "br")) {
+            variant = getResource(path + ".br", "br");
+        }
+        if (variant == null && acceptsEncoding(acceptEncoding, "gzip")) {
+            variant = getResource(path + ".gz", "gzip");
+        }
+        if (variant != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+            response.setHeader("Content-Encoding", variant.encoding);
+            resource = variant;
+        }
+        String mimeType = request.getServletContext().getMimeType(path);
+        response.setContentType(mimeType != null ? mimeType : "application/octet-stream");
+        response.setHeader("ETag", resource.etag);
+        response.setDateHeader("Last-Modified", resource.lastModified);
+        response.setHeader("Accept-Ranges", "bytes");
+
+        if (notModified(request, resource)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+
+        long start = 0;
+        long end = resource.length;
+        long[] range = parseRange(request, resource);
+        if (range == INVALID_RANGE) {
+            response.setHeader("Content-Range", "bytes */" + resource.length);
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return true;
+        }
+        if (range != null) {
+            start = range[0];
+            end = range[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", "bytes " + start + "-" + (end - 1) + "/" + resource.length);
+        }
+        response.setContentLengthLong(end - start);
+        if (!head) {
+            write(resource, start, end, request, response);
+        }
+        return true;
+    }
+
+    private void write(StaticResource resource, long start, long end, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        if (resource.bytes != null) {
+            response.getOutputStream().write(resource.bytes, (int) start, (int) (end - start));
+            return;
+        }
+        if (resource.file != null) {
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // Tomcat 在 Servlet 返回后通过 sendfile 直接发送文件区间
+                request.setAttribute(SENDFILE_FILENAME, resource.file.toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end);
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(resource.file, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+                long position = start;
+                while (position < end) {
+                    position += channel.transferTo(position, end - position, target);
+                }
+            }
+            return;
+        }
+        try (InputStream in = resource.url.openStream()) {
+            in.skipNBytes(start);
+            long remaining = end - start;
+            byte[] buffer = new byte[8192];
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                response.getOutputStream().write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private boolean notModified(HttpServletRequest request, StaticResource resource) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matchesETag(ifNoneMatch, resource.etag);
+        }
+        long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+        return ifModifiedSince != -1 && resource.lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static boolean matchesETag(String header, String etag) {
+        if ("*".equals(header.trim())) {
+            return true;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解析单段 Range 头
+     *
+     * @return null 表示返回完整内容，INVALID_RANGE 表示范围无法满足，否则为 [start, end)
+     */
+    private static long[] parseRange(HttpServletRequest request, StaticResource resource) {
+        String header = request.getHeader("Range");
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange != null && !ifRange.trim().equals(resource.etag)) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        long length = resource.length;
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return INVALID_RANGE;
+                }
+                start = Math.max(0, length - suffix);
+                end = length;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                String last = spec.substring(dash + 1);
+                end = last.isEmpty() ? length : Math.min(length, Long.parseLong(last) + 1);
+            }
+            if (start >= length || start >= end) {
+                return INVALID_RANGE;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean acceptsEncoding(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (tokens[0].trim().equalsIgnoreCase(encoding)) {
+                return tokens.length < 2 || !tokens[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static String lookupPath(HttpServletRequest request) {
+        String path = request.getPathInfo();
+        if (path == null) {
+            path = request.getServletPath();
+        }
+        if (path == null || path.isEmpty() || path.contains("..") || path.indexOf('\\') >= 0) {
+            return null;
+        }
+        path = path.substring(1);
+        return path.isEmpty() || path.endsWith("/") ? path + WELCOME_FILE : path;
+    }
+
+    /**
+     * 查找资源：先查内存缓存，未命中再按顺序查找资源位置
+     *
+     * <p>缓存 key 包含 encoding：直接请求 /app.js.gz 得到的是不带 Content-Encoding 的普通资源，
+     * 不能被 /app.js 的预压缩版本查找复用。</p>
+     */
+    private StaticResource getResource(String path, String encoding) throws IOException {
+        String key = encoding == null ? path : encoding + '\0' + path;
+        StaticResource cached = cache.get(key);
+        if (cached != null) {
+            if (cached.isFresh()) {
+                return cached.isMissing() ? null : cached;
+            }
+            evict(key, cached);
+        }
+        StaticResource resource = resolve(path, encoding);
+        if (resource == null && encoding != null) {
+            // 预压缩版本通常不存在，记录缺失结果，避免每个请求都重新查找
+            cache.putIfAbsent(key, StaticResource.missing());
+            return null;
+        }
+        if (resource != null && resource.bytes != null
+                && cachedBytes.addAndGet(resource.length) <= MAX_CACHE_BYTES) {
+            if (cache.putIfAbsent(key, resource) != null) {
+                cachedBytes.addAndGet(-resource.length);
+            }
+        } else if (resource != null && resource.bytes != null) {
+            cachedBytes.addAndGet(-resource.length);
+        }
+        return resource;
+    }
+
+    private void evict(String key, StaticResource resource) {
+        if (cache.remove(key, resource)) {
+            cachedBytes.addAndGet(-resource.length);
+        }
+    }
+
+    private StaticResource resolve(String path, String encoding) throws IOException {
+        for (Location location : locations) {
+            if (location.dir != null) {
+                Path file = location.dir.resolve(path).normalize();
+                if (file.startsWith(location.dir) && Files.isRegularFile(file)) {
+                    return StaticResource.ofFile(file, encoding);
+                }
+                continue;
+            }
+            URL url = getClass().getClassLoader().getResource(location.classpathPrefix + path);
+            if (url == null) {
+                continue;
+            }
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    Path file = Paths.get(url.toURI());
+                    if (Files.isRegularFile(file)) {
+                        return StaticResource.ofFile(file, encoding);
+                    }
+                } catch (URISyntaxException e) {
+                    throw new IOException(e);
+                }
+                continue;
+            }
+            if (!path.endsWith("/")) {
+                return StaticResource.ofUrl(url, encoding);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 资源位置：类路径前缀或文件系统目录二选一
+     */
+    private record Location(String classpathPrefix, Path dir) {
+    }
+
+    /**
+     * 已解析的静态资源
+     */
+    private static final class StaticResource {
+
+        private final Path file;
+
+        private final URL url;
+
+        private final byte[] bytes;
+
+        private final long length;
+
+        private final long lastModified;
+
+        private final String etag;
+
+        private final String encoding;
+
+        private volatile long checkedAt;
+
+        private StaticResource(Path file, URL url, byte[] bytes, long length, long lastModified, String etag,
+                               String encoding) {
+            this.file = file;
+            this.url = url;
+            this.bytes = bytes;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.etag = etag;
+            this.encoding = encoding;
+            this.checkedAt = System.currentTimeMillis();
+        }
+
+        private static StaticResource missing() {
+            return new StaticResource(null, null, null, 0, 0, null, null);
+        }
+
+        private static StaticResource ofFile(Path file, String encoding) throws IOException {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            long length = attrs.size();
+            long lastModified = attrs.lastModifiedTime().toMillis();
+            String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified)
+                    + (encoding != null ? "-" + encoding : "") + "\"";
+            byte[] bytes = length <= MAX_CACHED_FILE_SIZE ? Files.readAllBytes(file) : null;
+            if (bytes != null && bytes.length != length) {
+                // 读取期间文件被修改，不缓存本次结果
+                return new StaticResource(file, null, null, length, lastModified, etag, encoding);
+            }
+            return new StaticResource(file, null, bytes, length, lastModified, etag, encoding);
+        }
+
+        private static StaticResource ofUrl(URL url, String encoding) throws IOException {
+            URLConnection connection = url.openConnection();
+            long length = connection.getContentLengthLong();
+            long lastModified = connection.getLastModified();
+            byte[] bytes = null;
+            String etag;
+            if (length >= 0 && length <= MAX_CACHED_FILE_SIZE) {
+                try (InputStream in = connection.getInputStream()) {
+                    bytes = in.readAllBytes();
+                }
+                CRC32C crc = new CRC32C();
+                crc.update(bytes);
+                length = bytes.length;
+                etag = "\"" + Long.toHexString(crc.getValue()) + "-" + Long.toHexString(length)
+                        + (encoding != null ? "-" + encoding : "") + "\"";
+            } else {
+                connection.getInputStream().close();
+                etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified)
+                        + (encoding != null ? "-" + encoding : "") + "\"";
+            }
+            return new StaticResource(null, url, bytes, length, lastModified, etag, encoding);
+        }
+
+        private boolean isMissing() {
+            return etag == null;
+        }
+
+        /**
+         * 类路径 jar 内资源不可变；文件系统资源按间隔校验修改时间与长度；缺失记录按间隔过期
+         */
+        private boolean isFresh() {
+            long now = System.currentTimeMillis();
+            if (now - checkedAt < REVALIDATE_INTERVAL_MILLIS) {
+                return true;
+            }
+            if (isMissing()) {
+                return false;
+            }
+            if (file == null) {
+                return true;
+            }
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                boolean fresh = attrs.size() == length && attrs.lastModifiedTime().toMillis() == lastModified;
+                checkedAt = now;
+                return fresh;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
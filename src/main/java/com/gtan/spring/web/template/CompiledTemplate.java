@@ -0,0 +1,193 @@
+package com.gtan.spring.web.template;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CompiledTemplate - 预编译模板
+ *
+ * <p>底层原理说明：</p>
+ * <p>模板文本只在首次使用时解析一次，得到由以下片段组成的不可变树：</p>
+ * <ul>
+ *   <li><strong>字面量片段</strong>：预先编码为 UTF-8 的字节数组，渲染时直接写入输出流</li>
+ *   <li><strong>占位符片段</strong>：gtan{key}，渲染时从模型中取值写出，缺失时输出空串</li>
+ *   <li><strong>条件片段</strong>：gtan{#if key}...gtan{else}...gtan{/if}，模型值非空且不为 "false" 时渲染第一个分支</li>
+ * </ul>
+ *
+ * <p>渲染过程不再使用正则扫描、StringBuilder 拼接和整页字符串编码，只是顺序遍历片段数组。
+ * 编译结果不可变，可以被多个请求线程并发共享。</p>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-20
+ * @see TemplateEngine
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "gtan{";
+
+    private static final String IF = "#if ";
+
+    private static final String ELSE = "else";
+
+    private static final String END_IF = "/if";
+
+    private final String name;
+
+    private final Segment[] segments;
+
+    private CompiledTemplate(String name, Segment[] segments) {
+        this.name = name;
+        this.segments = segments;
+    }
+
+    /**
+     * 解析模板文本
+     *
+     * @param name     模板名称（用于错误信息）
+     * @param template 模板文本
+     * @return 编译后的模板
+     * @throws RuntimeException 条件标签不匹配时抛出
+     */
+    public static CompiledTemplate compile(String name, String template) {
+        Parser parser = new Parser(name, template);
+        Segment[] segments = parser.parseUntil(null);
+        return new CompiledTemplate(name, segments);
+    }
+
+    /**
+     * 将模型数据渲染到输出流
+     *
+     * @param context 模型数据
+     * @param out     输出流
+     * @throws IOException 写出异常
+     */
+    public void render(Map<String, String> context, OutputStream out) throws IOException {
+        write(segments, context, out);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private static void write(Segment[] segments, Map<String, String> context, OutputStream out)
+            throws IOException {
+        for (Segment segment : segments) {
+            segment.write(context, out);
+        }
+    }
+
+    /**
+     * 模板片段
+     */
+    private interface Segment {
+        void write(Map<String, String> context, OutputStream out) throws IOException;
+    }
+
+    private record Literal(byte[] bytes) implements Segment {
+        @Override
+        public void write(Map<String, String> context, OutputStream out) throws IOException {
+            out.write(bytes);
+        }
+    }
+
+    private record Placeholder(String key) implements Segment {
+        @Override
+        public void write(Map<String, String> context, OutputStream out) throws IOException {
+            String value = context.get(key);
+            if (value != null && !value.isEmpty()) {
+                out.write(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private record Conditional(String key, Segment[] then, Segment[] otherwise) implements Segment {
+        @Override
+        public void write(Map<String, String> context, OutputStream out) throws IOException {
+            String value = context.get(key);
+            boolean truthy = value != null && !value.isEmpty() && !"false".equalsIgnoreCase(value);
+            CompiledTemplate.write(truthy ? then : otherwise, context, out);
+        }
+    }
+
+    /**
+     * 递归下降解析器，按 gtan{...} 标签切分模板
+     */
+    private static final class Parser {
+
+        private final String name;
+
+        private final String template;
+
+        private int position;
+
+        /**
+         * 最近一次 parseUntil 遇到的结束标签
+         */
+        private String terminator;
+
+        private Parser(String name, String template) {
+            this.name = name;
+            this.template = template;
+        }
+
+        private Segment[] parseUntil(String expectedEnd) {
+            List<Segment> segments = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            while (position < template.length()) {
+                int open = template.indexOf(OPEN, position);
+                int close = open < 0 ? -1 : template.indexOf('}', open + OPEN.length());
+                if (open < 0 || close < 0) {
+                    literal.append(template, position, template.length());
+                    position = template.length();
+                    break;
+                }
+                literal.append(template, position, open);
+                position = close + 1;
+                String tag = template.substring(open + OPEN.length(), close);
+                if (tag.startsWith(IF)) {
+                    flush(literal, segments);
+                    segments.add(parseConditional(tag.substring(IF.length()).trim()));
+                } else if (ELSE.equals(tag) || END_IF.equals(tag)) {
+                    if (expectedEnd == null) {
+                        throw new RuntimeException("模板 " + name + " 中出现未匹配的标签: gtan{" + tag + "}");
+                    }
+                    flush(literal, segments);
+                    terminator = tag;
+                    return segments.toArray(Segment[]::new);
+                } else {
+                    flush(literal, segments);
+                    segments.add(new Placeholder(tag));
+                }
+            }
+            if (expectedEnd != null) {
+                throw new RuntimeException("模板 " + name + " 缺少结束标签: gtan{" + expectedEnd + "}");
+            }
+            flush(literal, segments);
+            return segments.toArray(Segment[]::new);
+        }
+
+        private Segment parseConditional(String key) {
+            Segment[] then = parseUntil(END_IF);
+            Segment[] otherwise = new Segment[0];
+            if (ELSE.equals(terminator)) {
+                otherwise = parseUntil(END_IF);
+                if (!END_IF.equals(terminator)) {
+                    throw new RuntimeException("模板 " + name + " 中 gtan{#if " + key + "} 存在多个 else 分支");
+                }
+            }
+            return new Conditional(key, then, otherwise);
+        }
+
+        private static void flush(StringBuilder literal, List<Segment> segments) {
+            if (!literal.isEmpty()) {
+                segments.add(new Literal(literal.toString().getBytes(StandardCharsets.UTF_8)));
+                literal.setLength(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.gtan.spring.web.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TemplateEngine - 编译模板缓存
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>按视图名称从类路径加载模板，编译为 {@link CompiledTemplate} 后缓存</li>
+ *   <li>同一视图只读取、解析一次，之后的请求直接命中缓存，不再访问类路径资源</li>
+ *   <li>缓存基于 ConcurrentHashMap，读取无锁；computeIfAbsent 保证并发首访时只编译一次</li>
+ *   <li>模板不存在时不写入缓存，返回 null 由调用方决定如何响应</li>
+ * </ul>
+ *
+ * <p>开发模式（-Dgtan.template.dev-mode=true）：</p>
+ * <ul>
+ *   <li>优先从源码目录（默认 src/main/resources，可通过 -Dgtan.template.dir 指定）读取模板，修改后无需重启</li>
+ *   <li>后台线程通过 WatchService 监听目录，只重新编译发生变化的模板</li>
+ *   <li>重新编译在监听线程完成，成功后以一次 put 原子替换缓存项，请求线程永远不会读到半成品</li>
+ *   <li>读取前后比较文件大小与修改时间，不一致说明文件仍在写入，稍后重试；编译失败时保留旧版本</li>
+ *   <li>生产模式不启动监听线程，缓存项一经写入不再替换</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-20
+ * @see CompiledTemplate
+ */
+public class TemplateEngine {
+
+    public static final String DEV_MODE_PROPERTY = "gtan.template.dev-mode";
+
+    public static final String TEMPLATE_DIR_PROPERTY = "gtan.template.dir";
+
+    /**
+     * 同一批文件事件的合并窗口，编辑器保存一次通常会触发多次修改事件
+     */
+    private static final long DEBOUNCE_MILLIS = 50;
+
+    private static final int MAX_READ_ATTEMPTS = 5;
+
+    private final Map<String, CompiledTemplate> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 开发模式下的模板源码目录，生产模式为 null
+     */
+    private volatile Path templateDir;
+
+    public TemplateEngine() {
+        if (Boolean.getBoolean(DEV_MODE_PROPERTY)) {
+            enableDevMode(Paths.get(System.getProperty(TEMPLATE_DIR_PROPERTY, "src/main/resources")));
+        }
+    }
+
+    /**
+     * 获取编译后的模板
+     *
+     * @param view 视图名称（类路径下的模板文件路径）
+     * @return 编译后的模板，模板不存在时返回 null
+     */
+    public CompiledTemplate getTemplate(String view) {
+        if (view == null) {
+            return null;
+        }
+        CompiledTemplate template = cache.get(view);
+        if (template != null) {
+            return template;
+        }
+        return cache.computeIfAbsent(view, this::load);
+    }
+
+    /**
+     * 开启开发模式：从指定目录读取模板并监听文件变化
+     *
+     * @param dir 模板源码目录
+     */
+    public synchronized void enableDevMode(Path dir) {
+        if (templateDir != null || !Files.isDirectory(dir)) {
+            return;
+        }
+        Path root = dir.toAbsolutePath().normalize();
+        try {
+            WatchService watchService = root.getFileSystem().newWatchService();
+            Map<WatchKey, Path> watchedDirs = new HashMap<>();
+            registerRecursively(root, watchService, watchedDirs);
+            templateDir = root;
+            cache.clear();
+            Thread watcher = new Thread(() -> watch(watchService, watchedDirs), "template-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CompiledTemplate load(String view) {
+        Path dir = templateDir;
+        if (dir != null) {
+            Path file = dir.resolve(view).normalize();
+            if (file.startsWith(dir) && Files.isRegularFile(file)) {
+                return compileFile(view, file);
+            }
+        }
+        InputStream resourceAsStream = this.getClass().getClassLoader().getResourceAsStream(view);
+        if (resourceAsStream == null) {
+            return null;
+        }
+        try (resourceAsStream) {
+            String template = new String(resourceAsStream.readAllBytes(), StandardCharsets.UTF_8);
+            return CompiledTemplate.compile(view, template);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 读取并编译模板文件，读取期间文件发生变化则重试，避免编译写了一半的内容
+     *
+     * @throws IllegalStateException 重试 MAX_READ_ATTEMPTS 次后文件仍在变化
+     */
+    private CompiledTemplate compileFile(String view, Path file) {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                BasicFileAttributes before = Files.readAttributes(file, BasicFileAttributes.class);
+                byte[] bytes = Files.readAllBytes(file);
+                BasicFileAttributes after = Files.readAttributes(file, BasicFileAttributes.class);
+                boolean stable = bytes.length == after.size()
+                        && before.size() == after.size()
+                        && before.lastModifiedTime().equals(after.lastModifiedTime());
+                if (stable) {
+                    return CompiledTemplate.compile(view, new String(bytes, StandardCharsets.UTF_8));
+                }
+                if (attempt >= MAX_READ_ATTEMPTS) {
+                    // 始终读不到稳定内容时放弃，reload 会继续使用已编译的旧版本
+                    throw new IllegalStateException("模板文件 " + file + " 持续变化，" + MAX_READ_ATTEMPTS + " 次读取均不完整");
+                }
+                TimeUnit.MILLISECONDS.sleep(DEBOUNCE_MILLIS);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void watch(WatchService watchService, Map<WatchKey, Path> watchedDirs) {
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                WatchKey key = watchService.take();
+                // 合并短时间内的连续事件，一次保存只重新编译一次
+                while (key != null) {
+                    collectChanges(key, watchService, watchedDirs, changed);
+                    key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                changed.forEach(this::reload);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void collectChanges(WatchKey key, WatchService watchService, Map<WatchKey, Path> watchedDirs,
+                                Set<Path> changed) {
+        Path dir = watchedDirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (dir == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // 事件丢失时无法判断哪些模板变化，整体失效
+                cache.clear();
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    registerRecursively(path, watchService, watchedDirs);
+                } catch (IOException e) {
+                    cache.clear();
+                }
+                continue;
+            }
+            changed.add(path);
+        }
+        if (!key.reset()) {
+            watchedDirs.remove(key);
+        }
+    }
+
+    /**
+     * 重新编译单个模板，仅替换已缓存的视图；未缓存的视图在下次请求时按需加载
+     */
+    private void reload(Path file) {
+        String view = templateDir.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+        if (!cache.containsKey(view)) {
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            cache.remove(view);
+            return;
+        }
+        try {
+            cache.put(view, compileFile(view, file));
+        } catch (RuntimeException e) {
+            // 编译失败（如文件仍处于编辑中的不完整状态）时继续使用旧版本
+            System.err.println("模板 " + view + " 重新编译失败: " + e.getMessage());
+        }
+    }
+
+    private static void registerRecursively(Path root, WatchService watchService, Map<WatchKey, Path> watchedDirs)
+            throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirs.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
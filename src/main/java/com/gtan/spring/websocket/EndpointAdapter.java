@@ -0,0 +1,78 @@
+package com.gtan.spring.websocket;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+
+import java.nio.ByteBuffer;
+
+/**
+ * EndpointAdapter - 将 JSR-356 编程式端点回调转发到容器管理的 WebSocketHandler
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>Tomcat 默认每个连接反射创建一个端点实例，这里通过自定义 Configurator 让所有连接复用同一个适配器，
+ *       从而把连接交给 IoC 容器中的单例处理器</li>
+ *   <li>WebSocketSession 保存在原生会话的 userProperties 中，后续回调直接取出，无需额外的映射表</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-31
+ */
+final class EndpointAdapter extends Endpoint {
+
+    private static final String SESSION_ATTRIBUTE = WebSocketSession.class.getName();
+
+    private final WebSocketHandler handler;
+
+    private final WebSocketSessionGroup group;
+
+    private final int sendQueueCapacity;
+
+    private final long maxIdleTimeout;
+
+    EndpointAdapter(WebSocketHandler handler, WebSocketSessionGroup group, int sendQueueCapacity,
+                    long maxIdleTimeout) {
+        this.handler = handler;
+        this.group = group;
+        this.sendQueueCapacity = sendQueueCapacity;
+        this.maxIdleTimeout = maxIdleTimeout;
+    }
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        if (maxIdleTimeout > 0) {
+            session.setMaxIdleTimeout(maxIdleTimeout);
+        }
+        WebSocketSession webSocketSession = new WebSocketSession(session, group, sendQueueCapacity);
+        session.getUserProperties().put(SESSION_ATTRIBUTE, webSocketSession);
+        session.addMessageHandler(String.class,
+                (MessageHandler.Whole<String>) message -> handler.onMessage(webSocketSession, message));
+        session.addMessageHandler(ByteBuffer.class,
+                (MessageHandler.Whole<ByteBuffer>) data -> handler.onBinaryMessage(webSocketSession, data));
+        group.add(webSocketSession);
+        handler.onOpen(webSocketSession);
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        WebSocketSession webSocketSession = (WebSocketSession) session.getUserProperties().get(SESSION_ATTRIBUTE);
+        if (webSocketSession == null) {
+            return;
+        }
+        webSocketSession.markClosed();
+        group.remove(webSocketSession);
+        handler.onClose(webSocketSession, closeReason);
+    }
+
+    @Override
+    public void onError(Session session, Throwable throwable) {
+        WebSocketSession webSocketSession = (WebSocketSession) session.getUserProperties().get(SESSION_ATTRIBUTE);
+        if (webSocketSession != null) {
+            handler.onError(webSocketSession, throwable);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.gtan.spring.websocket;
+
+import com.gtan.spring.annotation.WebSocketEndpoint;
+import com.gtan.spring.enumeration.ThreadMode;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * WebSocketEndpointRegistry - WebSocket 端点注册中心
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>延迟部署</strong>：Bean 的创建顺序不确定，端点可能在 Tomcat 启动前或启动后完成初始化；
+ *       ServerContainer 绑定前注册的端点先暂存，绑定时统一部署，之后注册的端点直接部署（JSR-356 允许运行期添加）</li>
+ *   <li><strong>端点复用</strong>：通过 ServerEndpointConfig.Configurator 返回预先创建的 EndpointAdapter，
+ *       所有连接共用容器中的单例处理器</li>
+ *   <li><strong>会话分组</strong>：每个路径对应一个 WebSocketSessionGroup，可通过 getGroup 在控制器或服务中向端点广播</li>
+ *   <li><strong>广播线程池</strong>：大分组的广播任务在独立线程池执行，线程模式与 server.thread-mode 保持一致</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-31
+ * @see WebSocketEndpoint
+ * @see WebSocketSessionGroup
+ */
+public class WebSocketEndpointRegistry {
+
+    private final Map<String, WebSocketSessionGroup> groups = new ConcurrentHashMap<>();
+
+    private final List<ServerEndpointConfig> pendingConfigs = new ArrayList<>();
+
+    private ServerContainer serverContainer;
+
+    private volatile ExecutorService broadcastExecutor = ThreadMode.PLATFORM.newExecutor("ws-broadcast-");
+
+    /**
+     * 注册端点处理器，处理器类必须标注 @WebSocketEndpoint
+     *
+     * @param handler 端点处理器
+     */
+    public synchronized void register(WebSocketHandler handler) {
+        WebSocketEndpoint endpoint = handler.getClass().getAnnotation(WebSocketEndpoint.class);
+        if (endpoint == null) {
+            throw new RuntimeException(handler.getClass().getName() + " 未标注 @WebSocketEndpoint");
+        }
+        String path = endpoint.value();
+        WebSocketSessionGroup group = new WebSocketSessionGroup(path, () -> broadcastExecutor);
+        if (groups.putIfAbsent(path, group) != null) {
+            throw new RuntimeException("WebSocket 路径: " + path + " 已被其他端点注册！");
+        }
+        EndpointAdapter adapter = new EndpointAdapter(handler, group, endpoint.sendQueueCapacity(),
+                endpoint.maxIdleTimeout());
+        ServerEndpointConfig config = ServerEndpointConfig.Builder.create(EndpointAdapter.class, path)
+                .configurator(new ServerEndpointConfig.Configurator() {
+                    @Override
+                    public <T> T getEndpointInstance(Class<T> endpointClass) {
+                        return endpointClass.cast(adapter);
+                    }
+                })
+                .build();
+        if (serverContainer != null) {
+            deploy(config);
+        } else {
+            pendingConfigs.add(config);
+        }
+    }
+
+    /**
+     * 绑定 Tomcat 初始化完成的 JSR-356 容器并部署暂存的端点
+     *
+     * @param container 服务端 WebSocket 容器
+     */
+    public synchronized void bind(ServerContainer container) {
+        this.serverContainer = container;
+        pendingConfigs.forEach(this::deploy);
+        pendingConfigs.clear();
+    }
+
+    private void deploy(ServerEndpointConfig config) {
+        try {
+            serverContainer.addEndpoint(config);
+        } catch (DeploymentException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 获取端点的会话分组
+     *
+     * @param path 端点路径
+     * @return 会话分组，路径未注册时返回 null
+     */
+    public WebSocketSessionGroup getGroup(String path) {
+        return groups.get(path);
+    }
+
+    /**
+     * 切换广播线程池的线程模式，旧线程池在已提交任务完成后关闭
+     *
+     * @param threadMode 线程模式
+     */
+    public void setThreadMode(ThreadMode threadMode) {
+        ExecutorService previous = broadcastExecutor;
+        broadcastExecutor = threadMode.newExecutor("ws-broadcast-");
+        previous.shutdown();
+    }
+}
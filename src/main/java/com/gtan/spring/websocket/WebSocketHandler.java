@@ -0,0 +1,67 @@
+package com.gtan.spring.websocket;
+
+import jakarta.websocket.CloseReason;
+
+import java.nio.ByteBuffer;
+
+/**
+ * WebSocketHandler - WebSocket 端点回调接口
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li>实现类标注 @WebSocketEndpoint 与 @Component 后由容器管理，EndpointAdapter 把 JSR-356 回调转发到此接口</li>
+ *   <li>同一连接的回调由 Tomcat 串行触发，不同连接的回调可能并发执行，实现类需保证线程安全</li>
+ *   <li>回调运行在容器 I/O 线程上，耗时操作应交给其他线程池，发送消息使用 WebSocketSession.send 异步入队</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-31
+ * @see WebSocketSession
+ * @see com.gtan.spring.annotation.WebSocketEndpoint
+ */
+public interface WebSocketHandler {
+
+    /**
+     * 连接建立后回调
+     *
+     * @param session 连接会话
+     */
+    default void onOpen(WebSocketSession session) {
+    }
+
+    /**
+     * 收到文本消息
+     *
+     * @param session 连接会话
+     * @param message 完整的文本消息
+     */
+    void onMessage(WebSocketSession session, String message);
+
+    /**
+     * 收到二进制消息，默认忽略
+     *
+     * @param session 连接会话
+     * @param data    完整的二进制消息
+     */
+    default void onBinaryMessage(WebSocketSession session, ByteBuffer data) {
+    }
+
+    /**
+     * 连接关闭后回调（此时会话已从分组中移除）
+     *
+     * @param session 连接会话
+     * @param reason  关闭原因
+     */
+    default void onClose(WebSocketSession session, CloseReason reason) {
+    }
+
+    /**
+     * 连接发生错误（包括回调抛出的异常），容器随后会关闭连接
+     *
+     * @param session 连接会话
+     * @param error   异常
+     */
+    default void onError(WebSocketSession session, Throwable error) {
+    }
+}
@@ -0,0 +1,223 @@
+package com.gtan.spring.websocket;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebSocketSession - 带有界发送队列的 WebSocket 连接会话
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>单飞发送</strong>：JSR-356 的异步 RemoteEndpoint 同一时刻只允许一条消息在途，
+ *       多线程直接调用会抛出 IllegalStateException；这里用 sending 标志保证只有一个线程在发送，
+ *       其余线程只负责入队</li>
+ *   <li><strong>无锁入队</strong>：send 只做一次 CAS 计数和一次 ConcurrentLinkedQueue 入队，广播时调用线程不会被慢连接阻塞</li>
+ *   <li><strong>有界队列</strong>：队列长度超过 sendQueueCapacity 说明客户端消费速度跟不上，
+ *       以 1013（TRY_AGAIN_LATER）关闭连接并丢弃积压消息，内存占用上限为 连接数 × 容量</li>
+ *   <li><strong>发送链</strong>：上一条消息的 SendHandler 回调触发下一条发送；若回调在 sendText 内同步完成，
+ *       由外层循环继续发送而不是递归调用，避免长队列导致栈溢出</li>
+ *   <li><strong>二进制共享</strong>：广播同一个 ByteBuffer 时每个连接只复制位置指针（duplicate），底层字节数组共享</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-31
+ * @see WebSocketSessionGroup
+ */
+public class WebSocketSession {
+
+    private static final CloseReason QUEUE_OVERFLOW =
+            new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "send queue overflow");
+
+    private final Session session;
+
+    private final WebSocketSessionGroup group;
+
+    private final int sendQueueCapacity;
+
+    private final Queue<Object> sendQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    private final SendHandler sendHandler = this::onSendComplete;
+
+    /**
+     * 正在执行发送循环的线程，用于识别 SendHandler 是否在 sendText 调用栈内同步回调
+     */
+    private volatile Thread drainingThread;
+
+    private volatile boolean closed;
+
+    WebSocketSession(Session session, WebSocketSessionGroup group, int sendQueueCapacity) {
+        this.session = session;
+        this.group = group;
+        this.sendQueueCapacity = sendQueueCapacity;
+    }
+
+    /**
+     * 异步发送文本消息
+     *
+     * @param text 文本
+     * @return 是否入队成功；连接已关闭或队列溢出时返回 false
+     */
+    public boolean send(String text) {
+        return enqueue(text);
+    }
+
+    /**
+     * 异步发送二进制消息，调用方之后不应再修改缓冲区内容
+     *
+     * @param data 二进制数据（position 到 limit 之间的字节）
+     * @return 是否入队成功；连接已关闭或队列溢出时返回 false
+     */
+    public boolean send(ByteBuffer data) {
+        return enqueue(data.duplicate());
+    }
+
+    private boolean enqueue(Object message) {
+        if (closed) {
+            return false;
+        }
+        if (queued.incrementAndGet() > sendQueueCapacity) {
+            queued.decrementAndGet();
+            close(QUEUE_OVERFLOW);
+            return false;
+        }
+        sendQueue.offer(message);
+        drain();
+        return true;
+    }
+
+    /**
+     * 发送循环：抢到 sending 标志的线程发出队首消息；回调同步完成时继续循环，异步完成时由回调线程接力
+     */
+    private void drain() {
+        Thread current = Thread.currentThread();
+        while (!closed && sending.compareAndSet(false, true)) {
+            Object message = sendQueue.poll();
+            if (message == null) {
+                sending.set(false);
+                // 释放标志与其他线程入队之间存在竞争窗口，重新检查避免消息滞留
+                if (sendQueue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            queued.decrementAndGet();
+            drainingThread = current;
+            try {
+                RemoteEndpoint.Async remote = session.getAsyncRemote();
+                if (message instanceof String text) {
+                    remote.sendText(text, sendHandler);
+                } else {
+                    remote.sendBinary((ByteBuffer) message, sendHandler);
+                }
+            } catch (RuntimeException e) {
+                drainingThread = null;
+                sending.set(false);
+                close(new CloseReason(CloseReason.CloseCodes.UNEXPECTED_CONDITION, "send failed"));
+                return;
+            }
+            drainingThread = null;
+        }
+    }
+
+    private void onSendComplete(SendResult result) {
+        sending.set(false);
+        if (!result.isOK()) {
+            close(new CloseReason(CloseReason.CloseCodes.CLOSED_ABNORMALLY, "send failed"));
+            return;
+        }
+        // 同步回调时外层 drain 循环会继续发送，这里只在异步回调时接力
+        if (drainingThread != Thread.currentThread()) {
+            drain();
+        }
+    }
+
+    /**
+     * 以正常关闭码关闭连接
+     */
+    public void close() {
+        close(new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, null));
+    }
+
+    /**
+     * 关闭连接并丢弃尚未发送的消息
+     *
+     * @param reason 关闭原因
+     */
+    public void close(CloseReason reason) {
+        if (closed) {
+            return;
+        }
+        markClosed();
+        try {
+            session.close(reason);
+        } catch (IOException | IllegalStateException ignored) {
+            // 连接已断开时关闭帧无法发出，容器会自行回收
+        }
+    }
+
+    void markClosed() {
+        closed = true;
+        sendQueue.clear();
+        queued.set(0);
+    }
+
+    /**
+     * @return 容器分配的会话 ID
+     */
+    public String getId() {
+        return session.getId();
+    }
+
+    /**
+     * @return 连接是否仍可发送消息
+     */
+    public boolean isOpen() {
+        return !closed && session.isOpen();
+    }
+
+    /**
+     * 连接级属性，可在 onOpen 中保存用户身份等状态
+     *
+     * @return 可变属性表
+     */
+    public Map<String, Object> getAttributes() {
+        return session.getUserProperties();
+    }
+
+    /**
+     * @return 当前排队等待发送的消息数
+     */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * @return 所属端点的会话分组
+     */
+    public WebSocketSessionGroup getGroup() {
+        return group;
+    }
+
+    /**
+     * @return 底层 JSR-356 会话
+     */
+    public Session getNativeSession() {
+        return session;
+    }
+}
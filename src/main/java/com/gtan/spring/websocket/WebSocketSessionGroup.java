@@ -0,0 +1,132 @@
+package com.gtan.spring.websocket;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * WebSocketSessionGroup - 单个端点的在线会话集合与批量广播
+ *
+ * <p>底层原理说明：</p>
+ * <ul>
+ *   <li><strong>写时复制快照</strong>：会话数组在连接建立/关闭时整体替换（加锁），广播只读取一次 volatile 引用，
+ *       遍历过程无锁、无迭代器分配，也不受并发上下线影响</li>
+ *   <li><strong>分批并行</strong>：会话数超过 BATCH_SIZE 时按批拆分，除第一批由调用线程直接处理外，
+ *       其余批次提交到广播线程池并行入队；万级连接的一次广播只产生几十个任务</li>
+ *   <li><strong>零拷贝负载</strong>：文本消息所有连接共享同一个 String，二进制消息共享底层字节数组，
+ *       Tomcat 按连接各自完成帧编码</li>
+ *   <li><strong>非阻塞</strong>：广播只负责入队，实际发送由每个连接的发送链异步完成，慢连接只会让自己的队列溢出</li>
+ * </ul>
+ *
+ * @author gangtann@126.com
+ * @version 1.0
+ * @since 2025-07-31
+ * @see WebSocketSession
+ */
+public class WebSocketSessionGroup {
+
+    /**
+     * 每个广播任务负责的会话数
+     */
+    static final int BATCH_SIZE = 512;
+
+    private static final WebSocketSession[] EMPTY = new WebSocketSession[0];
+
+    private final String path;
+
+    private final Supplier<Executor> broadcastExecutor;
+
+    private volatile WebSocketSession[] sessions = EMPTY;
+
+    WebSocketSessionGroup(String path, Supplier<Executor> broadcastExecutor) {
+        this.path = path;
+        this.broadcastExecutor = broadcastExecutor;
+    }
+
+    synchronized void add(WebSocketSession session) {
+        WebSocketSession[] current = sessions;
+        WebSocketSession[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = session;
+        sessions = next;
+    }
+
+    synchronized void remove(WebSocketSession session) {
+        WebSocketSession[] current = sessions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == session) {
+                WebSocketSession[] next = new WebSocketSession[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                sessions = current.length == 1 ? EMPTY : next;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 向端点的所有在线会话广播文本消息
+     *
+     * @param text 文本
+     * @return 本次广播覆盖的会话数
+     */
+    public int broadcast(String text) {
+        return dispatch(text);
+    }
+
+    /**
+     * 向端点的所有在线会话广播二进制消息，调用方之后不应再修改缓冲区内容
+     *
+     * @param data 二进制数据
+     * @return 本次广播覆盖的会话数
+     */
+    public int broadcast(ByteBuffer data) {
+        return dispatch(data);
+    }
+
+    private int dispatch(Object message) {
+        WebSocketSession[] snapshot = sessions;
+        if (snapshot.length > BATCH_SIZE) {
+            Executor executor = broadcastExecutor.get();
+            for (int from = BATCH_SIZE; from < snapshot.length; from += BATCH_SIZE) {
+                int start = from;
+                int end = Math.min(from + BATCH_SIZE, snapshot.length);
+                executor.execute(() -> sendRange(snapshot, start, end, message));
+            }
+        }
+        sendRange(snapshot, 0, Math.min(BATCH_SIZE, snapshot.length), message);
+        return snapshot.length;
+    }
+
+    private static void sendRange(WebSocketSession[] snapshot, int start, int end, Object message) {
+        for (int i = start; i < end; i++) {
+            if (message instanceof String text) {
+                snapshot[i].send(text);
+            } else {
+                snapshot[i].send((ByteBuffer) message);
+            }
+        }
+    }
+
+    /**
+     * @return 端点路径
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return 当前在线会话数
+     */
+    public int size() {
+        return sessions.length;
+    }
+
+    /**
+     * @return 当前在线会话的只读快照
+     */
+    public List<WebSocketSession> getSessions() {
+        return List.of(sessions);
+    }
+}